@@ -0,0 +1,35 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching(proxyTargetClass = true)
+public class CacheConfig {
+    public static final String CACHE_USUARIOS = "usuarios";
+    // Regiões do cache de segundo nível do Hibernate, configuradas em caffeine-jcache.conf
+    public static final String REGIAO_PRODUTOS = "produtos";
+    public static final String REGIAO_CATALOGO_PRODUTOS = "produtos-catalogo";
+
+    // Cada cache tem limite de tamanho e TTL próprios; recordStats alimenta as métricas cache.* do Actuator
+    @Bean
+    CacheManager cacheManager(@Value("${cache.usuarios.maximum-size}") long tamanhoMaximoUsuarios,
+                              @Value("${cache.usuarios.ttl}") Duration ttlUsuarios) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(CACHE_USUARIOS, Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoUsuarios)
+                .expireAfterWrite(ttlUsuarios)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
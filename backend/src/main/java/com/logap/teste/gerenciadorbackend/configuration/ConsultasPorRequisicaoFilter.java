@@ -0,0 +1,81 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Registra quantos statements SQL cada rota executa. Antes da segurança, para incluir a autenticação.
+// Trabalho feito fora da thread da requisição (login assíncrono, exportação) não entra na conta.
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConsultasPorRequisicaoFilter extends OncePerRequestFilter {
+    private static final int TAMANHO_MAXIMO_SQL_NO_LOG = 300;
+
+    private final MeterRegistry meterRegistry;
+    private final int limiteAlerta;
+    private final int limiteRepeticao;
+
+    public ConsultasPorRequisicaoFilter(MeterRegistry meterRegistry,
+                                        @Value("${sql.monitor.warn-threshold}") int limiteAlerta,
+                                        @Value("${sql.monitor.repeated-threshold}") int limiteRepeticao) {
+        this.meterRegistry = meterRegistry;
+        this.limiteAlerta = limiteAlerta;
+        this.limiteRepeticao = limiteRepeticao;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        ContadorConsultasSql.Janela janela = ContadorConsultasSql.abrir();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            janela.close();
+            registrar(request, janela);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, ContadorConsultasSql.Janela janela) {
+        // Só o padrão da rota vira tag; a URI crua (com ids) explodiria a cardinalidade
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String rota = padrao != null ? padrao.toString() : "UNKNOWN";
+        int total = janela.total();
+
+        DistributionSummary.builder("http.server.requests.sql")
+                .description("Statements SQL executados por requisição")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", rota)
+                .register(meterRegistry)
+                .record(total);
+
+        if (total > limiteAlerta) {
+            log.warn("{} {} executou {} statements SQL (limite {})", request.getMethod(), rota, total, limiteAlerta);
+        }
+        janela.repetidos(limiteRepeticao).forEach((sql, execucoes) ->
+                log.warn("Possível N+1 em {} {}: statement executado {} vezes: {}",
+                        request.getMethod(), rota, execucoes, abreviar(sql)));
+    }
+
+    private static String abreviar(String sql) {
+        return sql.length() <= TAMANHO_MAXIMO_SQL_NO_LOG ? sql : sql.substring(0, TAMANHO_MAXIMO_SQL_NO_LOG) + "...";
+    }
+}
@@ -0,0 +1,81 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+// Registra no ContadorConsultasSql todo statement que passa pelo DataSource da aplicação: Hibernate,
+// JdbcTemplate (reservas de estoque, agregados do dashboard, busca) e Flyway. Um PreparedStatement conta
+// uma vez ao ser preparado, então um lote JDBC vale um statement; um Statement simples conta a cada SQL executado.
+// Como estende DelegatingDataSource, o Spring Boot continua achando o Hikari por baixo (métricas do pool).
+public class ContadorConsultasDataSource extends DelegatingDataSource {
+    private static final Set<String> PREPARACOES = Set.of("prepareStatement", "prepareCall");
+    private static final Set<String> EXECUCOES = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "addBatch");
+
+    public ContadorConsultasDataSource(DataSource alvo) {
+        super(alvo);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return contar(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return contar(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection contar(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(ContadorConsultasDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, metodo, argumentos) -> {
+                    switch (metodo.getName()) {
+                        case "equals":
+                            return proxy == argumentos[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "createStatement":
+                            return contar((Statement) invocar(conexao, metodo, argumentos), (Connection) proxy);
+                        default:
+                            if (PREPARACOES.contains(metodo.getName())) {
+                                ContadorConsultasSql.registrar((String) argumentos[0]);
+                            }
+                            return invocar(conexao, metodo, argumentos);
+                    }
+                });
+    }
+
+    private static Statement contar(Statement statement, Connection conexao) {
+        return (Statement) Proxy.newProxyInstance(ContadorConsultasDataSource.class.getClassLoader(),
+                new Class<?>[]{Statement.class}, (proxy, metodo, argumentos) -> {
+                    switch (metodo.getName()) {
+                        case "equals":
+                            return proxy == argumentos[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "getConnection":
+                            return conexao;
+                        default:
+                            if (EXECUCOES.contains(metodo.getName()) && argumentos != null && argumentos[0] instanceof String sql) {
+                                ContadorConsultasSql.registrar(sql);
+                            }
+                            return invocar(statement, metodo, argumentos);
+                    }
+                });
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(alvo, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Envolve o bean "dataSource" (o pool do Spring Boot ou, com réplica, o @Primary do ReplicaLeituraConfig)
+// no ContadorConsultasDataSource. Só ele: envolver também os pools por trás do roteamento contaria cada
+// statement duas vezes.
+@Component
+public class ContadorConsultasPostProcessor implements BeanPostProcessor {
+    private static final String DATA_SOURCE = "dataSource";
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE.equals(beanName) && bean instanceof DataSource dataSource) {
+            return new ContadorConsultasDataSource(dataSource);
+        }
+        return bean;
+    }
+}
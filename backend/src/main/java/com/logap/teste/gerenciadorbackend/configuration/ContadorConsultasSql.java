@@ -0,0 +1,78 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Conta os statements SQL executados na thread atual, dentro de uma janela aberta por {@link #abrir()}.
+ * Fora de uma janela não há custo além de uma leitura de ThreadLocal. Os statements chegam pelo
+ * {@link ContadorConsultasDataSource}, então entram tanto os do Hibernate quanto os do JdbcTemplate.
+ */
+public final class ContadorConsultasSql {
+    private static final ThreadLocal<Janela> JANELA_ATUAL = new ThreadLocal<>();
+
+    private ContadorConsultasSql() {
+    }
+
+    static void registrar(String sql) {
+        Janela janela = JANELA_ATUAL.get();
+        if (janela != null) {
+            janela.registrar(sql);
+        }
+    }
+
+    // Janelas podem ser aninhadas (ex.: teste em volta do filtro da requisição); a externa também soma
+    public static Janela abrir() {
+        Janela janela = new Janela(JANELA_ATUAL.get());
+        JANELA_ATUAL.set(janela);
+        return janela;
+    }
+
+    public static final class Janela implements AutoCloseable {
+        private final Janela anterior;
+        // Chave pelo texto do statement: o mesmo SQL repetido na janela soma na mesma entrada
+        private final Map<String, Integer> execucoesPorStatement = new HashMap<>();
+        private int total;
+
+        private Janela(Janela anterior) {
+            this.anterior = anterior;
+        }
+
+        private void registrar(String sql) {
+            total++;
+            execucoesPorStatement.merge(sql, 1, Integer::sum);
+            if (anterior != null) {
+                anterior.registrar(sql);
+            }
+        }
+
+        public int total() {
+            return total;
+        }
+
+        // O mesmo statement executado muitas vezes numa requisição costuma ser um N+1
+        public Map<String, Integer> repetidos(int minimo) {
+            Map<String, Integer> repetidos = new LinkedHashMap<>();
+            execucoesPorStatement.forEach((sql, execucoes) -> {
+                if (execucoes >= minimo) {
+                    repetidos.put(sql, execucoes);
+                }
+            });
+            return repetidos;
+        }
+
+        public Map<String, Integer> execucoesPorStatement() {
+            return Map.copyOf(execucoesPorStatement);
+        }
+
+        @Override
+        public void close() {
+            if (anterior == null) {
+                JANELA_ATUAL.remove();
+            } else {
+                JANELA_ATUAL.set(anterior);
+            }
+        }
+    }
+}
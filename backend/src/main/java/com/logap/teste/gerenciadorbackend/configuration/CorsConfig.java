@@ -1,5 +1,6 @@
 package com.logap.teste.gerenciadorbackend.configuration;
 
+import com.logap.teste.gerenciadorbackend.controller.PedidoController;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -21,6 +22,7 @@ public class CorsConfig implements  WebMvcConfigurer {
                         .toArray(String[]::new))
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(PedidoController.NEXT_CURSOR_HEADER, RequestLogginFilter.CORRELATION_ID_HEADER)
                 .allowCredentials(true);
     }
 }
\ No newline at end of file
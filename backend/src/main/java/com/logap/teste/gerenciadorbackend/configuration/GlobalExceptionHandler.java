@@ -2,27 +2,45 @@ package com.logap.teste.gerenciadorbackend.configuration;
 
 import com.logap.teste.gerenciadorbackend.dto.response.ErrorResponse;
 import com.logap.teste.gerenciadorbackend.exception.BusinessException;
+import com.logap.teste.gerenciadorbackend.exception.LimiteDeTentativasException;
+import com.logap.teste.gerenciadorbackend.exception.RefreshTokenInvalidoException;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import org.hibernate.exception.JDBCConnectionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLTransientConnectionException;
 import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleBadCredentialsException(BadCredentialsException ex) {
         log.warn("Tentativa de login com credenciais inválidas para o usuário: {}", ex.getMessage());
@@ -34,6 +52,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
     }
 
+    @ExceptionHandler(RefreshTokenInvalidoException.class)
+    public ResponseEntity<ErrorResponse> handleRefreshTokenInvalidoException(RefreshTokenInvalidoException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.UNAUTHORIZED.value(),
+                ex.getMessage(),
+                Instant.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNAUTHORIZED);
+    }
+
     @ExceptionHandler({ExpiredJwtException.class, SignatureException.class})
     public ResponseEntity<ErrorResponse> handleJwtException(Exception ex) {
         String message = "Token JWT inválido ou expirado.";
@@ -66,6 +94,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
         log.warn("Erro de negócio: {}", ex.getMessage());
+        meterRegistry.counter("negocio.falhas", "motivo", ex.getMotivo().tag()).increment();
 
         ErrorResponse errorResponse = new ErrorResponse(
                 HttpStatus.BAD_REQUEST.value(),
@@ -75,6 +104,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    public ResponseEntity<ErrorResponse> handleOptimisticLockException(Exception ex) {
+        log.warn("Conflito de concorrência não resolvido após as retentativas: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "O registro foi alterado por outra operação. Tente novamente.",
+                Instant.now()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = ex.getBindingResult().getAllErrors().stream()
@@ -98,4 +139,68 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler(LimiteDeTentativasException.class)
+    public ResponseEntity<ErrorResponse> handleLimiteDeTentativasException(LimiteDeTentativasException ex) {
+        log.warn("Tentativa de login bloqueada pelo limite de taxa");
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            ex.getMessage(),
+            Instant.now()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getSegundosParaNovaTentativa()))
+                .body(errorResponse);
+    }
+
+    // Fila de um pool limitado cheia (ex.: logins): o cliente deve tentar de novo em instantes
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecutionException(RejectedExecutionException ex) {
+        log.warn("Requisição recusada por sobrecarga: {}", ex.getMessage());
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Serviço temporariamente sobrecarregado. Tente novamente em instantes.",
+            Instant.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    // Nenhuma conexão livre no pool dentro do connection-timeout: sobrecarga momentânea do banco
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransactionException(CannotCreateTransactionException ex) {
+        log.warn("Sem conexão disponível com o banco: {}", ex.getMostSpecificCause().getMessage());
+        return semConexaoDisponivel();
+    }
+
+    // Com a réplica ligada, o LazyConnectionDataSourceProxy só pede a conexão no primeiro statement: o pool
+    // esgotado aparece como erro de acesso a dados (JdbcTemplate, repositórios ou o próprio Hibernate).
+    // Só o timeout do pool vira 503; as demais falhas seguem como erro interno.
+    @ExceptionHandler({DataAccessResourceFailureException.class, TransientDataAccessResourceException.class,
+            JDBCConnectionException.class})
+    public ResponseEntity<ErrorResponse> handleFalhaDeConexao(Exception ex) {
+        Throwable causa = ex;
+        while (causa != null && !(causa instanceof SQLTransientConnectionException)) {
+            causa = causa.getCause();
+        }
+        if (causa == null) {
+            return handleGenericException(ex);
+        }
+        log.warn("Sem conexão disponível com o banco: {}", causa.getMessage());
+        return semConexaoDisponivel();
+    }
+
+    private static ResponseEntity<ErrorResponse> semConexaoDisponivel() {
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Serviço temporariamente sobrecarregado. Tente novamente em instantes.",
+            Instant.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
 }
@@ -1,28 +1,43 @@
 package com.logap.teste.gerenciadorbackend.configuration;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.logap.teste.gerenciadorbackend.service.JwtService;
+import com.logap.teste.gerenciadorbackend.service.RevogacaoTokenService;
 import com.logap.teste.gerenciadorbackend.service.UserDetailServiceImpl;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter{
     
     private final JwtService jwtService;
     private final UserDetailServiceImpl userDetailServiceImpl;
+    private final RevogacaoTokenService revogacaoTokenService;
+    private final JwtAuthMode authMode;
 
+    public JwtAuthFilter(JwtService jwtService, UserDetailServiceImpl userDetailServiceImpl,
+                         RevogacaoTokenService revogacaoTokenService,
+                         @Value("${jwt.auth-mode}") JwtAuthMode authMode) {
+        this.jwtService = jwtService;
+        this.userDetailServiceImpl = userDetailServiceImpl;
+        this.revogacaoTokenService = revogacaoTokenService;
+        this.authMode = authMode;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -37,12 +52,15 @@ public class JwtAuthFilter extends OncePerRequestFilter{
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        // Um único parse verifica assinatura e expiração; as claims resultantes são reutilizadas abaixo
+        final Claims claims = jwtService.parseAndValidate(jwt);
+        userEmail = claims.getSubject();
 
         if(userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null){
-            var userDetails = this.userDetailServiceImpl.loadUserByUsername(userEmail);
-            if(jwtService.isTokenValid(jwt, userDetails)){
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            UsernamePasswordAuthenticationToken authToken = podeAutenticarPorClaims(claims)
+                    ? autenticarPorClaims(claims)
+                    : autenticarPeloBanco(claims);
+            if(authToken != null){
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
@@ -50,4 +68,39 @@ public class JwtAuthFilter extends OncePerRequestFilter{
         filterChain.doFilter(request, response);
     }
 
+    // Tokens emitidos antes da autenticação sem estado não têm id/versão e seguem pelo banco
+    private boolean podeAutenticarPorClaims(Claims claims) {
+        return authMode == JwtAuthMode.STATELESS
+                && claims.get(JwtService.CLAIM_USER_ID) != null
+                && claims.get(JwtService.CLAIM_TOKEN_VERSION) != null;
+    }
+
+    private UsernamePasswordAuthenticationToken autenticarPorClaims(Claims claims) {
+        Long usuarioId = claims.get(JwtService.CLAIM_USER_ID, Long.class);
+        Integer versaoToken = claims.get(JwtService.CLAIM_TOKEN_VERSION, Integer.class);
+        if (revogacaoTokenService.isRevogado(usuarioId, versaoToken)) {
+            return null;
+        }
+        var principal = new UsuarioAutenticado(usuarioId, claims.getSubject(), claims.get(JwtService.CLAIM_NAME, String.class));
+        return new UsernamePasswordAuthenticationToken(principal, null, extrairAuthorities(claims));
+    }
+
+    private UsernamePasswordAuthenticationToken autenticarPeloBanco(Claims claims) {
+        var userDetails = this.userDetailServiceImpl.carregarParaAutenticacao(claims.getSubject());
+        if(!jwtService.isTokenValid(claims, userDetails)){
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
+    private Collection<GrantedAuthority> extrairAuthorities(Claims claims) {
+        List<?> roles = claims.get(JwtService.CLAIM_ROLES, List.class);
+        if (roles == null) {
+            return List.of();
+        }
+        return roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+    }
+
 }
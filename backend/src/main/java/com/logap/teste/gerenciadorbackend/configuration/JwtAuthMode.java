@@ -0,0 +1,7 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+// STATELESS monta a autenticação a partir das claims do token; DATABASE recarrega o usuário a cada requisição
+public enum JwtAuthMode {
+    STATELESS,
+    DATABASE
+}
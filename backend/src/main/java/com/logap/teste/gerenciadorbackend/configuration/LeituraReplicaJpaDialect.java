@@ -0,0 +1,25 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+// Transações somente leitura vão para a réplica, que pode estar até datasource.replica.max-lag atrás.
+// Nelas a sessão lê o cache de segundo nível mas não o popula: senão o estoque anterior à última reserva,
+// lido da réplica logo após a invalidação, voltaria ao cache e ficaria lá até o TTL da região.
+public class LeituraReplicaJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws SQLException {
+        Object dadosTransacao = super.beginTransaction(entityManager, definition);
+        if (definition.isReadOnly()) {
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+        return dadosTransacao;
+    }
+}
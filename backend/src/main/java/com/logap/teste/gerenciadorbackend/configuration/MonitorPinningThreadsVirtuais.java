@@ -0,0 +1,90 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Com threads virtuais, bloquear dentro de synchronized (ou em código nativo) prende a thread à
+// carrier e reduz o paralelismo real. Escuta o evento JFR jdk.VirtualThreadPinned, publica a
+// métrica jvm.threads.virtual.pinned e registra no log a pilha de cada ponto novo.
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class MonitorPinningThreadsVirtuais {
+    private static final String EVENTO_PINNING = "jdk.VirtualThreadPinned";
+    private static final int MAXIMO_PONTOS_REGISTRADOS = 100;
+    private static final int FRAMES_NO_LOG = 8;
+
+    private final RecordingStream stream = new RecordingStream();
+    private final Timer tempoPreso;
+    private final Set<String> pontosRegistrados = ConcurrentHashMap.newKeySet();
+
+    public MonitorPinningThreadsVirtuais(MeterRegistry meterRegistry,
+                                         @Value("${virtual-threads.pinning.threshold}") Duration limite) {
+        this.tempoPreso = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Tempo em que threads virtuais ficaram presas à carrier")
+                .register(meterRegistry);
+        stream.enable(EVENTO_PINNING).withThreshold(limite).withStackTrace();
+        stream.onEvent(EVENTO_PINNING, this::registrar);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        stream.startAsync();
+    }
+
+    void registrar(RecordedEvent evento) {
+        tempoPreso.record(evento.getDuration());
+        RecordedStackTrace pilha = evento.getStackTrace();
+        if (pilha == null || pilha.getFrames().isEmpty()) {
+            return;
+        }
+        // O topo da pilha é sempre o park da própria JVM; o ponto é o primeiro frame fora do JDK,
+        // registrado uma vez (a frequência fica na métrica)
+        List<RecordedFrame> framesUteis = pilha.getFrames().stream()
+                .dropWhile(frame -> frame.getMethod().getType().getName().startsWith("java.lang.VirtualThread"))
+                .toList();
+        String ponto = framesUteis.stream()
+                .filter(frame -> !ehDoJdk(frame))
+                .findFirst()
+                .map(MonitorPinningThreadsVirtuais::descrever)
+                .orElse(descrever(pilha.getFrames().getFirst()));
+        if (pontosRegistrados.size() < MAXIMO_PONTOS_REGISTRADOS && pontosRegistrados.add(ponto)) {
+            StringBuilder frames = new StringBuilder();
+            framesUteis.stream()
+                    .limit(FRAMES_NO_LOG)
+                    .forEach(frame -> frames.append("\n\tem ").append(descrever(frame)));
+            log.warn("Thread virtual presa à carrier por {} ms{}", evento.getDuration().toMillis(), frames);
+        }
+    }
+
+    private static boolean ehDoJdk(RecordedFrame frame) {
+        String classe = frame.getMethod().getType().getName();
+        return classe.startsWith("java.") || classe.startsWith("jdk.") || classe.startsWith("sun.");
+    }
+
+    private static String descrever(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        stream.close();
+    }
+}
@@ -0,0 +1,79 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Só entra em cena com datasource.replica.enabled=true; sem ela o Spring Boot cria o pool único de sempre.
+// Os dois pools herdam spring.datasource.hikari.*; a réplica aceita sobrescritas em datasource.replica.hikari.*
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaLeituraConfig {
+
+    @Bean
+    RoteamentoReplicaDataSource roteamentoReplicaDataSource(DataSourceProperties propriedades,
+                                                            Environment environment,
+                                                            MeterRegistry meterRegistry,
+                                                            @Value("${datasource.replica.url}") String url,
+                                                            @Value("${datasource.replica.username}") String usuario,
+                                                            @Value("${datasource.replica.password}") String senha,
+                                                            @Value("${datasource.replica.max-lag}") Duration atrasoMaximo,
+                                                            @Value("${datasource.replica.retry-interval}") Duration intervaloNovaTentativa) {
+        Binder binder = Binder.get(environment);
+        MicrometerMetricsTrackerFactory metricas = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primaria = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primaria));
+        primaria.setMetricsTrackerFactory(metricas);
+
+        HikariDataSource replica = new HikariDataSource();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+        replica.setDriverClassName(primaria.getDriverClassName());
+        replica.setJdbcUrl(url);
+        replica.setUsername(usuario);
+        replica.setPassword(senha);
+        replica.setPoolName(primaria.getPoolName() + "-replica");
+        // A aplicação sobe mesmo com a réplica fora; as leituras ficam na primária até ela responder
+        replica.setInitializationFailTimeout(-1);
+        binder.bind("datasource.replica.hikari", Bindable.ofInstance(replica));
+        replica.setMetricsTrackerFactory(metricas);
+
+        return new RoteamentoReplicaDataSource(primaria, replica, atrasoMaximo, intervaloNovaTentativa, meterRegistry);
+    }
+
+    // Sessões somente leitura (réplica) não populam o cache de segundo nível; ver LeituraReplicaJpaDialect
+    @Bean
+    static BeanPostProcessor dialetoLeituraReplica() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean fabrica) {
+                    fabrica.setJpaDialect(new LeituraReplicaJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    // DataSource usado por JPA, Flyway e JdbcTemplate; sem transação somente leitura tudo vai para a primária
+    @Bean
+    @Primary
+    DataSource dataSource(RoteamentoReplicaDataSource roteamento) {
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+}
@@ -0,0 +1,8 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+// SUMMARY registra uma linha por requisição, na conclusão; FULL também registra a chegada; NONE só propaga o correlation id
+public enum RequestLogMode {
+    NONE,
+    SUMMARY,
+    FULL
+}
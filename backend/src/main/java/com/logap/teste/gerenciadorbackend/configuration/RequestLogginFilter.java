@@ -1,25 +1,58 @@
 package com.logap.teste.gerenciadorbackend.configuration;
 
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 @Component
 @Slf4j
 public class RequestLogginFilter extends OncePerRequestFilter {
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
     private static final String CORRELATION_ID_KEY = "correlationId";
     private static final String USER_KEY = "user";
+    // Ids vindos de outros serviços só são aceitos se curtos e sem caracteres que quebrem a linha de log
+    private static final Pattern CORRELATION_ID_VALIDO = Pattern.compile("[A-Za-z0-9._:-]{1,64}");
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final RequestLogMode modo;
+    private final double taxaAmostragem;
+    private final List<AmostragemPorRota> amostragemPorRota;
+    private final long limiteLentaNanos;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public RequestLogginFilter(@Value("${request-log.mode}") RequestLogMode modo,
+                               @Value("${request-log.sample-rate}") double taxaAmostragem,
+                               @Value("${request-log.sample-rates-by-route}") String taxasPorRota,
+                               @Value("${request-log.slow-threshold}") Duration limiteLenta) {
+        this.modo = modo;
+        this.taxaAmostragem = taxaAmostragem;
+        this.amostragemPorRota = lerTaxasPorRota(taxasPorRota);
+        this.limiteLentaNanos = limiteLenta.toNanos();
+    }
 
     @Override
     protected void doFilterInternal(
@@ -28,36 +61,144 @@ public class RequestLogginFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain)
             throws ServletException, IOException {
 
-        // 1. Prepara o contexto de log (MDC)
-        final String correlationId = UUID.randomUUID().toString();
+        long inicio = System.nanoTime();
+        String correlationId = resolverCorrelationId(request);
         MDC.put(CORRELATION_ID_KEY, correlationId);
+        response.setHeader(CORRELATION_ID_HEADER, correlationId);
 
-        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
-            MDC.put(USER_KEY, authentication.getName());
+        // O sorteio é feito na chegada para que as duas linhas do modo FULL saiam juntas ou não saiam
+        // As rotas são comparadas sem o spring.mvc.servlet.path (ex.: /actuator/**, não /gerenciador/api/v1/actuator/**)
+        boolean amostrada = modo != RequestLogMode.NONE && sortear(urlPathHelper.getPathWithinServletMapping(request));
+        if (amostrada && modo == RequestLogMode.FULL) {
+            log.info("Requisição recebida: {} {}", request.getMethod(), request.getRequestURI());
         }
 
-        long startTime = System.currentTimeMillis();
-
-        // Log da requisição recebida
-        log.info("Requisição recebida: {} {}", request.getMethod(), request.getRequestURI());
-
         try {
-            // 2. Continua o fluxo normal da requisição
             filterChain.doFilter(request, response);
         } finally {
-            // 3. Este bloco é executado DEPOIS que a requisição foi processada
-            long duration = System.currentTimeMillis() - startTime;
-
-            // Log da resposta enviada
-            log.info("Requisição finalizada: {} {} - Status {} em {}ms",
-                    request.getMethod(),
-                    request.getRequestURI(),
-                    response.getStatus(),
-                    duration);
-
-            // 4. Limpa o contexto para a próxima requisição
-            MDC.clear();
+            if (modo != RequestLogMode.NONE) {
+                String usuario = usuarioAutenticado();
+                if (request.isAsyncStarted()) {
+                    // Em respostas assíncronas (ex.: login) o status e a duração só são conhecidos ao final
+                    request.getAsyncContext().addListener(new ConclusaoAssincrona(
+                            request, response, inicio, correlationId, usuario, amostrada));
+                } else {
+                    registrarConclusao(request, response, inicio, correlationId, usuario, amostrada);
+                }
+            }
+            MDC.remove(CORRELATION_ID_KEY);
+            MDC.remove(USER_KEY);
+        }
+    }
+
+    // Erros de servidor e requisições lentas são registrados mesmo fora da amostra
+    private void registrarConclusao(HttpServletRequest request, HttpServletResponse response, long inicio,
+                                    String correlationId, String usuario, boolean amostrada) {
+        long duracaoNanos = System.nanoTime() - inicio;
+        int status = response.getStatus();
+        if (!amostrada && status < 500 && duracaoNanos < limiteLentaNanos) {
+            return;
+        }
+        MDC.put(CORRELATION_ID_KEY, correlationId);
+        if (usuario != null) {
+            MDC.put(USER_KEY, usuario);
+        }
+        log.info("Requisição finalizada: {} {} - Status {} em {}ms",
+                request.getMethod(),
+                request.getRequestURI(),
+                status,
+                TimeUnit.NANOSECONDS.toMillis(duracaoNanos));
+    }
+
+    private boolean sortear(String rota) {
+        double taxa = taxaAmostragem;
+        for (AmostragemPorRota amostragem : amostragemPorRota) {
+            if (pathMatcher.match(amostragem.padrao(), rota)) {
+                taxa = amostragem.taxa();
+                break;
+            }
+        }
+        return taxa >= 1.0 || (taxa > 0 && ThreadLocalRandom.current().nextDouble() < taxa);
+    }
+
+    private String resolverCorrelationId(HttpServletRequest request) {
+        String recebido = request.getHeader(CORRELATION_ID_HEADER);
+        if (recebido != null && CORRELATION_ID_VALIDO.matcher(recebido).matches()) {
+            return recebido;
+        }
+        return gerarCorrelationId();
+    }
+
+    // 64 bits de ThreadLocalRandom bastam para correlacionar logs e não disputam o SecureRandom do UUID
+    static String gerarCorrelationId() {
+        return HEX.toHexDigits(ThreadLocalRandom.current().nextLong());
+    }
+
+    private String usuarioAutenticado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    // Formato: padrao=taxa separados por vírgula; vale a primeira rota que casar
+    static List<AmostragemPorRota> lerTaxasPorRota(String taxasPorRota) {
+        List<AmostragemPorRota> rotas = new ArrayList<>();
+        if (!StringUtils.hasText(taxasPorRota)) {
+            return rotas;
+        }
+        for (String entrada : taxasPorRota.split(",")) {
+            int separador = entrada.lastIndexOf('=');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Taxa de amostragem por rota inválida: " + entrada.trim());
+            }
+            rotas.add(new AmostragemPorRota(
+                    entrada.substring(0, separador).trim(),
+                    Double.parseDouble(entrada.substring(separador + 1).trim())));
+        }
+        return List.copyOf(rotas);
+    }
+
+    record AmostragemPorRota(String padrao, double taxa) {
+    }
+
+    private class ConclusaoAssincrona implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long inicio;
+        private final String correlationId;
+        private final String usuario;
+        private final boolean amostrada;
+
+        ConclusaoAssincrona(HttpServletRequest request, HttpServletResponse response, long inicio,
+                            String correlationId, String usuario, boolean amostrada) {
+            this.request = request;
+            this.response = response;
+            this.inicio = inicio;
+            this.correlationId = correlationId;
+            this.usuario = usuario;
+            this.amostrada = amostrada;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            try {
+                registrarConclusao(request, response, inicio, correlationId, usuario, amostrada);
+            } finally {
+                MDC.remove(CORRELATION_ID_KEY);
+                MDC.remove(USER_KEY);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
         }
     }
 }
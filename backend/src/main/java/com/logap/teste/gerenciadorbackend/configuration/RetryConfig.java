@@ -0,0 +1,9 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.annotation.EnableRetry;
+
+@Configuration
+@EnableRetry
+public class RetryConfig {
+}
@@ -0,0 +1,33 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Reexecuta o método (e sua transação) quando a gravação falha por conflito de versão.
+ * O advice de retry envolve o de transação, então cada tentativa relê os dados atualizados.
+ * Esgotadas as tentativas, a exceção é propagada e o GlobalExceptionHandler responde 409.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(
+        retryFor = {OptimisticLockingFailureException.class, OptimisticLockException.class},
+        maxAttemptsExpression = "${optimistic-lock.retry.max-attempts:3}",
+        backoff = @Backoff(
+                delayExpression = "${optimistic-lock.retry.delay:50}",
+                maxDelayExpression = "${optimistic-lock.retry.max-delay:500}",
+                multiplier = 2,
+                random = true
+        )
+)
+public @interface RetryOnOptimisticLock {
+}
@@ -0,0 +1,145 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+
+// Envia as transações @Transactional(readOnly = true) para a réplica e todo o resto para a primária.
+// Fica atrás de um LazyConnectionDataSourceProxy, que só pede a conexão no primeiro statement, quando
+// o flag readOnly da transação já foi registrado. Se a réplica não responde ou passa do atraso máximo,
+// as leituras vão para a primária até a réplica voltar.
+@Slf4j
+public class RoteamentoReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+    // Sem WAL pendente de aplicação a réplica está em dia, mesmo que a última transação seja antiga
+    static final String CONSULTA_ATRASO = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final HikariDataSource primaria;
+    private final HikariDataSource replica;
+    private final double atrasoMaximoSegundos;
+    private final long intervaloNovaTentativaNanos;
+    private final Counter leiturasNaReplica;
+    private final Counter leiturasNaPrimaria;
+
+    private volatile boolean replicaDisponivel = true;
+    private volatile long proximaTentativaNanos;
+    private volatile double atrasoSegundos;
+
+    public RoteamentoReplicaDataSource(HikariDataSource primaria, HikariDataSource replica, Duration atrasoMaximo,
+                                       Duration intervaloNovaTentativa, MeterRegistry meterRegistry) {
+        this.primaria = primaria;
+        this.replica = replica;
+        this.atrasoMaximoSegundos = atrasoMaximo.toMillis() / 1000.0;
+        this.intervaloNovaTentativaNanos = intervaloNovaTentativa.toNanos();
+        this.leiturasNaReplica = Counter.builder("datasource.leituras")
+                .description("Conexões de transações somente leitura por destino")
+                .tag("destino", "replica")
+                .register(meterRegistry);
+        this.leiturasNaPrimaria = Counter.builder("datasource.leituras")
+                .description("Conexões de transações somente leitura por destino")
+                .tag("destino", "primaria")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.lag", this, roteamento -> roteamento.atrasoSegundos)
+                .description("Atraso de replicação medido na última verificação")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.disponivel", this, roteamento -> roteamento.replicaDisponivel
+                        && roteamento.atrasoSegundos <= roteamento.atrasoMaximoSegundos ? 1 : 0)
+                .description("1 quando as leituras estão indo para a réplica")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!transacaoSomenteLeitura()) {
+            return primaria.getConnection();
+        }
+        if (!replicaUtilizavel()) {
+            leiturasNaPrimaria.increment();
+            return primaria.getConnection();
+        }
+        try {
+            Connection conexao = replica.getConnection();
+            marcarDisponivel();
+            leiturasNaReplica.increment();
+            return conexao;
+        } catch (SQLException e) {
+            marcarIndisponivel(e);
+            leiturasNaPrimaria.increment();
+            return primaria.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval}")
+    public void verificarReplica() {
+        try (Connection conexao = replica.getConnection();
+             Statement statement = conexao.createStatement();
+             ResultSet resultado = statement.executeQuery(CONSULTA_ATRASO)) {
+            resultado.next();
+            atualizarAtraso(resultado.getDouble(1));
+            marcarDisponivel();
+        } catch (SQLException e) {
+            marcarIndisponivel(e);
+        }
+    }
+
+    void atualizarAtraso(double atraso) {
+        boolean estavaAtrasada = atrasoSegundos > atrasoMaximoSegundos;
+        atrasoSegundos = atraso;
+        boolean atrasada = atraso > atrasoMaximoSegundos;
+        if (atrasada && !estavaAtrasada) {
+            log.warn("Réplica de leitura {} s atrás da primária; leituras desviadas para a primária",
+                    String.format("%.1f", atraso));
+        } else if (!atrasada && estavaAtrasada) {
+            log.info("Réplica de leitura alcançou a primária; leituras voltam para a réplica");
+        }
+    }
+
+    boolean replicaUtilizavel() {
+        boolean podeTentar = replicaDisponivel || System.nanoTime() - proximaTentativaNanos >= 0;
+        return podeTentar && atrasoSegundos <= atrasoMaximoSegundos;
+    }
+
+    private void marcarDisponivel() {
+        if (!replicaDisponivel) {
+            log.info("Réplica de leitura respondendo novamente");
+            replicaDisponivel = true;
+        }
+    }
+
+    private void marcarIndisponivel(SQLException e) {
+        proximaTentativaNanos = System.nanoTime() + intervaloNovaTentativaNanos;
+        if (replicaDisponivel) {
+            log.warn("Réplica de leitura indisponível; leituras desviadas para a primária: {}", e.getMessage());
+            replicaDisponivel = false;
+        }
+    }
+
+    private static boolean transacaoSomenteLeitura() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    @Override
+    public void close() {
+        replica.close();
+        primaria.close();
+    }
+}
@@ -2,6 +2,7 @@ package com.logap.teste.gerenciadorbackend.configuration;
 
 import com.logap.teste.gerenciadorbackend.service.UserDetailServiceImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,28 +17,42 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityConfiguration {
+    public static final String ENCODER_BCRYPT = "bcrypt";
+    public static final String ENCODER_PBKDF2 = "pbkdf2@SpringSecurity_v5_8";
 
     private final JwtAuthFilter jwtAuthFilter;
     private final UserDetailServiceImpl userDetailServiceImpl;
     private final RequestLogginFilter requestLogginFilter;
 
     @Bean
-    SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                            @Value("${security.actuator.prometheus-public}") boolean prometheusPublico)
+            throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
-            .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/auth/login").permitAll()
-                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-                .anyRequest().authenticated()
-            )
+            .authorizeHttpRequests(auth -> {
+                if (prometheusPublico) {
+                    auth.requestMatchers("/actuator/prometheus").permitAll();
+                }
+                auth
+                    .requestMatchers("/auth/login", "/auth/refresh").permitAll()
+                    .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                    .requestMatchers("/actuator/health/**").permitAll()
+                    .requestMatchers("/actuator/**").hasRole("ADMINISTRADOR")
+                    .anyRequest().authenticated();
+            })
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
             .addFilterBefore(requestLogginFilter, JwtAuthFilter.class)
@@ -47,16 +62,31 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    AuthenticationProvider authenticationProvider() {
+    AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailServiceImpl);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
+        // Após um login válido, regrava o hash se ele foi gerado com outro algoritmo ou custo menor
+        provider.setUserDetailsPasswordService(userDetailServiceImpl);
 
         return provider;
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(@Value("${security.password.encoder}") String encoder,
+                                    @Value("${security.password.bcrypt-strength}") int forcaBcrypt) {
+        return criarPasswordEncoder(encoder, forcaBcrypt);
+    }
+
+    // Hashes novos recebem o prefixo do algoritmo ({bcrypt}, {pbkdf2@...}); os antigos, sem prefixo,
+    // são BCrypt e continuam válidos até serem regravados no próximo login
+    public static PasswordEncoder criarPasswordEncoder(String encoder, int forcaBcrypt) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(forcaBcrypt);
+        Map<String, PasswordEncoder> encoders = Map.of(
+                ENCODER_BCRYPT, bcrypt,
+                ENCODER_PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encoder, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
     }
 
     @Bean
@@ -0,0 +1,11 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+// Principal montado a partir das claims verificadas do JWT, sem carregar a entidade Usuario
+public record UsuarioAutenticado(Long id, String email, String nome) implements AuthenticatedPrincipal {
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -1,38 +1,40 @@
 package com.logap.teste.gerenciadorbackend.controller;
 
 import com.logap.teste.gerenciadorbackend.dto.request.LoginRequest;
+import com.logap.teste.gerenciadorbackend.dto.request.RefreshTokenRequest;
 import com.logap.teste.gerenciadorbackend.dto.response.LoginResponse;
-import com.logap.teste.gerenciadorbackend.service.JwtService;
-import com.logap.teste.gerenciadorbackend.service.UserDetailServiceImpl;
+import com.logap.teste.gerenciadorbackend.service.LoginService;
+import com.logap.teste.gerenciadorbackend.service.RefreshTokenService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
 public class AuthController {
-    private final AuthenticationManager authenticationManager;
-    private final UserDetailServiceImpl userDetailService;
-    private final JwtService jwtService;
+    private final LoginService loginService;
+    private final RefreshTokenService refreshTokenService;
 
+    // A verificação da senha termina em outro pool; a thread do Tomcat é liberada enquanto isso
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
-        authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(request.email(), request.senha())
-        );
-        
-        final UserDetails userDetails = userDetailService.loadUserByUsername(request.email());
-        final String token = jwtService.generateToken(userDetails);
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                                  HttpServletRequest httpRequest) {
+        return loginService.autenticar(request, httpRequest.getRemoteAddr())
+                .thenApply(ResponseEntity::ok);
+    }
 
-        return ResponseEntity.ok(new LoginResponse(token));
+    // Renovação barata (hash + consulta indexada + HMAC): roda direto na thread da requisição
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(refreshTokenService.renovar(request.refreshToken()));
     }
 }
@@ -1,11 +1,15 @@
 package com.logap.teste.gerenciadorbackend.controller;
 
+import com.logap.teste.gerenciadorbackend.dto.dashboard.DashboardSnapshot;
 import com.logap.teste.gerenciadorbackend.dto.dashboard.DashboardStatsDTO;
+import com.logap.teste.gerenciadorbackend.service.DashboardAgregadoService;
 import com.logap.teste.gerenciadorbackend.service.DashboardService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -17,8 +21,23 @@ public class DashboardController {
 
     private final DashboardService dashboardService;
 
+    private final DashboardAgregadoService dashboardAgregadoService;
+
+    // ETag e Last-Modified vêm do snapshot; requisições condicionais sem mudança recebem 304 sem corpo
     @GetMapping("/stats")
     public ResponseEntity<DashboardStatsDTO> getStats() {
-        return ResponseEntity.ok(dashboardService.getDashboardStats());
+        DashboardSnapshot snapshot = dashboardService.obterSnapshot();
+        return ResponseEntity.ok()
+                .eTag(snapshot.versao())
+                .lastModified(snapshot.geradoEm())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(snapshot.stats());
+    }
+
+    // Corrige divergências dos agregados em relação aos pedidos, sem esperar a execução agendada
+    @PostMapping("/agregados/reconciliacao")
+    public ResponseEntity<Void> reconciliarAgregados() {
+        dashboardAgregadoService.reconciliar();
+        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -1,26 +1,41 @@
 package com.logap.teste.gerenciadorbackend.controller;
 
 import com.logap.teste.gerenciadorbackend.dto.request.AtualizarStatusPedidoRequest;
+import com.logap.teste.gerenciadorbackend.dto.request.FiltroExportacaoPedido;
 import com.logap.teste.gerenciadorbackend.dto.request.PedidoRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.PaginaCursorResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.PedidoCriadoResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.PedidoDetalhadoResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.PedidoResumoResponse;
+import com.logap.teste.gerenciadorbackend.model.enums.FormatoExportacao;
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+import com.logap.teste.gerenciadorbackend.service.ExportacaoPedidoService;
 import com.logap.teste.gerenciadorbackend.service.PedidoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
 @RequestMapping("/pedidos")
 @RequiredArgsConstructor
 public class PedidoController {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final PedidoService pedidoService;
+    private final ExportacaoPedidoService exportacaoPedidoService;
 
     @PostMapping
     public ResponseEntity<PedidoCriadoResponse> criarPedido(@Valid @RequestBody PedidoRequest request, Authentication authentication) {
@@ -31,18 +46,48 @@ public class PedidoController {
     }
 
     @GetMapping
-    public ResponseEntity<List<PedidoResumoResponse>> listarPedidos(Authentication authentication) {
+    public ResponseEntity<List<PedidoResumoResponse>> listarPedidos(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication) {
         String emailCliente = authentication.getName();
         boolean isGestor = authentication.getAuthorities().stream()
                 .anyMatch(grantedAuthority -> grantedAuthority.getAuthority().equals("ROLE_ADMINISTRADOR") ||
                                                                              grantedAuthority.getAuthority().equals("ROLE_VENDEDOR"));
-        List<PedidoResumoResponse> pedidos;
+        PaginaCursorResponse<PedidoResumoResponse> pagina;
         if(isGestor) {
-            pedidos = pedidoService.listarTodosOsPedidos();
+            pagina = pedidoService.listarTodosOsPedidos(cursor, limit);
         } else {
-            pedidos = pedidoService.listarPedidosDoCliente(emailCliente);
+            pagina = pedidoService.listarPedidosDoCliente(emailCliente, cursor, limit);
+        }
+
+        // O corpo continua sendo a lista de pedidos; o cursor da próxima página segue no cabeçalho
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) {
+            resposta.header(NEXT_CURSOR_HEADER, pagina.proximoCursor());
         }
-        return ResponseEntity.ok(pedidos);
+        return resposta.body(pagina.itens());
+    }
+
+    // Exportação para relatórios: as linhas são escritas na resposta à medida que são lidas do banco
+    @GetMapping("/exportacao")
+    @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'VENDEDOR')")
+    public ResponseEntity<StreamingResponseBody> exportarPedidos(
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacao formato,
+            @RequestParam(required = false) StatusPedido status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant dataFim,
+            @RequestParam(defaultValue = "false") boolean incluirItens) {
+        FiltroExportacaoPedido filtro = new FiltroExportacaoPedido(status, dataInicio, dataFim);
+        exportacaoPedidoService.validarFiltro(filtro);
+
+        boolean csv = formato == FormatoExportacao.CSV;
+        StreamingResponseBody corpo = saida -> exportacaoPedidoService.exportar(filtro, formato, incluirItens, saida);
+        return ResponseEntity.ok()
+                .contentType(csv ? TEXT_CSV : APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"pedidos." + (csv ? "csv" : "ndjson") + "\"")
+                .body(corpo);
     }
 
     @GetMapping("/{id}")
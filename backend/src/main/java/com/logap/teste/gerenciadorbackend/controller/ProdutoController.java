@@ -2,6 +2,7 @@ package com.logap.teste.gerenciadorbackend.controller;
 
 import com.logap.teste.gerenciadorbackend.dto.request.AtualizarEstoqueRequest;
 import com.logap.teste.gerenciadorbackend.dto.request.ProdutoRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.PaginaCursorResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.ProdutoResponse;
 import com.logap.teste.gerenciadorbackend.service.ProdutoService;
 import jakarta.validation.Valid;
@@ -13,6 +14,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/produtos")
 @RequiredArgsConstructor
@@ -32,6 +35,20 @@ public class ProdutoController {
         return ResponseEntity.ok(produtos);
     }
 
+    // Busca por nome/descrição ordenada por relevância; o cursor da próxima página segue no cabeçalho
+    @GetMapping("/busca")
+    public ResponseEntity<List<ProdutoResponse>> buscarProdutos(
+            @RequestParam("q") String termo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        PaginaCursorResponse<ProdutoResponse> pagina = produtoService.buscarProdutos(termo, cursor, limit);
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.proximoCursor() != null) {
+            resposta.header(PedidoController.NEXT_CURSOR_HEADER, pagina.proximoCursor());
+        }
+        return resposta.body(pagina.itens());
+    }
+
     @PatchMapping("/{idProduto}/estoque")
     @PreAuthorize("hasAnyRole('ADMINISTRADOR', 'VENDEDOR')")
     public ResponseEntity<ProdutoResponse> atualizarEstoque(
@@ -0,0 +1,11 @@
+package com.logap.teste.gerenciadorbackend.dto.dashboard;
+
+import java.time.Instant;
+
+// versao é derivada do conteúdo: igual em qualquer instância enquanto os números não mudarem
+public record DashboardSnapshot(
+        DashboardStatsDTO stats,
+        String versao,
+        Instant geradoEm
+) {
+}
@@ -0,0 +1,12 @@
+package com.logap.teste.gerenciadorbackend.dto.request;
+
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+
+import java.time.Instant;
+
+public record FiltroExportacaoPedido(
+        StatusPedido status,
+        Instant dataInicio,
+        Instant dataFim
+) {
+}
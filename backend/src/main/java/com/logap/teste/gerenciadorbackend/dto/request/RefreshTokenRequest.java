@@ -0,0 +1,8 @@
+package com.logap.teste.gerenciadorbackend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+        @NotBlank(message = "Refresh token é obrigatório")
+        String refreshToken
+) {}
@@ -1,5 +1,7 @@
 package com.logap.teste.gerenciadorbackend.dto.response;
 
 public record LoginResponse(
-    String token
+    String token,
+    String refreshToken,
+    long expiresIn
 ) {}
@@ -0,0 +1,9 @@
+package com.logap.teste.gerenciadorbackend.dto.response;
+
+import java.util.List;
+
+public record PaginaCursorResponse<T>(
+        List<T> itens,
+        String proximoCursor
+) {
+}
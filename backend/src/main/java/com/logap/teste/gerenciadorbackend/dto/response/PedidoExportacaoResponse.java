@@ -0,0 +1,20 @@
+package com.logap.teste.gerenciadorbackend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+public record PedidoExportacaoResponse(
+        Long id,
+        Instant dataCriacao,
+        StatusPedido statusPedido,
+        BigDecimal valorTotal,
+        String nomeCliente,
+        String emailCliente,
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        List<ItemPedidoResponse> itens
+) {
+}
@@ -0,0 +1,5 @@
+package com.logap.teste.gerenciadorbackend.event;
+
+// Publicado quando os agregados do dashboard mudam (pedido criado, status alterado ou reconciliação)
+public record DashboardAlteradoEvent() {
+}
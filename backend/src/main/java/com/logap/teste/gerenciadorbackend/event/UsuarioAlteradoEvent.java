@@ -0,0 +1,5 @@
+package com.logap.teste.gerenciadorbackend.event;
+
+// Publicado quando o perfil de um usuário muda ou ele é excluído
+public record UsuarioAlteradoEvent(String email) {
+}
@@ -1,7 +1,17 @@
 package com.logap.teste.gerenciadorbackend.exception;
 
+import lombok.Getter;
+
+@Getter
 public class BusinessException extends RuntimeException {
+    private final MotivoFalhaNegocio motivo;
+
     public BusinessException(String message) {
+        this(MotivoFalhaNegocio.REGRA_VIOLADA, message);
+    }
+
+    public BusinessException(MotivoFalhaNegocio motivo, String message) {
         super(message);
+        this.motivo = motivo;
     }
 }
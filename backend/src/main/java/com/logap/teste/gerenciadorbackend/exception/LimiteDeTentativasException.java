@@ -0,0 +1,13 @@
+package com.logap.teste.gerenciadorbackend.exception;
+
+import lombok.Getter;
+
+@Getter
+public class LimiteDeTentativasException extends RuntimeException {
+    private final long segundosParaNovaTentativa;
+
+    public LimiteDeTentativasException(String message, long segundosParaNovaTentativa) {
+        super(message);
+        this.segundosParaNovaTentativa = segundosParaNovaTentativa;
+    }
+}
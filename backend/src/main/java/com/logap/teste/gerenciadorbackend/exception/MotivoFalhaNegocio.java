@@ -0,0 +1,17 @@
+package com.logap.teste.gerenciadorbackend.exception;
+
+import java.util.Locale;
+
+// Conjunto fechado usado como tag da métrica negocio.falhas; a mensagem da exceção nunca vira tag
+public enum MotivoFalhaNegocio {
+    ESTOQUE_INSUFICIENTE,
+    NAO_ENCONTRADO,
+    DADO_DUPLICADO,
+    DADOS_INVALIDOS,
+    REGRA_VIOLADA;
+
+    public String tag() {
+        // Locale.ROOT: no locale padrão tr-TR, "I" viraria "ı" e a tag mudaria conforme a máquina
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,7 @@
+package com.logap.teste.gerenciadorbackend.exception;
+
+public class RefreshTokenInvalidoException extends RuntimeException {
+    public RefreshTokenInvalidoException(String message) {
+        super(message);
+    }
+}
@@ -16,7 +16,8 @@ import java.math.BigDecimal;
 @Table(name = "pedido_itens")
 public class ItemPedido {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_itens_seq")
+    @SequenceGenerator(name = "pedido_itens_seq", sequenceName = "pedido_itens_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -20,7 +20,8 @@ import java.util.List;
 @Table(name = "pedidos")
 public class Pedido {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedidos_seq")
+    @SequenceGenerator(name = "pedidos_seq", sequenceName = "pedidos_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -40,6 +41,9 @@ public class Pedido {
     @Builder.Default
     private Instant dataCriacao = Instant.now();
 
+    @Version
+    private Long versao;
+
     public void adicionarItem(ItemPedido item) {
         itens.add(item);
         item.setPedido(this);
@@ -1,10 +1,13 @@
 package com.logap.teste.gerenciadorbackend.model;
 
+import com.logap.teste.gerenciadorbackend.configuration.CacheConfig;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
@@ -14,9 +17,11 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 @Entity
 @Table(name = "produtos")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.REGIAO_PRODUTOS)
 public class Produto {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produtos_seq")
+    @SequenceGenerator(name = "produtos_seq", sequenceName = "produtos_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
@@ -25,4 +30,15 @@ public class Produto {
 
     @Column(name = "qtd_estoque")
     private int quantidadeEstoque;
+
+    // Mantida apenas pelos UPDATEs condicionais de reserva; nunca gravada pela entidade
+    @Column(name = "qtd_reservada", insertable = false, updatable = false)
+    private int quantidadeReservada;
+
+    @Version
+    private Long versao;
+
+    public int getQuantidadeDisponivel() {
+        return quantidadeEstoque - quantidadeReservada;
+    }
 }
@@ -0,0 +1,35 @@
+package com.logap.teste.gerenciadorbackend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "reservas_estoque")
+public class ReservaEstoque {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservas_estoque_seq")
+    @SequenceGenerator(name = "reservas_estoque_seq", sequenceName = "reservas_estoque_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pedido_id", nullable = false)
+    private Pedido pedido;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "produto_id", nullable = false)
+    private Produto produto;
+
+    private int quantidade;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+}
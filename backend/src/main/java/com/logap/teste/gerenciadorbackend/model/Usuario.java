@@ -18,6 +18,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Data
@@ -29,7 +30,8 @@ import jakarta.persistence.Table;
 public class Usuario implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -47,6 +49,10 @@ public class Usuario implements UserDetails {
     @Column(name = "data_criacao", updatable = false)
     private Instant dataCriacao = Instant.now();
 
+    // Incluída nos tokens emitidos; incrementar invalida os tokens anteriores
+    @Column(name = "versao_token", nullable = false)
+    private int versaoToken;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_" + this.perfil.name()));
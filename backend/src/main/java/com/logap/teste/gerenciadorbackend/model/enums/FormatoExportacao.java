@@ -0,0 +1,6 @@
+package com.logap.teste.gerenciadorbackend.model.enums;
+
+public enum FormatoExportacao {
+    NDJSON,
+    CSV
+}
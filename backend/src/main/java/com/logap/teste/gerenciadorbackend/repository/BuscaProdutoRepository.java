@@ -0,0 +1,75 @@
+package com.logap.teste.gerenciadorbackend.repository;
+
+import com.logap.teste.gerenciadorbackend.dto.response.ProdutoResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// Busca textual no catálogo (V10/V11). Um produto entra no resultado se o tsvector casa com a consulta
+// por palavra/prefixo ou se o termo é parecido com alguma palavra do nome (trigramas). As condições do
+// WHERE repetem as expressões indexadas para que o Postgres combine os dois índices GIN.
+// A relevância soma o ts_rank e a similaridade; as páginas seguem por (relevancia DESC, id DESC).
+// Termos amplos ("cafe" em um catálogo grande) casam com centenas de milhares de linhas, e ordenar por
+// relevância exige calcular o rank de todas. Por isso só as primeiras MAXIMO_CANDIDATOS linhas que
+// casam são ranqueadas e paginadas: acima disso o usuário precisa refinar o termo.
+@Repository
+@RequiredArgsConstructor
+public class BuscaProdutoRepository {
+    static final int MAXIMO_CANDIDATOS = 1000;
+
+    private static final String PRODUTOS_ENCONTRADOS =
+            "SELECT id, nome, descricao, preco, qtd_estoque, relevancia FROM (" +
+            "SELECT p.id, p.nome, p.descricao, p.preco, p.qtd_estoque, " +
+            "(ts_rank(p.busca, to_tsquery('portuguese', imutavel_unaccent(:consulta))) + " +
+            "word_similarity(imutavel_unaccent(:termo), imutavel_unaccent(lower(p.nome))))::real AS relevancia " +
+            "FROM produtos p " +
+            "WHERE p.busca @@ to_tsquery('portuguese', imutavel_unaccent(:consulta)) " +
+            "OR imutavel_unaccent(:termo) <% imutavel_unaccent(lower(p.nome)) " +
+            "LIMIT :candidatos" +
+            ") encontrados ";
+    private static final String PRIMEIRA_PAGINA =
+            PRODUTOS_ENCONTRADOS +
+            "ORDER BY relevancia DESC, id DESC LIMIT :limite";
+    private static final String PAGINA_APOS =
+            PRODUTOS_ENCONTRADOS +
+            "WHERE relevancia < :relevancia OR (relevancia = :relevancia AND id < :id) " +
+            "ORDER BY relevancia DESC, id DESC LIMIT :limite";
+
+    private static final RowMapper<ProdutoEncontrado> MAPEADOR = (rs, i) -> new ProdutoEncontrado(
+            new ProdutoResponse(
+                    rs.getLong("id"),
+                    rs.getString("nome"),
+                    rs.getString("descricao"),
+                    rs.getBigDecimal("preco"),
+                    rs.getInt("qtd_estoque")),
+            rs.getFloat("relevancia"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // consulta: tsquery já montada (ex.: "camis:* & azul:*"); termo: texto em minúsculas para os trigramas
+    public List<ProdutoEncontrado> buscarPrimeiraPagina(String consulta, String termo, int limite) {
+        return jdbcTemplate.query(PRIMEIRA_PAGINA, parametros(consulta, termo, limite), MAPEADOR);
+    }
+
+    public List<ProdutoEncontrado> buscarPaginaApos(String consulta, String termo, float relevancia, Long id, int limite) {
+        MapSqlParameterSource parametros = parametros(consulta, termo, limite)
+                .addValue("relevancia", relevancia)
+                .addValue("id", id);
+        return jdbcTemplate.query(PAGINA_APOS, parametros, MAPEADOR);
+    }
+
+    private static MapSqlParameterSource parametros(String consulta, String termo, int limite) {
+        return new MapSqlParameterSource()
+                .addValue("consulta", consulta)
+                .addValue("termo", termo)
+                .addValue("limite", limite)
+                .addValue("candidatos", MAXIMO_CANDIDATOS);
+    }
+
+    public record ProdutoEncontrado(ProdutoResponse produto, float relevancia) {
+    }
+}
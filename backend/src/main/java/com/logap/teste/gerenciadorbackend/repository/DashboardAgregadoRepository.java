@@ -0,0 +1,158 @@
+package com.logap.teste.gerenciadorbackend.repository;
+
+import com.logap.teste.gerenciadorbackend.dto.dashboard.ActiveCustomerDTO;
+import com.logap.teste.gerenciadorbackend.dto.dashboard.TopProductDTO;
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+// Tabelas de agregados do dashboard (V7, fatias do resumo por status em V12). As escritas são incrementos
+// atômicos no banco, sem leitura prévia, e precisam rodar na transação que altera o pedido.
+@Repository
+@RequiredArgsConstructor
+public class DashboardAgregadoRepository {
+    // Precisa ser igual ao número de fatias criadas em V12
+    static final int FATIAS_RESUMO_STATUS = 16;
+    // Chave do advisory lock que impede duas reconciliações de aplicarem a mesma correção
+    private static final long CHAVE_RECONCILIACAO = 7_270_001L;
+
+    private static final String INCREMENTAR_STATUS =
+            "INSERT INTO dashboard_resumo_status (status, fatia, quantidade_pedidos, valor_total) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (status, fatia) DO UPDATE SET " +
+            "quantidade_pedidos = dashboard_resumo_status.quantidade_pedidos + EXCLUDED.quantidade_pedidos, " +
+            "valor_total = dashboard_resumo_status.valor_total + EXCLUDED.valor_total";
+    // O CHECK quantidade_pedidos >= 0 vale também para a linha proposta no INSERT ... ON CONFLICT,
+    // então decrementos são UPDATEs (a linha já existe: o pedido foi contado nela)
+    private static final String DECREMENTAR_STATUS =
+            "UPDATE dashboard_resumo_status SET quantidade_pedidos = quantidade_pedidos + ?, valor_total = valor_total + ? " +
+            "WHERE status = ? AND fatia = ?";
+    private static final String INCREMENTAR_VENDAS_PRODUTO =
+            "INSERT INTO dashboard_vendas_produto (produto_id, quantidade_vendida) VALUES (?, ?) " +
+            "ON CONFLICT (produto_id) DO UPDATE SET " +
+            "quantidade_vendida = dashboard_vendas_produto.quantidade_vendida + EXCLUDED.quantidade_vendida";
+    private static final String INCREMENTAR_PEDIDOS_CLIENTE =
+            "INSERT INTO dashboard_pedidos_cliente (cliente_id, quantidade_pedidos) VALUES (?, 1) " +
+            "ON CONFLICT (cliente_id) DO UPDATE SET " +
+            "quantidade_pedidos = dashboard_pedidos_cliente.quantidade_pedidos + 1";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Map<StatusPedido, ResumoStatus> buscarResumoPorStatus() {
+        Map<StatusPedido, ResumoStatus> resumo = new EnumMap<>(StatusPedido.class);
+        jdbcTemplate.query("SELECT status, SUM(quantidade_pedidos) AS quantidade_pedidos, SUM(valor_total) AS valor_total " +
+                "FROM dashboard_resumo_status GROUP BY status", rs -> {
+            resumo.put(StatusPedido.valueOf(rs.getString("status")),
+                    new ResumoStatus(rs.getLong("quantidade_pedidos"), rs.getBigDecimal("valor_total")));
+        });
+        return resumo;
+    }
+
+    public List<TopProductDTO> buscarProdutosMaisVendidos(int limite) {
+        return jdbcTemplate.query(
+                "SELECT pr.nome, v.quantidade_vendida FROM dashboard_vendas_produto v " +
+                "JOIN produtos pr ON pr.id = v.produto_id ORDER BY v.quantidade_vendida DESC LIMIT ?",
+                (rs, i) -> new TopProductDTO(rs.getString("nome"), rs.getLong("quantidade_vendida")),
+                limite);
+    }
+
+    public List<ActiveCustomerDTO> buscarClientesMaisAtivos(int limite) {
+        return jdbcTemplate.query(
+                "SELECT u.nome, c.quantidade_pedidos FROM dashboard_pedidos_cliente c " +
+                "JOIN usuarios u ON u.id = c.cliente_id ORDER BY c.quantidade_pedidos DESC LIMIT ?",
+                (rs, i) -> new ActiveCustomerDTO(rs.getString("nome"), rs.getLong("quantidade_pedidos")),
+                limite);
+    }
+
+    // Cada pedido atualiza sempre a mesma fatia do status, escolhida pelo id
+    public void incrementarStatus(StatusPedido status, Long pedidoId, long quantidadePedidos, BigDecimal valorTotal) {
+        int fatia = Math.floorMod(pedidoId, FATIAS_RESUMO_STATUS);
+        if (quantidadePedidos < 0) {
+            jdbcTemplate.update(DECREMENTAR_STATUS, quantidadePedidos, valorTotal, status.name(), fatia);
+        } else {
+            jdbcTemplate.update(INCREMENTAR_STATUS, status.name(), fatia, quantidadePedidos, valorTotal);
+        }
+    }
+
+    // Ordenado por produto para que pedidos concorrentes travem as linhas sempre na mesma ordem (sem deadlock)
+    public void incrementarVendasProdutos(SortedMap<Long, Integer> quantidadePorProduto) {
+        if (quantidadePorProduto.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<Long, Integer>> entradas = List.copyOf(quantidadePorProduto.entrySet());
+        jdbcTemplate.batchUpdate(INCREMENTAR_VENDAS_PRODUTO, entradas, entradas.size(), (ps, entrada) -> {
+            ps.setLong(1, entrada.getKey());
+            ps.setLong(2, entrada.getValue());
+        });
+    }
+
+    public void incrementarPedidosCliente(Long clienteId) {
+        jdbcTemplate.update(INCREMENTAR_PEDIDOS_CLIENTE, clienteId);
+    }
+
+    // Reconciliação sem lock de tabela. Cada método é uma transação curta com um único comando: o snapshot
+    // do comando vê pedidos e agregados no mesmo ponto (os incrementos são feitos na transação do pedido),
+    // então a diferença entre o valor real e o agregado é só a divergência. A correção é somada como delta,
+    // que comuta com os incrementos de pedidos concorrentes; linhas em dia não são tocadas.
+    // Retornam a quantidade de linhas corrigidas.
+
+    @Transactional
+    public int corrigirResumoPorStatus() {
+        travarReconciliacao();
+        return jdbcTemplate.update(
+                "UPDATE dashboard_resumo_status a SET " +
+                "quantidade_pedidos = a.quantidade_pedidos + d.quantidade, valor_total = a.valor_total + d.valor " +
+                "FROM (SELECT atual.status, atual.fatia, " +
+                "      COALESCE(r.quantidade, 0) - atual.quantidade_pedidos AS quantidade, " +
+                "      COALESCE(r.valor, 0) - atual.valor_total AS valor " +
+                "      FROM dashboard_resumo_status atual " +
+                "      LEFT JOIN (SELECT status, id % ? AS fatia, COUNT(*) AS quantidade, SUM(valor_total) AS valor " +
+                "                 FROM pedidos GROUP BY 1, 2) r ON r.status = atual.status AND r.fatia = atual.fatia) d " +
+                "WHERE a.status = d.status AND a.fatia = d.fatia AND (d.quantidade <> 0 OR d.valor <> 0)",
+                FATIAS_RESUMO_STATUS);
+    }
+
+    @Transactional
+    public int corrigirVendasProdutos() {
+        travarReconciliacao();
+        return jdbcTemplate.update(
+                "INSERT INTO dashboard_vendas_produto (produto_id, quantidade_vendida) " +
+                "SELECT COALESCE(r.produto_id, a.produto_id), COALESCE(r.quantidade, 0) - COALESCE(a.quantidade_vendida, 0) " +
+                "FROM (SELECT produto_id, SUM(quantidade) AS quantidade FROM pedido_itens GROUP BY produto_id) r " +
+                "FULL JOIN dashboard_vendas_produto a ON a.produto_id = r.produto_id " +
+                "WHERE COALESCE(r.quantidade, 0) <> COALESCE(a.quantidade_vendida, 0) " +
+                "ORDER BY 1 " +
+                "ON CONFLICT (produto_id) DO UPDATE SET " +
+                "quantidade_vendida = dashboard_vendas_produto.quantidade_vendida + EXCLUDED.quantidade_vendida");
+    }
+
+    @Transactional
+    public int corrigirPedidosClientes() {
+        travarReconciliacao();
+        return jdbcTemplate.update(
+                "INSERT INTO dashboard_pedidos_cliente (cliente_id, quantidade_pedidos) " +
+                "SELECT COALESCE(r.cliente_id, a.cliente_id), COALESCE(r.quantidade, 0) - COALESCE(a.quantidade_pedidos, 0) " +
+                "FROM (SELECT cliente_id, COUNT(*) AS quantidade FROM pedidos GROUP BY cliente_id) r " +
+                "FULL JOIN dashboard_pedidos_cliente a ON a.cliente_id = r.cliente_id " +
+                "WHERE COALESCE(r.quantidade, 0) <> COALESCE(a.quantidade_pedidos, 0) " +
+                "ORDER BY 1 " +
+                "ON CONFLICT (cliente_id) DO UPDATE SET " +
+                "quantidade_pedidos = dashboard_pedidos_cliente.quantidade_pedidos + EXCLUDED.quantidade_pedidos");
+    }
+
+    // Só uma reconciliação por vez: a seguinte espera e calcula a diferença já com a correção anterior aplicada
+    private void travarReconciliacao() {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(?)", (RowCallbackHandler) rs -> { }, CHAVE_RECONCILIACAO);
+    }
+
+    public record ResumoStatus(long quantidadePedidos, BigDecimal valorTotal) {
+    }
+}
@@ -1,40 +1,46 @@
 package com.logap.teste.gerenciadorbackend.repository;
 
-import com.logap.teste.gerenciadorbackend.dto.dashboard.ActiveCustomerDTO;
-import com.logap.teste.gerenciadorbackend.dto.dashboard.TopProductDTO;
+import com.logap.teste.gerenciadorbackend.dto.response.PedidoResumoResponse;
 import com.logap.teste.gerenciadorbackend.model.Pedido;
-import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
-public interface PedidoRepository extends JpaRepository<Pedido, Integer> {
-    @Query("SELECT p FROM Pedido p JOIN FETCH p.itens WHERE p.id = :id")
+public interface PedidoRepository extends JpaRepository<Pedido, Integer>, PedidoRepositoryCustom {
+    // Cliente e produtos vêm na mesma consulta; sem isso cada produto distinto gerava um SELECT (N+1)
+    @Query("SELECT p FROM Pedido p JOIN FETCH p.cliente JOIN FETCH p.itens i JOIN FETCH i.produto WHERE p.id = :id")
     Optional<Pedido> findByIdWithItens(@Param("id") Long id);
-    List<Pedido> findByCliente_EmailOrderByDataCriacaoDesc(String email);
-    Optional<Pedido> findById(Long id);
 
-    //Consultas Dashboard
-    // Query para calcular o faturamento total de pedidos finalizados
-    @Query("SELECT SUM(p.valorTotal) FROM Pedido p WHERE p.status = 'FINALIZADO'")
-    BigDecimal findTotalFaturamento();
+    // Listagem paginada por cursor (keyset) em dataCriacao/id, ambos decrescentes.
+    // As páginas seguintes partem da última linha retornada em vez de usar OFFSET. A comparação de tupla
+    // vira um row value no Postgres, que o planner usa como limite da varredura nos índices de V6.
+    // Projeção direta no DTO de resumo: um único join com usuarios, sem hidratar Pedido nem Usuario.
+    String SELECT_RESUMO = "SELECT new com.logap.teste.gerenciadorbackend.dto.response.PedidoResumoResponse(" +
+            "p.id, p.dataCriacao, p.valorTotal, p.status, c.nome) FROM Pedido p JOIN p.cliente c ";
+
+    @Query(SELECT_RESUMO + "ORDER BY p.dataCriacao DESC, p.id DESC")
+    List<PedidoResumoResponse> findPrimeiraPagina(Pageable pageable);
 
-    // Query para contar pedidos com um status específico
-    long countByStatus(StatusPedido status);
+    @Query(SELECT_RESUMO +
+            "WHERE (p.dataCriacao, p.id) < (:dataCriacao, :id) " +
+            "ORDER BY p.dataCriacao DESC, p.id DESC")
+    List<PedidoResumoResponse> findPaginaApos(@Param("dataCriacao") Instant dataCriacao, @Param("id") Long id, Pageable pageable);
 
-    // Query para encontrar os 5 produtos mais vendidos
-    @Query("SELECT new com.logap.teste.gerenciadorbackend.dto.dashboard.TopProductDTO(i.produto.nome, SUM(i.quantidade)) " +
-            "FROM ItemPedido i GROUP BY i.produto.nome ORDER BY SUM(i.quantidade) DESC LIMIT 5")
-    List<TopProductDTO> findTop5Produtos();
+    @Query(SELECT_RESUMO + "WHERE c.email = :email ORDER BY p.dataCriacao DESC, p.id DESC")
+    List<PedidoResumoResponse> findPrimeiraPaginaDoCliente(@Param("email") String email, Pageable pageable);
 
-    // Query para encontrar os 5 clientes mais ativos
-    @Query("SELECT new com.logap.teste.gerenciadorbackend.dto.dashboard.ActiveCustomerDTO(p.cliente.nome, COUNT(p)) " +
-            "FROM Pedido p GROUP BY p.cliente.nome ORDER BY COUNT(p) DESC LIMIT 5")
-    List<ActiveCustomerDTO> findTop5Clientes();
+    @Query(SELECT_RESUMO + "WHERE c.email = :email " +
+            "AND (p.dataCriacao, p.id) < (:dataCriacao, :id) " +
+            "ORDER BY p.dataCriacao DESC, p.id DESC")
+    List<PedidoResumoResponse> findPaginaDoClienteApos(@Param("email") String email, @Param("dataCriacao") Instant dataCriacao,
+                                                       @Param("id") Long id, Pageable pageable);
+
+    Optional<Pedido> findById(Long id);
 
     boolean existsByClienteId(Long id);
 }
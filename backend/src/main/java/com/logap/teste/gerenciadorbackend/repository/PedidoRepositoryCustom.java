@@ -0,0 +1,13 @@
+package com.logap.teste.gerenciadorbackend.repository;
+
+import com.logap.teste.gerenciadorbackend.dto.request.FiltroExportacaoPedido;
+import com.logap.teste.gerenciadorbackend.dto.response.PedidoExportacaoResponse;
+
+import java.util.function.Consumer;
+
+public interface PedidoRepositoryCustom {
+    // Percorre os pedidos do filtro com um cursor JDBC somente-leitura, entregando um pedido por vez ao consumidor.
+    // Nenhuma lista é materializada: deve ser chamado dentro de uma transação para que o driver busque em blocos.
+    void percorrerParaExportacao(FiltroExportacaoPedido filtro, boolean incluirItens,
+                                 Consumer<PedidoExportacaoResponse> consumidor);
+}
@@ -0,0 +1,130 @@
+package com.logap.teste.gerenciadorbackend.repository;
+
+import com.logap.teste.gerenciadorbackend.dto.request.FiltroExportacaoPedido;
+import com.logap.teste.gerenciadorbackend.dto.response.ItemPedidoResponse;
+import com.logap.teste.gerenciadorbackend.dto.response.PedidoExportacaoResponse;
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class PedidoRepositoryCustomImpl implements PedidoRepositoryCustom {
+    private static final String COLUNAS_PEDIDO =
+            "SELECT p.id, p.data_criacao, p.status, p.valor_total, u.nome AS nome_cliente, u.email AS email_cliente";
+    private static final String COLUNAS_ITEM =
+            ", i.id AS item_id, pr.nome AS nome_produto, i.quantidade, i.preco_unitario";
+    private static final String JUNCAO_ITENS =
+            " LEFT JOIN pedido_itens i ON i.pedido_id = p.id LEFT JOIN produtos pr ON pr.id = i.produto_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int tamanhoLote;
+
+    public PedidoRepositoryCustomImpl(JdbcTemplate jdbcTemplate,
+                                      @Value("${order.export.fetch-size}") int tamanhoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Override
+    public void percorrerParaExportacao(FiltroExportacaoPedido filtro, boolean incluirItens,
+                                        Consumer<PedidoExportacaoResponse> consumidor) {
+        StringBuilder sql = new StringBuilder(COLUNAS_PEDIDO);
+        if (incluirItens) {
+            sql.append(COLUNAS_ITEM);
+        }
+        sql.append(" FROM pedidos p JOIN usuarios u ON u.id = p.cliente_id");
+        if (incluirItens) {
+            sql.append(JUNCAO_ITENS);
+        }
+
+        List<Object> parametros = new ArrayList<>();
+        List<String> condicoes = new ArrayList<>();
+        if (filtro.status() != null) {
+            condicoes.add("p.status = ?");
+            parametros.add(filtro.status().name());
+        }
+        if (filtro.dataInicio() != null) {
+            condicoes.add("p.data_criacao >= ?");
+            parametros.add(Timestamp.from(filtro.dataInicio()));
+        }
+        if (filtro.dataFim() != null) {
+            condicoes.add("p.data_criacao < ?");
+            parametros.add(Timestamp.from(filtro.dataFim()));
+        }
+        if (!condicoes.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", condicoes));
+        }
+        // Mesma ordenação da listagem por cursor, atendida pelo índice (data_criacao DESC, id DESC)
+        sql.append(" ORDER BY p.data_criacao DESC, p.id DESC");
+        if (incluirItens) {
+            sql.append(", i.id");
+        }
+
+        AgrupadorDePedidos agrupador = new AgrupadorDePedidos(incluirItens, consumidor);
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(tamanhoLote);
+            for (int i = 0; i < parametros.size(); i++) {
+                ps.setObject(i + 1, parametros.get(i));
+            }
+            return ps;
+        }, agrupador);
+        agrupador.finalizar();
+    }
+
+    // Com itens, cada pedido ocupa linhas consecutivas do resultado; só o pedido corrente fica em memória
+    private static final class AgrupadorDePedidos implements RowCallbackHandler {
+        private final boolean incluirItens;
+        private final Consumer<PedidoExportacaoResponse> consumidor;
+        private PedidoExportacaoResponse atual;
+
+        private AgrupadorDePedidos(boolean incluirItens, Consumer<PedidoExportacaoResponse> consumidor) {
+            this.incluirItens = incluirItens;
+            this.consumidor = consumidor;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (atual == null || !atual.id().equals(id)) {
+                finalizar();
+                atual = new PedidoExportacaoResponse(
+                        id,
+                        rs.getTimestamp("data_criacao").toInstant(),
+                        StatusPedido.valueOf(rs.getString("status")),
+                        rs.getBigDecimal("valor_total"),
+                        rs.getString("nome_cliente"),
+                        rs.getString("email_cliente"),
+                        incluirItens ? new ArrayList<>() : null
+                );
+            }
+            if (incluirItens) {
+                long itemId = rs.getLong("item_id");
+                if (!rs.wasNull()) {
+                    atual.itens().add(new ItemPedidoResponse(
+                            itemId,
+                            rs.getString("nome_produto"),
+                            rs.getInt("quantidade"),
+                            rs.getBigDecimal("preco_unitario")
+                    ));
+                }
+            }
+        }
+
+        private void finalizar() {
+            if (atual != null) {
+                consumidor.accept(atual);
+                atual = null;
+            }
+        }
+    }
+}
@@ -1,8 +1,40 @@
 package com.logap.teste.gerenciadorbackend.repository;
 
+import com.logap.teste.gerenciadorbackend.configuration.CacheConfig;
 import com.logap.teste.gerenciadorbackend.model.Produto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+import java.util.Optional;
 
+public interface ProdutoRepository extends JpaRepository<Produto, Long>, ProdutoRepositoryCustom {
+    // Páginas do catálogo (ids e total) ficam no cache de consultas; escritas em produtos pelo Hibernate as invalidam.
+    // Reservas e baixas via JDBC não: uma página ordenada por estoque pode manter a ordem antiga até o TTL da região
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.REGIAO_CATALOGO_PRODUTOS)})
+    Page<Produto> findAll(Pageable pageable);
+
+    // Lê do banco ignorando o cache de segundo nível (e o atualiza): validações de estoque exigem o valor atual
+    @QueryHints({
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "REFRESH")})
+    @Query("SELECT p FROM Produto p WHERE p.id = :id")
+    Optional<Produto> buscarComEstoqueAtual(@Param("id") Long id);
+
+    // O espaço "produtos" restringe a invalidação do cache ao Produto; sem ele o Hibernate limparia todas as regiões
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "produtos"))
+    @Query(value = "UPDATE produtos SET qtd_reservada = qtd_reservada - :quantidade, versao = versao + 1 WHERE id = :id",
+            nativeQuery = true)
+    int liberarReserva(@Param("id") Long id, @Param("quantidade") int quantidade);
 }
@@ -0,0 +1,21 @@
+package com.logap.teste.gerenciadorbackend.repository;
+
+import com.logap.teste.gerenciadorbackend.model.ItemPedido;
+
+import java.util.List;
+
+public interface ProdutoRepositoryCustom {
+    // Decrementa o estoque de cada item apenas se houver saldo disponível (não reservado).
+    // Retorna, na ordem dos itens, a quantidade de linhas afetadas (0 = estoque insuficiente).
+    int[] decrementarEstoque(List<ItemPedido> itens);
+
+    // Reserva a quantidade de cada item apenas se houver saldo disponível.
+    // Retorna, na ordem dos itens, a quantidade de linhas afetadas (0 = estoque insuficiente).
+    int[] reservarEstoque(List<ItemPedido> itens);
+
+    // Baixa do estoque a quantidade já reservada para cada item.
+    void converterReservas(List<ItemPedido> itens);
+
+    // Devolve ao saldo disponível a quantidade reservada para cada item.
+    void liberarReservas(List<ItemPedido> itens);
+}
@@ -0,0 +1,121 @@
+package com.logap.teste.gerenciadorbackend.repository;
+
+import com.logap.teste.gerenciadorbackend.model.ItemPedido;
+import com.logap.teste.gerenciadorbackend.model.Produto;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class ProdutoRepositoryCustomImpl implements ProdutoRepositoryCustom {
+    private static final String DECREMENTAR_ESTOQUE =
+            "UPDATE produtos SET qtd_estoque = qtd_estoque - ?, versao = versao + 1 " +
+            "WHERE id = ? AND qtd_estoque - qtd_reservada >= ?";
+    private static final String RESERVAR_ESTOQUE =
+            "UPDATE produtos SET qtd_reservada = qtd_reservada + ?, versao = versao + 1 " +
+            "WHERE id = ? AND qtd_estoque - qtd_reservada >= ?";
+    private static final String CONVERTER_RESERVA =
+            "UPDATE produtos SET qtd_estoque = qtd_estoque - ?, qtd_reservada = qtd_reservada - ?, versao = versao + 1 " +
+            "WHERE id = ?";
+    private static final String LIBERAR_RESERVA =
+            "UPDATE produtos SET qtd_reservada = qtd_reservada - ?, versao = versao + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public int[] decrementarEstoque(List<ItemPedido> itens) {
+        return atualizarCondicionalmente(DECREMENTAR_ESTOQUE, itens);
+    }
+
+    @Override
+    public int[] reservarEstoque(List<ItemPedido> itens) {
+        return atualizarCondicionalmente(RESERVAR_ESTOQUE, itens);
+    }
+
+    @Override
+    public void converterReservas(List<ItemPedido> itens) {
+        if (itens.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(CONVERTER_RESERVA, ordenarPorProduto(itens), itens.size(), (ps, item) -> {
+            ps.setInt(1, item.getQuantidade());
+            ps.setInt(2, item.getQuantidade());
+            ps.setLong(3, item.getProduto().getId());
+        });
+        invalidarCache(itens);
+    }
+
+    @Override
+    public void liberarReservas(List<ItemPedido> itens) {
+        if (itens.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(LIBERAR_RESERVA, ordenarPorProduto(itens), itens.size(), (ps, item) -> {
+            ps.setInt(1, item.getQuantidade());
+            ps.setLong(2, item.getProduto().getId());
+        });
+        invalidarCache(itens);
+    }
+
+    private int[] atualizarCondicionalmente(String sql, List<ItemPedido> itens) {
+        if (itens.isEmpty()) {
+            return new int[0];
+        }
+        // Um único lote JDBC por pedido; a condição no WHERE torna cada atualização atômica no banco
+        List<ItemPedido> ordenados = ordenarPorProduto(itens);
+        int[] linhasOrdenadas = jdbcTemplate.batchUpdate(sql, ordenados, ordenados.size(), (ps, item) -> {
+            ps.setInt(1, item.getQuantidade());
+            ps.setLong(2, item.getProduto().getId());
+            ps.setInt(3, item.getQuantidade());
+        })[0];
+        invalidarCache(itens);
+
+        // Devolve o resultado na ordem original dos itens, como o chamador espera
+        Map<ItemPedido, Integer> linhasPorItem = new IdentityHashMap<>();
+        for (int i = 0; i < ordenados.size(); i++) {
+            linhasPorItem.put(ordenados.get(i), linhasOrdenadas[i]);
+        }
+        return itens.stream().mapToInt(linhasPorItem::get).toArray();
+    }
+
+    // Ordena por produto para que pedidos concorrentes travem as linhas sempre na mesma ordem (sem deadlock),
+    // qualquer que seja a ordem dos itens no carrinho
+    private static List<ItemPedido> ordenarPorProduto(List<ItemPedido> itens) {
+        return itens.stream()
+                .sorted(Comparator.comparing(item -> item.getProduto().getId()))
+                .toList();
+    }
+
+    // Os UPDATEs via JDBC passam por fora do Hibernate, que não sabe que o estoque mudou. Remove só esses
+    // produtos do cache de segundo nível, agora e de novo ao fim da transação, para que uma leitura concorrente
+    // não devolva ao cache o valor anterior ao commit. As páginas do catálogo guardam apenas ids e total, que
+    // uma reserva não altera: continuam no cache e passam a montar os produtos a partir do valor atual.
+    private void invalidarCache(List<ItemPedido> itens) {
+        Set<Long> ids = itens.stream()
+                .map(item -> item.getProduto().getId())
+                .collect(Collectors.toSet());
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Runnable invalidar = () -> ids.forEach(id -> cache.evictEntityData(Produto.class, id));
+        invalidar.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidar.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.logap.teste.gerenciadorbackend.repository;
+
+import com.logap.teste.gerenciadorbackend.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    // Uma única consulta pelo índice único do hash já traz o usuário para emitir o novo token de acesso
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.usuario WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHashComUsuario(@Param("tokenHash") String tokenHash);
+
+    // Retorna 1 apenas para a primeira chamada: duas renovações concorrentes com o mesmo token não passam juntas
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usadoEm = :agora WHERE r.id = :id AND r.usadoEm IS NULL")
+    int marcarComoUsado(@Param("id") Long id, @Param("agora") Instant agora);
+
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usadoEm = :agora WHERE r.familia = :familia AND r.usadoEm IS NULL")
+    int revogarFamilia(@Param("familia") UUID familia, @Param("agora") Instant agora);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiraEm < :limite")
+    int removerExpiradosAntesDe(@Param("limite") Instant limite);
+}
@@ -0,0 +1,21 @@
+package com.logap.teste.gerenciadorbackend.repository;
+
+import com.logap.teste.gerenciadorbackend.model.ReservaEstoque;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ReservaEstoqueRepository extends JpaRepository<ReservaEstoque, Long>, ReservaEstoqueRepositoryCustom {
+    @Query("SELECT r FROM ReservaEstoque r JOIN FETCH r.produto WHERE r.expiraEm < :agora ORDER BY r.expiraEm")
+    List<ReservaEstoque> findExpiradas(@Param("agora") Instant agora, Pageable pageable);
+
+    // Retorna 1 se a reserva ainda existia e foi removida por esta chamada
+    @Modifying
+    @Query("DELETE FROM ReservaEstoque r WHERE r.id = :id")
+    int removerPorId(@Param("id") Long id);
+}
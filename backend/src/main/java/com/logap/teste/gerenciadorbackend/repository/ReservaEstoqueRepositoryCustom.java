@@ -0,0 +1,12 @@
+package com.logap.teste.gerenciadorbackend.repository;
+
+import com.logap.teste.gerenciadorbackend.model.ItemPedido;
+
+import java.util.List;
+
+public interface ReservaEstoqueRepositoryCustom {
+    // Remove a reserva de cada item do pedido. Quem remove a linha é o dono da reserva,
+    // o que impede que a finalização e a expiração consumam a mesma reserva.
+    // Retorna, na ordem dos itens, 1 quando a reserva existia e foi consumida, 0 caso contrário.
+    int[] consumirReservas(Long pedidoId, List<ItemPedido> itens);
+}
@@ -0,0 +1,26 @@
+package com.logap.teste.gerenciadorbackend.repository;
+
+import com.logap.teste.gerenciadorbackend.model.ItemPedido;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ReservaEstoqueRepositoryCustomImpl implements ReservaEstoqueRepositoryCustom {
+    private static final String CONSUMIR_RESERVA =
+            "DELETE FROM reservas_estoque WHERE pedido_id = ? AND produto_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] consumirReservas(Long pedidoId, List<ItemPedido> itens) {
+        if (itens.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(CONSUMIR_RESERVA, itens, itens.size(), (ps, item) -> {
+            ps.setLong(1, pedidoId);
+            ps.setLong(2, item.getProduto().getId());
+        })[0];
+    }
+}
@@ -0,0 +1,47 @@
+package com.logap.teste.gerenciadorbackend.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class RevogacaoTokenRepository {
+    private static final String REGISTRAR =
+            "INSERT INTO revogacoes_token (usuario_id, versao_minima, revogado_em) VALUES (?, ?, now()) " +
+            "ON CONFLICT (usuario_id) DO UPDATE SET " +
+            "versao_minima = GREATEST(revogacoes_token.versao_minima, EXCLUDED.versao_minima), revogado_em = now()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void registrar(Long usuarioId, int versaoMinima) {
+        jdbcTemplate.update(REGISTRAR, usuarioId, versaoMinima);
+    }
+
+    public Map<Long, Revogacao> buscarRevogadasApos(Instant limite) {
+        Map<Long, Revogacao> revogacoes = new HashMap<>();
+        jdbcTemplate.query("SELECT usuario_id, versao_minima, revogado_em FROM revogacoes_token WHERE revogado_em >= ?",
+                rs -> {
+                    revogacoes.put(rs.getLong("usuario_id"),
+                            new Revogacao(rs.getInt("versao_minima"), rs.getTimestamp("revogado_em").toInstant()));
+                },
+                Timestamp.from(limite));
+        return revogacoes;
+    }
+
+    public int removerAnterioresA(Instant limite) {
+        return jdbcTemplate.update("DELETE FROM revogacoes_token WHERE revogado_em < ?", Timestamp.from(limite));
+    }
+
+    public record Revogacao(int versaoMinima, Instant revogadoEm) {
+        public Revogacao maisRestritiva(Revogacao outra) {
+            return new Revogacao(Math.max(versaoMinima, outra.versaoMinima),
+                    revogadoEm.isAfter(outra.revogadoEm) ? revogadoEm : outra.revogadoEm);
+        }
+    }
+}
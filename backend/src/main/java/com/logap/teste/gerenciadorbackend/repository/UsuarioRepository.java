@@ -3,6 +3,9 @@ package com.logap.teste.gerenciadorbackend.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.logap.teste.gerenciadorbackend.model.Usuario;
 
@@ -10,4 +13,8 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     
    Optional<Usuario> findByEmail(String email);
 
+   @Modifying
+   @Query("UPDATE Usuario u SET u.senha = :senha WHERE u.email = :email")
+   int atualizarSenha(@Param("email") String email, @Param("senha") String senha);
+
 }
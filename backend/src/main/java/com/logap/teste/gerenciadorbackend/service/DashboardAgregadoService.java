@@ -0,0 +1,10 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.model.Pedido;
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+
+public interface DashboardAgregadoService {
+    void registrarPedidoCriado(Pedido pedido);
+    void registrarMudancaDeStatus(Pedido pedido, StatusPedido statusAnterior);
+    void reconciliar();
+}
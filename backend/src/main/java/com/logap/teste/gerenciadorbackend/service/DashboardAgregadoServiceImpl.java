@@ -0,0 +1,69 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.event.DashboardAlteradoEvent;
+import com.logap.teste.gerenciadorbackend.model.ItemPedido;
+import com.logap.teste.gerenciadorbackend.model.Pedido;
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+import com.logap.teste.gerenciadorbackend.repository.DashboardAgregadoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DashboardAgregadoServiceImpl implements DashboardAgregadoService {
+    private final DashboardAgregadoRepository dashboardAgregadoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public void registrarPedidoCriado(Pedido pedido) {
+        SortedMap<Long, Integer> quantidadePorProduto = new TreeMap<>();
+        for (ItemPedido item : pedido.getItens()) {
+            quantidadePorProduto.merge(item.getProduto().getId(), item.getQuantidade(), Integer::sum);
+        }
+        dashboardAgregadoRepository.incrementarVendasProdutos(quantidadePorProduto);
+        dashboardAgregadoRepository.incrementarPedidosCliente(pedido.getCliente().getId());
+        dashboardAgregadoRepository.incrementarStatus(pedido.getStatus(), pedido.getId(), 1, pedido.getValorTotal());
+        eventPublisher.publishEvent(new DashboardAlteradoEvent());
+    }
+
+    @Override
+    @Transactional
+    public void registrarMudancaDeStatus(Pedido pedido, StatusPedido statusAnterior) {
+        if (statusAnterior == pedido.getStatus()) {
+            return;
+        }
+        // Atualiza as duas linhas sempre na ordem do enum, evitando deadlock entre transições concorrentes
+        StatusPedido novoStatus = pedido.getStatus();
+        if (statusAnterior.compareTo(novoStatus) < 0) {
+            dashboardAgregadoRepository.incrementarStatus(statusAnterior, pedido.getId(), -1, pedido.getValorTotal().negate());
+            dashboardAgregadoRepository.incrementarStatus(novoStatus, pedido.getId(), 1, pedido.getValorTotal());
+        } else {
+            dashboardAgregadoRepository.incrementarStatus(novoStatus, pedido.getId(), 1, pedido.getValorTotal());
+            dashboardAgregadoRepository.incrementarStatus(statusAnterior, pedido.getId(), -1, pedido.getValorTotal().negate());
+        }
+        eventPublisher.publishEvent(new DashboardAlteradoEvent());
+    }
+
+    // Sem transação própria: cada tabela é corrigida em uma transação curta no repositório, para não
+    // segurar locks de uma tabela enquanto a próxima é varrida
+    @Override
+    @Scheduled(cron = "${dashboard.aggregates.reconcile-cron}")
+    public void reconciliar() {
+        long inicio = System.nanoTime();
+        int corrigidas = dashboardAgregadoRepository.corrigirResumoPorStatus()
+                + dashboardAgregadoRepository.corrigirVendasProdutos()
+                + dashboardAgregadoRepository.corrigirPedidosClientes();
+        eventPublisher.publishEvent(new DashboardAlteradoEvent());
+        log.info("Agregados do dashboard reconciliados em {} ms; {} linhas corrigidas",
+                (System.nanoTime() - inicio) / 1_000_000, corrigidas);
+    }
+}
@@ -1,7 +1,8 @@
 package com.logap.teste.gerenciadorbackend.service;
 
-import com.logap.teste.gerenciadorbackend.dto.dashboard.DashboardStatsDTO;
+import com.logap.teste.gerenciadorbackend.dto.dashboard.DashboardSnapshot;
 
 public interface DashboardService {
-    DashboardStatsDTO getDashboardStats();
+    DashboardSnapshot obterSnapshot();
+    DashboardSnapshot atualizarSnapshot();
 }
@@ -1,31 +1,80 @@
 package com.logap.teste.gerenciadorbackend.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logap.teste.gerenciadorbackend.dto.dashboard.DashboardSnapshot;
 import com.logap.teste.gerenciadorbackend.dto.dashboard.DashboardStatsDTO;
 import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
-import com.logap.teste.gerenciadorbackend.repository.PedidoRepository;
+import com.logap.teste.gerenciadorbackend.repository.DashboardAgregadoRepository;
+import com.logap.teste.gerenciadorbackend.repository.DashboardAgregadoRepository.ResumoStatus;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
-    private final PedidoRepository pedidoRepository;
+    private static final int LIMITE_RANKING = 5;
+    private static final ResumoStatus RESUMO_VAZIO = new ResumoStatus(0, BigDecimal.ZERO);
 
-    public DashboardStatsDTO getDashboardStats() {
-        BigDecimal faturamentoTotal = pedidoRepository.findTotalFaturamento();
-        Long totalPedidos = pedidoRepository.count();
-        Long pedidosPendentes = pedidoRepository.countByStatus(StatusPedido.EM_ANDAMENTO);
-        var topProdutos = pedidoRepository.findTop5Produtos();
-        var topClientes = pedidoRepository.findTop5Clientes();
+    private final DashboardAgregadoRepository dashboardAgregadoRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicReference<DashboardSnapshot> snapshotAtual = new AtomicReference<>();
+
+    // Leitores recebem o último snapshot pronto; só calculam na hora se nenhum foi gerado ainda (inicialização)
+    @Override
+    @Timed(value = "dashboard.operacoes", histogram = true)
+    public DashboardSnapshot obterSnapshot() {
+        DashboardSnapshot snapshot = snapshotAtual.get();
+        return snapshot != null ? snapshot : atualizarSnapshot();
+    }
+
+    @Override
+    @Timed(value = "dashboard.operacoes", histogram = true)
+    @Transactional(readOnly = true)
+    public DashboardSnapshot atualizarSnapshot() {
+        DashboardStatsDTO stats = calcularEstatisticas();
+        String versao = calcularVersao(stats);
+        // Mantém versão e data quando nada mudou, para que clientes com o ETag atual continuem recebendo 304
+        return snapshotAtual.updateAndGet(anterior ->
+                anterior != null && anterior.versao().equals(versao)
+                        ? anterior
+                        : new DashboardSnapshot(stats, versao, Instant.now()));
+    }
+
+    // Lê apenas os agregados mantidos por DashboardAgregadoService, sem varrer pedidos ou itens
+    private DashboardStatsDTO calcularEstatisticas() {
+        Map<StatusPedido, ResumoStatus> resumo = dashboardAgregadoRepository.buscarResumoPorStatus();
+        long totalPedidos = resumo.values().stream().mapToLong(ResumoStatus::quantidadePedidos).sum();
+        var topProdutos = dashboardAgregadoRepository.buscarProdutosMaisVendidos(LIMITE_RANKING);
+        var topClientes = dashboardAgregadoRepository.buscarClientesMaisAtivos(LIMITE_RANKING);
 
         return new DashboardStatsDTO(
-                faturamentoTotal != null ? faturamentoTotal : BigDecimal.ZERO,
+                resumo.getOrDefault(StatusPedido.FINALIZADO, RESUMO_VAZIO).valorTotal(),
                 totalPedidos,
-                pedidosPendentes,
+                resumo.getOrDefault(StatusPedido.EM_ANDAMENTO, RESUMO_VAZIO).quantidadePedidos(),
                 topProdutos,
                 topClientes
         );
     }
+
+    private String calcularVersao(DashboardStatsDTO stats) {
+        try {
+            byte[] conteudo = objectMapper.writeValueAsBytes(stats);
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(conteudo);
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Não foi possível calcular a versão do dashboard", e);
+        }
+    }
 }
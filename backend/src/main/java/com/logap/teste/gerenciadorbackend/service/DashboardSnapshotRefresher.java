@@ -0,0 +1,63 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.event.DashboardAlteradoEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Reconstrói o snapshot do dashboard em segundo plano, em uma thread virtual própria:
+// periodicamente e logo após cada alteração confirmada nos agregados.
+@Slf4j
+@Component
+public class DashboardSnapshotRefresher {
+    private final DashboardService dashboardService;
+    private final long intervalo;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofVirtual().name("dashboard-snapshot").factory());
+    private final AtomicBoolean atualizacaoPendente = new AtomicBoolean();
+
+    public DashboardSnapshotRefresher(DashboardService dashboardService,
+                                      @Value("${dashboard.snapshot.refresh-interval}") long intervalo) {
+        this.dashboardService = dashboardService;
+        this.intervalo = intervalo;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        executor.scheduleWithFixedDelay(this::atualizar, 0, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    // Várias alterações seguidas geram no máximo uma atualização na fila
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarDashboard(DashboardAlteradoEvent evento) {
+        if (atualizacaoPendente.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                atualizacaoPendente.set(false);
+                atualizar();
+            });
+        }
+    }
+
+    private void atualizar() {
+        try {
+            dashboardService.atualizarSnapshot();
+        } catch (RuntimeException e) {
+            // Mantém o snapshot anterior; a próxima execução tenta novamente
+            log.warn("Falha ao atualizar o snapshot do dashboard", e);
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+}
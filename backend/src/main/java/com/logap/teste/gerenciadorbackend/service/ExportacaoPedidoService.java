@@ -0,0 +1,12 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.dto.request.FiltroExportacaoPedido;
+import com.logap.teste.gerenciadorbackend.model.enums.FormatoExportacao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportacaoPedidoService {
+    void validarFiltro(FiltroExportacaoPedido filtro);
+    void exportar(FiltroExportacaoPedido filtro, FormatoExportacao formato, boolean incluirItens, OutputStream saida) throws IOException;
+}
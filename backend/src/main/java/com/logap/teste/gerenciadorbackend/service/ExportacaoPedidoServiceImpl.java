@@ -0,0 +1,126 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logap.teste.gerenciadorbackend.dto.request.FiltroExportacaoPedido;
+import com.logap.teste.gerenciadorbackend.dto.response.ItemPedidoResponse;
+import com.logap.teste.gerenciadorbackend.dto.response.PedidoExportacaoResponse;
+import com.logap.teste.gerenciadorbackend.exception.BusinessException;
+import com.logap.teste.gerenciadorbackend.exception.MotivoFalhaNegocio;
+import com.logap.teste.gerenciadorbackend.model.enums.FormatoExportacao;
+import com.logap.teste.gerenciadorbackend.repository.PedidoRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+public class ExportacaoPedidoServiceImpl implements ExportacaoPedidoService {
+    private static final String CABECALHO_CSV = "id,dataCriacao,statusPedido,valorTotal,nomeCliente,emailCliente";
+    private static final String CABECALHO_CSV_ITENS = ",itemId,nomeProduto,quantidade,precoUnitario";
+
+    private final PedidoRepository pedidoRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void validarFiltro(FiltroExportacaoPedido filtro) {
+        if (filtro.dataInicio() != null && filtro.dataFim() != null && !filtro.dataInicio().isBefore(filtro.dataFim())) {
+            throw new BusinessException(MotivoFalhaNegocio.DADOS_INVALIDOS, "A data inicial deve ser anterior à data final");
+        }
+    }
+
+    // A transação mantém o cursor do banco aberto enquanto as linhas são escritas na resposta
+    @Override
+    @Transactional(readOnly = true)
+    public void exportar(FiltroExportacaoPedido filtro, FormatoExportacao formato, boolean incluirItens,
+                         OutputStream saida) throws IOException {
+        validarFiltro(filtro);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        Consumer<PedidoExportacaoResponse> escritor;
+        if (formato == FormatoExportacao.CSV) {
+            writer.write(incluirItens ? CABECALHO_CSV + CABECALHO_CSV_ITENS : CABECALHO_CSV);
+            writer.write('\n');
+            escritor = pedido -> escrever(() -> escreverCsv(writer, pedido, incluirItens));
+        } else {
+            escritor = pedido -> escrever(() -> {
+                writer.write(objectMapper.writeValueAsString(pedido));
+                writer.write('\n');
+            });
+        }
+
+        try {
+            pedidoRepository.percorrerParaExportacao(filtro, incluirItens, escritor);
+        } catch (UncheckedIOException e) {
+            // Normalmente o cliente encerrou o download; a transação é desfeita e o cursor fechado
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private void escreverCsv(Writer writer, PedidoExportacaoResponse pedido, boolean incluirItens) throws IOException {
+        String colunasPedido = String.join(",",
+                String.valueOf(pedido.id()),
+                pedido.dataCriacao().toString(),
+                pedido.statusPedido().name(),
+                pedido.valorTotal().toPlainString(),
+                campoCsv(pedido.nomeCliente()),
+                campoCsv(pedido.emailCliente()));
+        if (!incluirItens) {
+            writer.write(colunasPedido);
+            writer.write('\n');
+            return;
+        }
+        if (pedido.itens().isEmpty()) {
+            writer.write(colunasPedido);
+            writer.write(",,,,\n");
+            return;
+        }
+        // Uma linha por item, repetindo as colunas do pedido
+        for (ItemPedidoResponse item : pedido.itens()) {
+            writer.write(colunasPedido);
+            writer.write(',');
+            writer.write(String.join(",",
+                    String.valueOf(item.id()),
+                    campoCsv(item.nomeProduto()),
+                    String.valueOf(item.quantidade()),
+                    item.precoUnitario().toPlainString()));
+            writer.write('\n');
+        }
+    }
+
+    private String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        // Nomes são digitados pelos usuários e o arquivo é aberto em planilhas: um valor começando com =, +, -, @,
+        // tab ou CR viraria fórmula. O apóstrofo faz a planilha tratá-lo como texto
+        if (!valor.isEmpty() && "=+-@\t\r".indexOf(valor.charAt(0)) >= 0) {
+            return "\"'" + valor.replace("\"", "\"\"") + "\"";
+        }
+        if (valor.contains(",") || valor.contains("\"") || valor.contains("\n") || valor.contains("\r")) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+
+    private void escrever(EscritaExportacao escrita) {
+        try {
+            escrita.executar();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface EscritaExportacao {
+        void executar() throws IOException;
+    }
+}
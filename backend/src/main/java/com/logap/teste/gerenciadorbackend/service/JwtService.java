@@ -1,7 +1,14 @@
 package com.logap.teste.gerenciadorbackend.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -14,7 +21,13 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.annotation.Timed;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -22,46 +35,96 @@ import io.jsonwebtoken.security.Keys;
 
 @Service
 public class JwtService {
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_NAME = "name";
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_TOKEN_VERSION = "ver";
+
+    private static final int BYTES_REFRESH_TOKEN = 32;
+
+    private final SecureRandom secureRandom = new SecureRandom();
+    private final SecretKey signInKey;
+    private final JwtParser jwtParser;
+    private final Long jwtExpiration;
+    private final Cache<String, TokenVerificado> tokensVerificados;
+
+    // A chave e o parser são imutáveis e thread-safe: criados uma única vez e reutilizados em todas as requisições
+    public JwtService(@Value("${jwt.secret}") String secret, @Value("${jwt.expiration}") Long jwtExpiration,
+                      @Value("${jwt.verified-cache.maximum-size}") long tamanhoMaximoCache) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.jwtParser = Jwts.parser().verifyWith(signInKey).build();
+        this.jwtExpiration = jwtExpiration;
+        // Cada entrada expira junto com o próprio token; falhas de verificação nunca são guardadas
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfter(Expiry.creating((String chave, TokenVerificado verificado) ->
+                        Duration.ofMillis(Math.max(0, verificado.expiraEmMillis() - System.currentTimeMillis()))))
+                .build();
+    }
 
-    @Value("${jwt.secret}")
-    private String secret;
+    // Verifica assinatura e expiração em um único parse e devolve as claims já validadas.
+    // Tokens inválidos ou expirados lançam JwtException (ex.: ExpiredJwtException, SignatureException).
+    // O mesmo token reapresentado é servido do cache, sem HMAC nem parse do JSON; as claims
+    // devolvidas pelo parser são imutáveis e podem ser compartilhadas entre threads.
+    @Timed(value = "jwt.validacao", histogram = true)
+    public Claims parseAndValidate(String token) {
+        String chave = digest(token);
+        TokenVerificado verificado = tokensVerificados.get(chave, k -> verificar(token));
+        if (verificado.expiraEmMillis() <= System.currentTimeMillis()) {
+            // A remoção pelo cache não é instantânea: depois do exp o parser volta a rejeitar o token
+            tokensVerificados.invalidate(chave);
+            return jwtParser.parseSignedClaims(token).getPayload();
+        }
+        return verificado.claims();
+    }
 
-    @Value("${jwt.expiration}")
-    private Long jwtExpiration;
+    private TokenVerificado verificar(String token) {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        // Sem exp o token não é guardado: a entrada expira na criação
+        long expiraEm = claims.getExpiration() != null ? claims.getExpiration().getTime() : 0;
+        return new TokenVerificado(claims, expiraEm);
+    }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    // SHA-256 em hexadecimal: chave do cache de tokens verificados e forma persistida dos refresh tokens,
+    // para que nem a memória nem o banco retenham credenciais utilizáveis
+    public static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
     }
 
-    public String extractUsername (String token) {
-        return extractClaim(token, Claims::getSubject);
+    private record TokenVerificado(Claims claims, long expiraEmMillis) {
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject() != null && claims.getSubject().equals(userDetails.getUsername());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(parseAndValidate(token), userDetails);
+    }
+
+    public String extractUsername (String token) {
+        return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseAndValidate(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                   .verifyWith(getSignInKey())
-                   .build()
-                   .parseSignedClaims(token)
-                   .getPayload();
+    // Refresh token opaco de 256 bits; por ter alta entropia, um SHA-256 basta para guardá-lo
+    public String gerarRefreshToken() {
+        byte[] bytes = new byte[BYTES_REFRESH_TOKEN];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public long getExpiracaoEmSegundos() {
+        return jwtExpiration / 1000;
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -70,10 +133,13 @@ public class JwtService {
                 .stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList());
-        extraClaims.put("roles", roles);
+        extraClaims.put(CLAIM_ROLES, roles);
 
-        if (userDetails instanceof Usuario){
-            extraClaims.put("name", ((Usuario) userDetails).getNome());
+        // Com id e versão o filtro autentica sem consultar o banco e ainda respeita revogações
+        if (userDetails instanceof Usuario usuario){
+            extraClaims.put(CLAIM_NAME, usuario.getNome());
+            extraClaims.put(CLAIM_USER_ID, usuario.getId());
+            extraClaims.put(CLAIM_TOKEN_VERSION, usuario.getVersaoToken());
         }
 
         return Jwts.builder()
@@ -81,7 +147,7 @@ public class JwtService {
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 }
@@ -0,0 +1,96 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logap.teste.gerenciadorbackend.exception.LimiteDeTentativasException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Token bucket por IP e por email, verificado antes de a tentativa entrar na fila do BCrypt.
+// Baldes sem uso por alguns minutos são descartados, o que limita a memória em ataques distribuídos.
+@Component
+public class LimitadorTentativasLogin {
+    private static final int MAXIMO_BALDES = 100_000;
+    private static final Duration DESCARTE_BALDES_OCIOSOS = Duration.ofMinutes(10);
+
+    private final Cache<String, BaldeDeTokens> baldesPorIp;
+    private final Cache<String, BaldeDeTokens> baldesPorEmail;
+    private final int capacidadeIp;
+    private final int capacidadeEmail;
+    private final Duration intervaloRecargaIp;
+    private final Duration intervaloRecargaEmail;
+    private final MeterRegistry meterRegistry;
+
+    public LimitadorTentativasLogin(@Value("${auth.login.rate-limit.ip.capacity}") int capacidadeIp,
+                                    @Value("${auth.login.rate-limit.ip.refill-per-minute}") int recargaIpPorMinuto,
+                                    @Value("${auth.login.rate-limit.email.capacity}") int capacidadeEmail,
+                                    @Value("${auth.login.rate-limit.email.refill-per-minute}") int recargaEmailPorMinuto,
+                                    MeterRegistry meterRegistry) {
+        this.capacidadeIp = capacidadeIp;
+        this.capacidadeEmail = capacidadeEmail;
+        this.intervaloRecargaIp = Duration.ofMinutes(1).dividedBy(recargaIpPorMinuto);
+        this.intervaloRecargaEmail = Duration.ofMinutes(1).dividedBy(recargaEmailPorMinuto);
+        this.baldesPorIp = novoCacheDeBaldes();
+        this.baldesPorEmail = novoCacheDeBaldes();
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void verificar(String enderecoIp, String email) {
+        consumir(baldesPorIp.get(enderecoIp, ip -> new BaldeDeTokens(capacidadeIp, intervaloRecargaIp)), "ip");
+        String emailNormalizado = email.trim().toLowerCase(Locale.ROOT);
+        consumir(baldesPorEmail.get(emailNormalizado, e -> new BaldeDeTokens(capacidadeEmail, intervaloRecargaEmail)), "email");
+    }
+
+    private void consumir(BaldeDeTokens balde, String chave) {
+        long esperaNanos = balde.consumir(System.nanoTime());
+        if (esperaNanos > 0) {
+            meterRegistry.counter("auth.login.rejeitado", "motivo", "limite_" + chave).increment();
+            long segundos = Math.max(1, Duration.ofNanos(esperaNanos).toSeconds());
+            throw new LimiteDeTentativasException("Muitas tentativas de login. Tente novamente em alguns instantes.", segundos);
+        }
+    }
+
+    private static Cache<String, BaldeDeTokens> novoCacheDeBaldes() {
+        return Caffeine.newBuilder()
+                .maximumSize(MAXIMO_BALDES)
+                .expireAfterAccess(DESCARTE_BALDES_OCIOSOS)
+                .build();
+    }
+
+    static final class BaldeDeTokens {
+        private final int capacidade;
+        private final long nanosPorToken;
+        private final ReentrantLock trava = new ReentrantLock();
+        private double tokens;
+        private long ultimaRecarga;
+
+        BaldeDeTokens(int capacidade, Duration intervaloRecarga) {
+            this.capacidade = capacidade;
+            this.nanosPorToken = intervaloRecarga.toNanos();
+            this.tokens = capacidade;
+            this.ultimaRecarga = System.nanoTime();
+        }
+
+        // Devolve 0 quando havia token disponível, ou quantos nanos faltam para o próximo.
+        // ReentrantLock em vez de synchronized: com threads virtuais, a disputa pelo monitor prenderia a carrier.
+        long consumir(long agora) {
+            trava.lock();
+            try {
+                tokens = Math.min(capacidade, tokens + (double) (agora - ultimaRecarga) / nanosPorToken);
+                ultimaRecarga = agora;
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return 0;
+                }
+                return (long) ((1 - tokens) * nanosPorToken);
+            } finally {
+                trava.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.dto.request.LoginRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.LoginResponse;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface LoginService {
+    CompletableFuture<LoginResponse> autenticar(LoginRequest request, String enderecoIp);
+}
@@ -0,0 +1,79 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.dto.request.LoginRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.LoginResponse;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// O BCrypt consome ~100 ms de CPU por login. Ele roda em um pool pequeno e com fila limitada,
+// separado das threads do Tomcat: um pico de logins espera na fila (ou recebe 503 quando ela
+// enche) sem ocupar os workers que atendem /pedidos e /produtos.
+@Service
+public class LoginServiceImpl implements LoginService {
+    private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final LimitadorTentativasLogin limitadorTentativasLogin;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Timer tempoAutenticacao;
+
+    public LoginServiceImpl(AuthenticationManager authenticationManager,
+                            RefreshTokenService refreshTokenService,
+                            LimitadorTentativasLogin limitadorTentativasLogin,
+                            MeterRegistry meterRegistry,
+                            @Value("${auth.login.executor.threads}") int threads,
+                            @Value("${auth.login.executor.queue-capacity}") int capacidadeFila) {
+        this.authenticationManager = authenticationManager;
+        this.refreshTokenService = refreshTokenService;
+        this.limitadorTentativasLogin = limitadorTentativasLogin;
+        this.meterRegistry = meterRegistry;
+        int tamanhoPool = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(tamanhoPool, tamanhoPool, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadeFila),
+                Thread.ofPlatform().name("login-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Publica executor.queued, executor.active, executor.queue.remaining etc. com name=login
+        new ExecutorServiceMetrics(executor, "login", List.of()).bindTo(meterRegistry);
+        this.tempoAutenticacao = Timer.builder("auth.login.autenticacao")
+                .description("Tempo de verificação da senha e emissão do token")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<LoginResponse> autenticar(LoginRequest request, String enderecoIp) {
+        limitadorTentativasLogin.verificar(enderecoIp, request.email());
+        try {
+            return CompletableFuture.supplyAsync(() -> tempoAutenticacao.record(() -> emitirToken(request)), executor);
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("auth.login.rejeitado", "motivo", "fila_cheia").increment();
+            throw e;
+        }
+    }
+
+    // O principal autenticado já é o usuário carregado pelo provider; não há segunda consulta
+    private LoginResponse emitirToken(LoginRequest request) {
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.email(), request.senha()));
+        return refreshTokenService.iniciarSessao((Usuario) authentication.getPrincipal());
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+}
@@ -1,11 +1,15 @@
 package com.logap.teste.gerenciadorbackend.service;
 
+import com.logap.teste.gerenciadorbackend.configuration.RetryOnOptimisticLock;
+import com.logap.teste.gerenciadorbackend.dto.request.ItemPedidoRequest;
 import com.logap.teste.gerenciadorbackend.dto.request.PedidoRequest;
 import com.logap.teste.gerenciadorbackend.dto.response.ItemPedidoResponse;
+import com.logap.teste.gerenciadorbackend.dto.response.PaginaCursorResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.PedidoCriadoResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.PedidoDetalhadoResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.PedidoResumoResponse;
 import com.logap.teste.gerenciadorbackend.exception.BusinessException;
+import com.logap.teste.gerenciadorbackend.exception.MotivoFalhaNegocio;
 import com.logap.teste.gerenciadorbackend.model.ItemPedido;
 import com.logap.teste.gerenciadorbackend.model.Pedido;
 import com.logap.teste.gerenciadorbackend.model.Produto;
@@ -14,57 +18,95 @@ import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
 import com.logap.teste.gerenciadorbackend.repository.PedidoRepository;
 import com.logap.teste.gerenciadorbackend.repository.ProdutoRepository;
 import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PostAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PedidoServiceImpl implements PedidoService {
+    private static final int LIMITE_MAXIMO_PAGINA = 200;
+
     private final PedidoRepository pedidoRepository;
     private final ProdutoRepository produtoRepository;
     private final UsuarioRepository usuarioRepository;
+    private final ReservaEstoqueService reservaEstoqueService;
+    private final DashboardAgregadoService dashboardAgregadoService;
 
     @Override
+    @Timed(value = "pedidos.operacoes", histogram = true)
     @Transactional
     public PedidoCriadoResponse criarPedido(PedidoRequest request, String emailUsuario) {
         Usuario cliente = usuarioRepository.findByEmail(emailUsuario)
-                .orElseThrow(() -> new BusinessException("Cliente não encontrado"));
+                .orElseThrow(() -> new BusinessException(MotivoFalhaNegocio.NAO_ENCONTRADO, "Cliente não encontrado"));
 
         Pedido pedido = Pedido.builder()
                 .cliente(cliente)
                 .status(StatusPedido.EM_ANDAMENTO)
                 .build();
 
+        // Agrupa linhas repetidas do mesmo produto, preservando a ordem do carrinho
+        Map<Long, Integer> quantidadePorProduto = request.itens().stream()
+                .collect(Collectors.toMap(
+                        ItemPedidoRequest::produtoId,
+                        ItemPedidoRequest::quantidade,
+                        Integer::sum,
+                        LinkedHashMap::new));
+
+        // Carrega todos os produtos do pedido em uma única consulta
+        Map<Long, Produto> produtos = produtoRepository.findAllById(quantidadePorProduto.keySet())
+                .stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
         BigDecimal valorTotal = BigDecimal.ZERO;
 
-        for (var itemRequest : request.itens()) {
-            Produto produto = produtoRepository.findById(itemRequest.produtoId())
-                    .orElseThrow(() -> new BusinessException("Produto não encontrado: " + itemRequest.produtoId()));
+        for (var entrada : quantidadePorProduto.entrySet()) {
+            Long produtoId = entrada.getKey();
+            int quantidade = entrada.getValue();
+
+            Produto produto = produtos.get(produtoId);
+            if (produto == null) {
+                throw new BusinessException(MotivoFalhaNegocio.NAO_ENCONTRADO, "Produto não encontrado: " + produtoId);
+            }
 
-            if (produto.getQuantidadeEstoque() < itemRequest.quantidade()) {
-                throw new BusinessException("Estoque insuficiente para o produto: " + produto.getNome());
+            // Verificação antecipada; a garantia vem da reserva condicional feita após salvar o pedido
+            if (produto.getQuantidadeDisponivel() < quantidade) {
+                throw new BusinessException(MotivoFalhaNegocio.ESTOQUE_INSUFICIENTE, "Estoque insuficiente para o produto: " + produto.getNome());
             }
 
             ItemPedido itemPedido = ItemPedido.builder()
                     .produto(produto)
-                    .quantidade(itemRequest.quantidade())
+                    .quantidade(quantidade)
                     .precoUnitario(produto.getPreco())
                     .build();
 
             pedido.adicionarItem(itemPedido);
 
-            valorTotal = valorTotal.add(produto.getPreco().multiply(BigDecimal.valueOf(itemRequest.quantidade())));
+            valorTotal = valorTotal.add(produto.getPreco().multiply(BigDecimal.valueOf(quantidade)));
         }
 
         pedido.setValorTotal(valorTotal);
 
-        return mapToPedidoCriadoResponse(pedidoRepository.save(pedido));
+        Pedido pedidoSalvo = pedidoRepository.save(pedido);
+        reservaEstoqueService.reservar(pedidoSalvo);
+        dashboardAgregadoService.registrarPedidoCriado(pedidoSalvo);
+
+        return mapToPedidoCriadoResponse(pedidoSalvo);
     }
 
     private PedidoCriadoResponse mapToPedidoCriadoResponse(Pedido save) {
@@ -75,53 +117,105 @@ public class PedidoServiceImpl implements PedidoService {
     }
 
     @Override
-    public List<PedidoResumoResponse> listarTodosOsPedidos() {
-        return pedidoRepository.findAll()
-                .stream()
-                .map(this::mapToResumoResponse)
-                .collect(Collectors.toList());
+    @Timed(value = "pedidos.operacoes", histogram = true)
+    @Transactional(readOnly = true)
+    public PaginaCursorResponse<PedidoResumoResponse> listarTodosOsPedidos(String cursor, int limite) {
+        int tamanho = normalizarLimite(limite);
+        // Busca uma linha a mais para saber se existe próxima página
+        Pageable pagina = PageRequest.of(0, tamanho + 1);
+        List<PedidoResumoResponse> pedidos;
+        if (cursor == null || cursor.isBlank()) {
+            pedidos = pedidoRepository.findPrimeiraPagina(pagina);
+        } else {
+            CursorPedido posicao = decodificarCursor(cursor);
+            pedidos = pedidoRepository.findPaginaApos(posicao.dataCriacao(), posicao.id(), pagina);
+        }
+        return montarPagina(pedidos, tamanho);
     }
 
     @Override
-    public List<PedidoResumoResponse> listarPedidosDoCliente(String emailCliente) {
-        return pedidoRepository.findByCliente_EmailOrderByDataCriacaoDesc(emailCliente)
-                .stream()
-                .map(this::mapToResumoResponse)
-                .collect(Collectors.toList());
+    @Timed(value = "pedidos.operacoes", histogram = true)
+    @Transactional(readOnly = true)
+    public PaginaCursorResponse<PedidoResumoResponse> listarPedidosDoCliente(String emailCliente, String cursor, int limite) {
+        int tamanho = normalizarLimite(limite);
+        Pageable pagina = PageRequest.of(0, tamanho + 1);
+        List<PedidoResumoResponse> pedidos;
+        if (cursor == null || cursor.isBlank()) {
+            pedidos = pedidoRepository.findPrimeiraPaginaDoCliente(emailCliente, pagina);
+        } else {
+            CursorPedido posicao = decodificarCursor(cursor);
+            pedidos = pedidoRepository.findPaginaDoClienteApos(emailCliente, posicao.dataCriacao(), posicao.id(), pagina);
+        }
+        return montarPagina(pedidos, tamanho);
+    }
+
+    private int normalizarLimite(int limite) {
+        return Math.clamp(limite, 1, LIMITE_MAXIMO_PAGINA);
+    }
+
+    private PaginaCursorResponse<PedidoResumoResponse> montarPagina(List<PedidoResumoResponse> pedidos, int tamanho) {
+        boolean possuiProxima = pedidos.size() > tamanho;
+        List<PedidoResumoResponse> pedidosDaPagina = possuiProxima ? List.copyOf(pedidos.subList(0, tamanho)) : pedidos;
+        String proximoCursor = possuiProxima ? codificarCursor(pedidosDaPagina.getLast()) : null;
+        return new PaginaCursorResponse<>(pedidosDaPagina, proximoCursor);
+    }
+
+    // O cursor é opaco para o cliente: posição (dataCriacao, id) da última linha da página em Base64 URL-safe
+    private String codificarCursor(PedidoResumoResponse ultimo) {
+        Instant dataCriacao = ultimo.dataCriacao();
+        String posicao = dataCriacao.getEpochSecond() + ":" + dataCriacao.getNano() + ":" + ultimo.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CursorPedido decodificarCursor(String cursor) {
+        try {
+            String posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = posicao.split(":");
+            if (partes.length != 3) {
+                throw new BusinessException(MotivoFalhaNegocio.DADOS_INVALIDOS, "Cursor de paginação inválido");
+            }
+            Instant dataCriacao = Instant.ofEpochSecond(Long.parseLong(partes[0]), Long.parseLong(partes[1]));
+            return new CursorPedido(dataCriacao, Long.parseLong(partes[2]));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new BusinessException(MotivoFalhaNegocio.DADOS_INVALIDOS, "Cursor de paginação inválido");
+        }
+    }
+
+    private record CursorPedido(Instant dataCriacao, Long id) {
     }
 
     @Override
     @PostAuthorize("returnObject.emailCliente == authentication.name or hasAnyRole('ADMINISTRADOR', 'VENDEDOR')")
+    @Transactional(readOnly = true)
     public PedidoDetalhadoResponse buscarPedidoPorIdComPermissao(Long idPedido) {
         Pedido pedidoEncontrado = pedidoRepository.findByIdWithItens(idPedido)
-                .orElseThrow(() -> new BusinessException("Pedido com id " + idPedido +" não encontrado: "));
+                .orElseThrow(() -> new BusinessException(MotivoFalhaNegocio.NAO_ENCONTRADO, "Pedido com id " + idPedido +" não encontrado: "));
         return mapToPedidoDetalhadoResponse(pedidoEncontrado);
     }
 
     @Override
+    @Timed(value = "pedidos.operacoes", histogram = true)
     @Transactional
+    @RetryOnOptimisticLock
     public PedidoResumoResponse atualizarStatus(Long idPedido, StatusPedido novoStatus) {
         Pedido pedido = pedidoRepository.findById(idPedido)
-                .orElseThrow(() -> new BusinessException("Pedido com id " + idPedido + " não encontrado"));
+                .orElseThrow(() -> new BusinessException(MotivoFalhaNegocio.NAO_ENCONTRADO, "Pedido com id " + idPedido + " não encontrado"));
 
        if(!pedido.getStatus().equals(StatusPedido.EM_ANDAMENTO)) {
            throw new BusinessException("Não é possível atualizar o status de um pedido que não está em andamento");
        }
 
-       // Se o novo status for FINALIZADO, decrementar o estoque
+       // A reserva feita na criação é convertida em baixa de estoque ou devolvida ao saldo
        if (novoStatus == StatusPedido.FINALIZADO) {
-           for (ItemPedido item : pedido.getItens()) {
-               Produto produto = item.getProduto();
-               if (produto.getQuantidadeEstoque() < item.getQuantidade()) {
-                   throw new BusinessException("Estoque insuficiente para o produto: " + produto.getNome());
-               }
-               produto.setQuantidadeEstoque(produto.getQuantidadeEstoque() - item.getQuantidade());
-               produtoRepository.save(produto);
-           }
+           reservaEstoqueService.efetivar(pedido);
+       } else if (novoStatus == StatusPedido.CANCELADO) {
+           reservaEstoqueService.liberar(pedido);
        }
 
+       StatusPedido statusAnterior = pedido.getStatus();
        pedido.setStatus(novoStatus);
        Pedido pedidoAtualizado = pedidoRepository.save(pedido);
+       dashboardAgregadoService.registrarMudancaDeStatus(pedidoAtualizado, statusAnterior);
        return mapToResumoResponse(pedidoAtualizado);
     }
 
@@ -1,6 +1,7 @@
 package com.logap.teste.gerenciadorbackend.service;
 
 import com.logap.teste.gerenciadorbackend.dto.request.ProdutoRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.PaginaCursorResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.ProdutoResponse;
 import com.logap.teste.gerenciadorbackend.model.Produto;
 import org.springframework.data.domain.Page;
@@ -9,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 public interface ProdutoService {
     ProdutoResponse criarProduto(ProdutoRequest produtoRequest);
     Page<ProdutoResponse> listarProdutosPaginado(Pageable pageable);
+    PaginaCursorResponse<ProdutoResponse> buscarProdutos(String termo, String cursor, int limite);
     ProdutoResponse mapToResponse(Produto produto);
     ProdutoResponse atualizarEstoque(Long idProduto, int novaQuantidade);
     void deletarProduto(Long idProduto);
@@ -1,28 +1,46 @@
 package com.logap.teste.gerenciadorbackend.service;
 
+import com.logap.teste.gerenciadorbackend.configuration.RetryOnOptimisticLock;
 import com.logap.teste.gerenciadorbackend.dto.request.ProdutoRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.PaginaCursorResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.ProdutoResponse;
 import com.logap.teste.gerenciadorbackend.exception.BusinessException;
+import com.logap.teste.gerenciadorbackend.exception.MotivoFalhaNegocio;
 import com.logap.teste.gerenciadorbackend.model.ItemPedido;
 import com.logap.teste.gerenciadorbackend.model.Pedido;
 import com.logap.teste.gerenciadorbackend.model.Produto;
+import com.logap.teste.gerenciadorbackend.repository.BuscaProdutoRepository;
+import com.logap.teste.gerenciadorbackend.repository.BuscaProdutoRepository.ProdutoEncontrado;
 import com.logap.teste.gerenciadorbackend.repository.ItemPedidoRepository;
 import com.logap.teste.gerenciadorbackend.repository.ProdutoRepository;
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class ProdutoServiceImpl implements ProdutoService{
+    private static final int LIMITE_MAXIMO_PAGINA = 100;
+    private static final int MAXIMO_PALAVRAS_BUSCA = 8;
+    private static final Pattern PALAVRA = Pattern.compile("[\\p{L}\\p{N}]+");
+
     private final ProdutoRepository produtoRepository;
     private final ItemPedidoRepository itemPedidoRepository;
+    private final BuscaProdutoRepository buscaProdutoRepository;
 
     @Override
+    @Timed(value = "produtos.operacoes", histogram = true)
     public ProdutoResponse criarProduto(ProdutoRequest produtoRequest) {
         Produto produto = Produto.builder()
                 .nome(produtoRequest.nome())
@@ -35,11 +53,81 @@ public class ProdutoServiceImpl implements ProdutoService{
     }
 
     @Override
+    @Timed(value = "produtos.operacoes", histogram = true)
+    @Transactional(readOnly = true)
     public Page<ProdutoResponse> listarProdutosPaginado(Pageable pageable) {
         Page<Produto> produtosPage = produtoRepository.findAll(pageable);
         return produtosPage.map(this::mapToResponse);
     }
 
+    @Override
+    @Timed(value = "produtos.operacoes", histogram = true)
+    @Transactional(readOnly = true)
+    public PaginaCursorResponse<ProdutoResponse> buscarProdutos(String termo, String cursor, int limite) {
+        List<String> palavras = extrairPalavras(termo);
+        if (palavras.isEmpty()) {
+            throw new BusinessException(MotivoFalhaNegocio.DADOS_INVALIDOS, "Informe um termo de busca com letras ou números");
+        }
+        // Cada palavra vira um prefixo ("cam" encontra "camiseta"); como só contém letras e números,
+        // não há como injetar operadores na tsquery
+        String consulta = String.join(" & ", palavras.stream().map(palavra -> palavra + ":*").toList());
+        String termoNormalizado = String.join(" ", palavras);
+
+        int tamanho = Math.clamp(limite, 1, LIMITE_MAXIMO_PAGINA);
+        // Busca uma linha a mais para saber se existe próxima página
+        List<ProdutoEncontrado> encontrados;
+        if (cursor == null || cursor.isBlank()) {
+            encontrados = buscaProdutoRepository.buscarPrimeiraPagina(consulta, termoNormalizado, tamanho + 1);
+        } else {
+            CursorBusca posicao = decodificarCursor(cursor);
+            encontrados = buscaProdutoRepository.buscarPaginaApos(
+                    consulta, termoNormalizado, posicao.relevancia(), posicao.id(), tamanho + 1);
+        }
+
+        boolean possuiProxima = encontrados.size() > tamanho;
+        List<ProdutoEncontrado> daPagina = possuiProxima ? encontrados.subList(0, tamanho) : encontrados;
+        String proximoCursor = possuiProxima ? codificarCursor(daPagina.getLast()) : null;
+        return new PaginaCursorResponse<>(daPagina.stream().map(ProdutoEncontrado::produto).toList(), proximoCursor);
+    }
+
+    private List<String> extrairPalavras(String termo) {
+        if (termo == null) {
+            return List.of();
+        }
+        Matcher matcher = PALAVRA.matcher(termo.toLowerCase(Locale.ROOT));
+        return matcher.results()
+                .map(MatchResult::group)
+                .limit(MAXIMO_PALAVRAS_BUSCA)
+                .toList();
+    }
+
+    // O cursor é opaco para o cliente: posição (relevancia, id) da última linha da página em Base64 URL-safe.
+    // Float.toString devolve o menor texto que volta exatamente ao mesmo float, então a comparação no banco é exata.
+    private String codificarCursor(ProdutoEncontrado ultimo) {
+        String posicao = ultimo.relevancia() + ":" + ultimo.produto().id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private CursorBusca decodificarCursor(String cursor) {
+        try {
+            String posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = posicao.split(":");
+            if (partes.length != 2) {
+                throw new BusinessException(MotivoFalhaNegocio.DADOS_INVALIDOS, "Cursor de paginação inválido");
+            }
+            float relevancia = Float.parseFloat(partes[0]);
+            if (!Float.isFinite(relevancia)) {
+                throw new BusinessException(MotivoFalhaNegocio.DADOS_INVALIDOS, "Cursor de paginação inválido");
+            }
+            return new CursorBusca(relevancia, Long.parseLong(partes[1]));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(MotivoFalhaNegocio.DADOS_INVALIDOS, "Cursor de paginação inválido");
+        }
+    }
+
+    private record CursorBusca(float relevancia, Long id) {
+    }
+
     @Override
     public ProdutoResponse mapToResponse(Produto produto) {
         return new ProdutoResponse(
@@ -52,20 +140,28 @@ public class ProdutoServiceImpl implements ProdutoService{
     }
 
     @Override
+    @Timed(value = "produtos.operacoes", histogram = true)
     @Transactional
+    @RetryOnOptimisticLock
     public ProdutoResponse atualizarEstoque(Long idProduto, int novaQuantidade) {
-        Produto produto = produtoRepository.findById(idProduto).orElseThrow(
-                () -> new BusinessException("Produto não encontrado com o ID: " + idProduto)
+        Produto produto = produtoRepository.buscarComEstoqueAtual(idProduto).orElseThrow(
+                () -> new BusinessException(MotivoFalhaNegocio.NAO_ENCONTRADO, "Produto não encontrado com o ID: " + idProduto)
         );
+        if (novaQuantidade < produto.getQuantidadeReservada()) {
+            throw new BusinessException("A nova quantidade não pode ser menor que a quantidade reservada por pedidos em andamento: "
+                    + produto.getQuantidadeReservada());
+        }
         produto.setQuantidadeEstoque(novaQuantidade);
         Produto produtoAtualizado = produtoRepository.save(produto);
         return mapToResponse(produtoAtualizado);
     }
 
     @Override
+    @Timed(value = "produtos.operacoes", histogram = true)
+    @Transactional
     public void deletarProduto(Long idProduto) {
         produtoRepository.findById(idProduto).orElseThrow(
-                () -> new BusinessException("Produto não encontrado com o ID: " + idProduto)
+                () -> new BusinessException(MotivoFalhaNegocio.NAO_ENCONTRADO, "Produto não encontrado com o ID: " + idProduto)
         );
         List<Pedido> pedidos = itemPedidoRepository.findByProdutoId(idProduto).stream()
                 .map(ItemPedido::getPedido)
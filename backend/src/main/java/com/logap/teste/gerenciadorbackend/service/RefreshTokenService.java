@@ -0,0 +1,12 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.dto.response.LoginResponse;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+
+public interface RefreshTokenService {
+    LoginResponse iniciarSessao(Usuario usuario);
+
+    LoginResponse renovar(String refreshToken);
+
+    void removerExpirados();
+}
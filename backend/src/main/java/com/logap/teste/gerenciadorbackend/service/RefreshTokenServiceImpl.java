@@ -0,0 +1,91 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.dto.response.LoginResponse;
+import com.logap.teste.gerenciadorbackend.exception.RefreshTokenInvalidoException;
+import com.logap.teste.gerenciadorbackend.model.RefreshToken;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.repository.RefreshTokenRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+// Renovar a sessão custa um SHA-256, uma consulta pelo índice do hash e um HMAC, contra ~100 ms de BCrypt
+// de um novo login. Cada refresh token vale uma única vez e é trocado por outro da mesma família.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+    private static final String SESSAO_INVALIDA = "Sessão expirada ou inválida. Faça login novamente.";
+    // Abas do mesmo navegador podem renovar ao mesmo tempo; reuso dentro da janela não é tratado como vazamento
+    private static final Duration JANELA_USO_CONCORRENTE = Duration.ofSeconds(10);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtService jwtService;
+
+    @Value("${jwt.refresh.expiration}")
+    private Long refreshExpiration;
+
+    @Override
+    @Transactional
+    public LoginResponse iniciarSessao(Usuario usuario) {
+        return emitir(usuario, UUID.randomUUID(), Instant.now());
+    }
+
+    // Sem rollback na recusa: a revogação da família precisa ser confirmada mesmo com a exceção
+    @Override
+    @Transactional(dontRollbackOn = RefreshTokenInvalidoException.class)
+    public LoginResponse renovar(String refreshToken) {
+        Instant agora = Instant.now();
+        RefreshToken atual = refreshTokenRepository.findByTokenHashComUsuario(JwtService.digest(refreshToken))
+                .orElseThrow(() -> new RefreshTokenInvalidoException(SESSAO_INVALIDA));
+
+        if (!atual.getExpiraEm().isAfter(agora)) {
+            throw new RefreshTokenInvalidoException(SESSAO_INVALIDA);
+        }
+
+        if (atual.getUsadoEm() != null) {
+            if (atual.getUsadoEm().isBefore(agora.minus(JANELA_USO_CONCORRENTE))) {
+                int revogados = refreshTokenRepository.revogarFamilia(atual.getFamilia(), agora);
+                log.warn("Refresh token reutilizado para o usuário {}; {} token(s) da família revogado(s)",
+                        atual.getUsuario().getId(), revogados);
+            }
+            throw new RefreshTokenInvalidoException(SESSAO_INVALIDA);
+        }
+
+        // Outra requisição trocou o mesmo token entre a leitura e este UPDATE
+        if (refreshTokenRepository.marcarComoUsado(atual.getId(), agora) == 0) {
+            throw new RefreshTokenInvalidoException(SESSAO_INVALIDA);
+        }
+
+        return emitir(atual.getUsuario(), atual.getFamilia(), agora);
+    }
+
+    private LoginResponse emitir(Usuario usuario, UUID familia, Instant agora) {
+        String refreshToken = jwtService.gerarRefreshToken();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .usuario(usuario)
+                .tokenHash(JwtService.digest(refreshToken))
+                .familia(familia)
+                .expiraEm(agora.plusMillis(refreshExpiration))
+                .criadoEm(agora)
+                .build());
+        return new LoginResponse(jwtService.generateToken(usuario), refreshToken, jwtService.getExpiracaoEmSegundos());
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${jwt.refresh.cleanup-cron}")
+    public void removerExpirados() {
+        int removidos = refreshTokenRepository.removerExpiradosAntesDe(Instant.now());
+        if (removidos > 0) {
+            log.info("{} refresh tokens expirados removidos", removidos);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.model.Pedido;
+
+public interface ReservaEstoqueService {
+    void reservar(Pedido pedido);
+    void efetivar(Pedido pedido);
+    void liberar(Pedido pedido);
+    int liberarExpiradas();
+}
@@ -0,0 +1,141 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.exception.BusinessException;
+import com.logap.teste.gerenciadorbackend.exception.MotivoFalhaNegocio;
+import com.logap.teste.gerenciadorbackend.model.ItemPedido;
+import com.logap.teste.gerenciadorbackend.model.Pedido;
+import com.logap.teste.gerenciadorbackend.model.ReservaEstoque;
+import com.logap.teste.gerenciadorbackend.repository.ProdutoRepository;
+import com.logap.teste.gerenciadorbackend.repository.ReservaEstoqueRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@Slf4j
+public class ReservaEstoqueServiceImpl implements ReservaEstoqueService {
+    private static final int LOTE_EXPIRACAO = 500;
+
+    private final ProdutoRepository produtoRepository;
+    private final ReservaEstoqueRepository reservaEstoqueRepository;
+    private final TransactionTemplate transacao;
+    private final long ttl;
+
+    public ReservaEstoqueServiceImpl(ProdutoRepository produtoRepository,
+                                     ReservaEstoqueRepository reservaEstoqueRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${stock.reservation.ttl}") long ttl) {
+        this.produtoRepository = produtoRepository;
+        this.reservaEstoqueRepository = reservaEstoqueRepository;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+    }
+
+    @Override
+    @Transactional
+    public void reservar(Pedido pedido) {
+        List<ItemPedido> itens = pedido.getItens();
+        int[] linhasAtualizadas = produtoRepository.reservarEstoque(itens);
+        for (int i = 0; i < itens.size(); i++) {
+            if (linhasAtualizadas[i] == 0) {
+                throw new BusinessException(MotivoFalhaNegocio.ESTOQUE_INSUFICIENTE, "Estoque insuficiente para o produto: " + itens.get(i).getProduto().getNome());
+            }
+        }
+
+        Instant expiraEm = Instant.now().plusMillis(ttl);
+        List<ReservaEstoque> reservas = itens.stream()
+                .map(item -> ReservaEstoque.builder()
+                        .pedido(pedido)
+                        .produto(item.getProduto())
+                        .quantidade(item.getQuantidade())
+                        .expiraEm(expiraEm)
+                        .build())
+                .toList();
+        reservaEstoqueRepository.saveAll(reservas);
+    }
+
+    @Override
+    @Transactional
+    public void efetivar(Pedido pedido) {
+        List<ItemPedido> reservados = new ArrayList<>();
+        List<ItemPedido> semReserva = new ArrayList<>();
+        separarPorReserva(pedido, reservados, semReserva);
+
+        // Itens reservados já têm o saldo garantido: apenas convertem a reserva em baixa de estoque
+        produtoRepository.converterReservas(reservados);
+
+        // Itens cuja reserva expirou (ou pedidos anteriores às reservas) disputam o saldo disponível
+        int[] linhasAtualizadas = produtoRepository.decrementarEstoque(semReserva);
+        for (int i = 0; i < semReserva.size(); i++) {
+            if (linhasAtualizadas[i] == 0) {
+                throw new BusinessException(MotivoFalhaNegocio.ESTOQUE_INSUFICIENTE, "Estoque insuficiente para o produto: " + semReserva.get(i).getProduto().getNome());
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public void liberar(Pedido pedido) {
+        List<ItemPedido> reservados = new ArrayList<>();
+        separarPorReserva(pedido, reservados, new ArrayList<>());
+        produtoRepository.liberarReservas(reservados);
+    }
+
+    // Cada reserva é liberada em uma transação curta, em ordem de produto como os pedidos fazem: a limpeza
+    // nunca segura o lock de vários produtos de uma vez nem os trava em ordem diferente de reservar/efetivar
+    @Override
+    @Scheduled(fixedDelayString = "${stock.reservation.cleanup-interval}")
+    public int liberarExpiradas() {
+        List<ReservaEstoque> expiradas = reservaEstoqueRepository.findExpiradas(
+                Instant.now(), PageRequest.of(0, LOTE_EXPIRACAO)).stream()
+                .sorted(Comparator.comparing((ReservaEstoque reserva) -> reserva.getProduto().getId())
+                        .thenComparing(ReservaEstoque::getId))
+                .toList();
+
+        int liberadas = 0;
+        for (ReservaEstoque reserva : expiradas) {
+            if (Boolean.TRUE.equals(transacao.execute(status -> liberarExpirada(reserva)))) {
+                liberadas++;
+            }
+        }
+
+        if (liberadas > 0) {
+            log.info("{} reservas de estoque expiradas foram liberadas", liberadas);
+        }
+        return liberadas;
+    }
+
+    // Só devolve o saldo se esta execução for a que removeu a reserva
+    private boolean liberarExpirada(ReservaEstoque reserva) {
+        if (reservaEstoqueRepository.removerPorId(reserva.getId()) != 1) {
+            return false;
+        }
+        produtoRepository.liberarReserva(reserva.getProduto().getId(), reserva.getQuantidade());
+        return true;
+    }
+
+    private void separarPorReserva(Pedido pedido, List<ItemPedido> reservados, List<ItemPedido> semReserva) {
+        List<ItemPedido> itens = pedido.getItens();
+        if (itens.isEmpty()) {
+            return;
+        }
+        int[] consumidas = reservaEstoqueRepository.consumirReservas(pedido.getId(), itens);
+        for (int i = 0; i < itens.size(); i++) {
+            if (consumidas[i] > 0) {
+                reservados.add(itens.get(i));
+            } else {
+                semReserva.add(itens.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+public interface RevogacaoTokenService {
+    void revogarTokensAnteriores(Long usuarioId, int versaoMinima);
+    void revogarTodosOsTokens(Long usuarioId);
+    boolean isRevogado(Long usuarioId, int versaoToken);
+    void sincronizar();
+}
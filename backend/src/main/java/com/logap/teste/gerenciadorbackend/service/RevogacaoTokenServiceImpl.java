@@ -0,0 +1,60 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.repository.RevogacaoTokenRepository;
+import com.logap.teste.gerenciadorbackend.repository.RevogacaoTokenRepository.Revogacao;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Mantém em memória a menor versão de token aceita por usuário, para que o filtro JWT valide
+// revogações sem consultar o banco. Alterações feitas nesta instância valem na hora; as das demais
+// chegam pela sincronização periódica. Só revogações mais novas que a validade do token importam.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RevogacaoTokenServiceImpl implements RevogacaoTokenService {
+    private final RevogacaoTokenRepository revogacaoTokenRepository;
+    private final Map<Long, Revogacao> revogacoesPorUsuario = new ConcurrentHashMap<>();
+
+    @Value("${jwt.expiration}")
+    private Long jwtExpiration;
+
+    @Override
+    public void revogarTokensAnteriores(Long usuarioId, int versaoMinima) {
+        revogacaoTokenRepository.registrar(usuarioId, versaoMinima);
+        // Se a transação for desfeita, o usuário apenas precisa fazer login novamente
+        revogacoesPorUsuario.merge(usuarioId, new Revogacao(versaoMinima, Instant.now()), Revogacao::maisRestritiva);
+    }
+
+    @Override
+    public void revogarTodosOsTokens(Long usuarioId) {
+        revogarTokensAnteriores(usuarioId, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isRevogado(Long usuarioId, int versaoToken) {
+        Revogacao revogacao = revogacoesPorUsuario.get(usuarioId);
+        return revogacao != null && versaoToken < revogacao.versaoMinima();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval}")
+    public void sincronizar() {
+        Instant limite = Instant.now().minusMillis(jwtExpiration);
+        revogacaoTokenRepository.buscarRevogadasApos(limite)
+                .forEach((usuarioId, revogacao) -> revogacoesPorUsuario.merge(usuarioId, revogacao, Revogacao::maisRestritiva));
+        // Tokens emitidos antes de uma revogação fora da janela de validade já expiraram
+        revogacoesPorUsuario.values().removeIf(revogacao -> revogacao.revogadoEm().isBefore(limite));
+
+        int removidas = revogacaoTokenRepository.removerAnterioresA(limite);
+        if (removidas > 0) {
+            log.debug("{} revogações de token expiradas removidas", removidas);
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package com.logap.teste.gerenciadorbackend.service;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import com.logap.teste.gerenciadorbackend.configuration.CacheConfig;
+import com.logap.teste.gerenciadorbackend.event.UsuarioAlteradoEvent;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
 import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
 
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailServiceImpl implements UserDetailsService {
+public class UserDetailServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     private final UsuarioRepository usuarioRepository;
 
     @Override
@@ -20,4 +30,39 @@ public class UserDetailServiceImpl implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + username));
     }
 
+    // Usado pelo filtro JWT a cada requisição. Guarda uma cópia imutável, sem o hash da senha,
+    // em vez da entidade; o login continua lendo direto do banco por loadUserByUsername.
+    @Cacheable(cacheNames = CacheConfig.CACHE_USUARIOS, key = "#email")
+    public UserDetails carregarParaAutenticacao(String email) {
+        UserDetails usuario = loadUserByUsername(email);
+        return User.withUsername(usuario.getUsername())
+                .password("")
+                .authorities(usuario.getAuthorities())
+                .accountExpired(!usuario.isAccountNonExpired())
+                .accountLocked(!usuario.isAccountNonLocked())
+                .credentialsExpired(!usuario.isCredentialsNonExpired())
+                .disabled(!usuario.isEnabled())
+                .build();
+    }
+
+    // Chamado pelo DaoAuthenticationProvider quando o hash guardado está desatualizado. Atualiza só
+    // a coluna da senha, sem passar pelo fluxo de edição de usuário, e devolve o mesmo principal do login.
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        usuarioRepository.atualizarSenha(user.getUsername(), newPassword);
+        if (user instanceof Usuario usuario) {
+            usuario.setSenha(newPassword);
+            return usuario;
+        }
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+
+    // Após o commit, para que uma leitura concorrente não recoloque no cache o perfil antigo.
+    // Publicado fora de transação (ex.: testes), invalida na hora
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @CacheEvict(cacheNames = CacheConfig.CACHE_USUARIOS, key = "#evento.email")
+    public void invalidar(UsuarioAlteradoEvent evento) {
+    }
+
 }
@@ -3,13 +3,17 @@ package com.logap.teste.gerenciadorbackend.service;
 import com.logap.teste.gerenciadorbackend.dto.request.UsuarioCreateRequest;
 import com.logap.teste.gerenciadorbackend.dto.response.UsuarioResponse;
 import com.logap.teste.gerenciadorbackend.dto.request.UsuarioUpdateRequest;
+import com.logap.teste.gerenciadorbackend.event.UsuarioAlteradoEvent;
 import com.logap.teste.gerenciadorbackend.exception.BusinessException;
+import com.logap.teste.gerenciadorbackend.exception.MotivoFalhaNegocio;
 import com.logap.teste.gerenciadorbackend.model.Usuario;
 import com.logap.teste.gerenciadorbackend.repository.PedidoRepository;
 import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -20,11 +24,13 @@ public class UsuarioServiceImpl implements UsuarioService {
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder encoder;
     private final PedidoRepository pedidoRepository;
+    private final RevogacaoTokenService revogacaoTokenService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UsuarioResponse criarUsuario(UsuarioCreateRequest request) {
         if (usuarioRepository.findByEmail(request.email()).isPresent()) {
-            throw new BusinessException("Email já cadastrado.");
+            throw new BusinessException(MotivoFalhaNegocio.DADO_DUPLICADO, "Email já cadastrado.");
         }
 
         Usuario novoUsuario = new Usuario();
@@ -38,29 +44,38 @@ public class UsuarioServiceImpl implements UsuarioService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UsuarioResponse> listarUsuarios() {
         return usuarioRepository.findAll().stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    // Perfil, versão do token e revogação no mesmo commit: se a revogação falhar, nada muda
     @Override
+    @Transactional
     public UsuarioResponse atualizarRoleUsuario(Long idUsuario, UsuarioUpdateRequest request, String adminEmail) {
         Usuario usuario = usuarioRepository.findById(idUsuario)
-                .orElseThrow(() -> new BusinessException("Usuário não encontrado com ID: " + idUsuario));
+                .orElseThrow(() -> new BusinessException(MotivoFalhaNegocio.NAO_ENCONTRADO, "Usuário não encontrado com ID: " + idUsuario));
 
         if (usuario.getEmail().equals(adminEmail)) {
             throw new BusinessException("Você não pode alterar seu próprio perfil de administrador.");
         }
 
         usuario.setPerfil(request.perfil());
-        return mapToResponse(usuarioRepository.save(usuario));
+        // Tokens emitidos com o perfil antigo deixam de valer, já que as roles viajam nas claims
+        usuario.setVersaoToken(usuario.getVersaoToken() + 1);
+        Usuario usuarioAtualizado = usuarioRepository.save(usuario);
+        revogacaoTokenService.revogarTokensAnteriores(usuarioAtualizado.getId(), usuarioAtualizado.getVersaoToken());
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(usuarioAtualizado.getEmail()));
+        return mapToResponse(usuarioAtualizado);
     }
 
     @Override
+    @Transactional
     public void deletarUsuario(Long idUsuario, String adminEmail) {
         Usuario usuarioASerDeletado = usuarioRepository.findById(idUsuario)
-                .orElseThrow(() -> new BusinessException("Usuário não encontrado com ID: " + idUsuario));
+                .orElseThrow(() -> new BusinessException(MotivoFalhaNegocio.NAO_ENCONTRADO, "Usuário não encontrado com ID: " + idUsuario));
         boolean usuarioPossuiPedidos = pedidoRepository.existsByClienteId(usuarioASerDeletado.getId());
 
         if (usuarioPossuiPedidos) {
@@ -73,6 +88,8 @@ public class UsuarioServiceImpl implements UsuarioService {
         }
 
         usuarioRepository.deleteById(usuarioASerDeletado.getId());
+        revogacaoTokenService.revogarTodosOsTokens(usuarioASerDeletado.getId());
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent(usuarioASerDeletado.getEmail()));
     }
 
     private UsuarioResponse mapToResponse(Usuario usuarioCriado) {
@@ -0,0 +1,63 @@
+-- ========= BUSCA TEXTUAL NO CATÁLOGO DE PRODUTOS =========
+-- A coluna busca guarda o tsvector de nome (peso A) e descricao (peso B) sem acentos, mantido
+-- por trigger a cada INSERT/UPDATE. pg_trgm atende a busca tolerante a erros de digitação
+-- sobre o nome. Os índices ficam em V11, criados com CONCURRENTLY fora de transação.
+--
+-- Uma coluna GENERATED ... STORED reescreveria a tabela inteira sob ACCESS EXCLUSIVE, travando
+-- leituras e escritas do catálogo durante a migração. Aqui a coluna entra nula (só metadados), o
+-- trigger passa a cobrir as linhas novas e alteradas, e as existentes são preenchidas em lotes com
+-- COMMIT a cada lote, o que mantém os bloqueios de linha curtos. Por isso esta migração roda fora
+-- de transação (V10__Produtos_busca_textual.sql.conf).
+
+CREATE EXTENSION IF NOT EXISTS unaccent;
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- unaccent() é STABLE (depende do dicionário); com o dicionário fixo o resultado não muda,
+-- o que permite usá-la em índices de expressão
+CREATE OR REPLACE FUNCTION imutavel_unaccent(texto TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$ SELECT public.unaccent('public.unaccent'::regdictionary, texto) $$;
+
+CREATE OR REPLACE FUNCTION produtos_vetor_busca(nome TEXT, descricao TEXT) RETURNS TSVECTOR
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$
+    SELECT setweight(to_tsvector('portuguese', imutavel_unaccent(coalesce(nome, ''))), 'A') ||
+           setweight(to_tsvector('portuguese', imutavel_unaccent(coalesce(descricao, ''))), 'B')
+$$;
+
+ALTER TABLE produtos ADD COLUMN IF NOT EXISTS busca TSVECTOR;
+
+COMMENT ON COLUMN produtos.busca IS 'Vetor de busca textual de nome e descricao, mantido pelo trigger trg_produtos_busca.';
+
+CREATE OR REPLACE FUNCTION produtos_atualizar_busca() RETURNS TRIGGER
+    LANGUAGE plpgsql
+AS $$
+BEGIN
+    NEW.busca := produtos_vetor_busca(NEW.nome, NEW.descricao);
+    RETURN NEW;
+END
+$$;
+
+DROP TRIGGER IF EXISTS trg_produtos_busca ON produtos;
+CREATE TRIGGER trg_produtos_busca
+    BEFORE INSERT OR UPDATE OF nome, descricao ON produtos
+    FOR EACH ROW EXECUTE FUNCTION produtos_atualizar_busca();
+
+-- Preenchimento das linhas que já existiam, em faixas de id. O UPDATE só toca a coluna busca,
+-- então não dispara o trigger; linhas alteradas no meio do caminho já vêm preenchidas por ele.
+DO $$
+DECLARE
+    tamanho_lote CONSTANT BIGINT := 5000;
+    inicio BIGINT := 0;
+    maior_id BIGINT;
+BEGIN
+    SELECT coalesce(max(id), 0) INTO maior_id FROM produtos;
+    WHILE inicio < maior_id LOOP
+        UPDATE produtos
+           SET busca = produtos_vetor_busca(nome, descricao)
+         WHERE id > inicio AND id <= inicio + tamanho_lote AND busca IS NULL;
+        inicio := inicio + tamanho_lote;
+        COMMIT;
+    END LOOP;
+END
+$$;
@@ -0,0 +1,11 @@
+-- ========= ÍNDICES PARA BUSCA TEXTUAL EM PRODUTOS =========
+-- GIN sobre o tsvector para as buscas por palavra e prefixo, e GIN de trigramas sobre o nome
+-- normalizado (minúsculas, sem acentos) para encontrar termos digitados com erro.
+-- Criados com CONCURRENTLY para não bloquear escritas em tabelas grandes; o Flyway executa
+-- esta migração fora de transação.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_produtos_busca
+    ON produtos USING GIN (busca);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_produtos_nome_trgm
+    ON produtos USING GIN (imutavel_unaccent(lower(nome)) gin_trgm_ops);
@@ -0,0 +1,21 @@
+-- ========= FATIAS NO RESUMO POR STATUS DO DASHBOARD =========
+-- Com uma linha por status, todo pedido criado atualizava a mesma linha de EM_ANDAMENTO e segurava
+-- o lock até o commit, serializando a criação de pedidos. Cada status passa a ter 16 linhas (fatias);
+-- o pedido usa a fatia id % 16 e a leitura soma as fatias. Como o pedido fica sempre na mesma fatia,
+-- cada linha continua com quantidade_pedidos >= 0.
+
+ALTER TABLE dashboard_resumo_status ADD COLUMN fatia SMALLINT NOT NULL DEFAULT 0 CHECK (fatia >= 0);
+ALTER TABLE dashboard_resumo_status DROP CONSTRAINT dashboard_resumo_status_pkey;
+ALTER TABLE dashboard_resumo_status ADD PRIMARY KEY (status, fatia);
+
+COMMENT ON COLUMN dashboard_resumo_status.fatia IS 'id do pedido % 16; o total do status é a soma das fatias.';
+
+-- Redistribui os totais atuais e cria todas as linhas: decrementos são UPDATEs e precisam da linha existente
+DELETE FROM dashboard_resumo_status;
+
+INSERT INTO dashboard_resumo_status (status, fatia, quantidade_pedidos, valor_total)
+SELECT s.status, f.fatia, COUNT(p.id), COALESCE(SUM(p.valor_total), 0)
+FROM (VALUES ('EM_ANDAMENTO'), ('FINALIZADO'), ('CANCELADO')) AS s(status)
+CROSS JOIN generate_series(0, 15) AS f(fatia)
+LEFT JOIN pedidos p ON p.status = s.status AND p.id % 16 = f.fatia
+GROUP BY s.status, f.fatia;
@@ -0,0 +1,31 @@
+-- ========= IDS POR SEQUENCE (PERMITE INSERTS EM LOTE PELO HIBERNATE) =========
+-- Colunas IDENTITY obrigam o Hibernate a executar cada INSERT isoladamente para obter o id gerado.
+-- Com sequences de incremento 50 o Hibernate reserva os ids em memória (otimizador pooled)
+-- e envia os inserts de um pedido e seus itens em lote.
+
+CREATE SEQUENCE usuarios_seq INCREMENT BY 50;
+CREATE SEQUENCE produtos_seq INCREMENT BY 50;
+CREATE SEQUENCE pedidos_seq INCREMENT BY 50;
+CREATE SEQUENCE pedido_itens_seq INCREMENT BY 50;
+
+-- Posiciona cada sequence um bloco acima do maior id existente para não colidir com os dados atuais
+SELECT setval('usuarios_seq', COALESCE((SELECT MAX(id) FROM usuarios), 0) + 50);
+SELECT setval('produtos_seq', COALESCE((SELECT MAX(id) FROM produtos), 0) + 50);
+SELECT setval('pedidos_seq', COALESCE((SELECT MAX(id) FROM pedidos), 0) + 50);
+SELECT setval('pedido_itens_seq', COALESCE((SELECT MAX(id) FROM pedido_itens), 0) + 50);
+
+ALTER TABLE usuarios ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE produtos ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE pedidos ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE pedido_itens ALTER COLUMN id DROP IDENTITY;
+
+-- Inserts feitos direto no banco continuam recebendo id automaticamente
+ALTER TABLE usuarios ALTER COLUMN id SET DEFAULT nextval('usuarios_seq');
+ALTER TABLE produtos ALTER COLUMN id SET DEFAULT nextval('produtos_seq');
+ALTER TABLE pedidos ALTER COLUMN id SET DEFAULT nextval('pedidos_seq');
+ALTER TABLE pedido_itens ALTER COLUMN id SET DEFAULT nextval('pedido_itens_seq');
+
+ALTER SEQUENCE usuarios_seq OWNED BY usuarios.id;
+ALTER SEQUENCE produtos_seq OWNED BY produtos.id;
+ALTER SEQUENCE pedidos_seq OWNED BY pedidos.id;
+ALTER SEQUENCE pedido_itens_seq OWNED BY pedido_itens.id;
@@ -0,0 +1,9 @@
+-- ========= CONTROLE DE CONCORRÊNCIA OTIMISTA =========
+-- A coluna versao é incrementada a cada atualização; gravações feitas a partir de uma
+-- leitura desatualizada falham em vez de sobrescrever silenciosamente a alteração concorrente.
+
+ALTER TABLE produtos ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE pedidos ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN produtos.versao IS 'Versão da linha para controle de concorrência otimista.';
+COMMENT ON COLUMN pedidos.versao IS 'Versão da linha para controle de concorrência otimista.';
@@ -0,0 +1,38 @@
+-- ========= RESERVA DE ESTOQUE =========
+-- qtd_reservada guarda o total reservado por pedidos em andamento; o saldo disponível para
+-- novos pedidos é qtd_estoque - qtd_reservada. O contador só é alterado por UPDATEs condicionais.
+
+ALTER TABLE produtos ADD COLUMN qtd_reservada INT NOT NULL DEFAULT 0;
+ALTER TABLE produtos ADD CONSTRAINT chk_produtos_qtd_reservada
+    CHECK (qtd_reservada >= 0 AND qtd_reservada <= qtd_estoque);
+
+COMMENT ON COLUMN produtos.qtd_reservada IS 'Quantidade reservada por pedidos em andamento e ainda não baixada do estoque.';
+
+CREATE SEQUENCE reservas_estoque_seq INCREMENT BY 50;
+
+CREATE TABLE reservas_estoque (
+    id BIGINT PRIMARY KEY DEFAULT nextval('reservas_estoque_seq'),
+    pedido_id BIGINT NOT NULL,
+    produto_id BIGINT NOT NULL,
+    quantidade INT NOT NULL CHECK (quantidade > 0),
+    expira_em TIMESTAMPTZ NOT NULL,
+
+    CONSTRAINT fk_reserva_pedido
+        FOREIGN KEY(pedido_id)
+        REFERENCES pedidos(id)
+        ON DELETE CASCADE,
+
+    CONSTRAINT fk_reserva_produto
+        FOREIGN KEY(produto_id)
+        REFERENCES produtos(id)
+        ON DELETE RESTRICT,
+
+    CONSTRAINT uk_reserva_pedido_produto UNIQUE (pedido_id, produto_id)
+);
+
+ALTER SEQUENCE reservas_estoque_seq OWNED BY reservas_estoque.id;
+
+COMMENT ON TABLE reservas_estoque IS 'Reservas ativas de estoque feitas na criação do pedido. A linha é removida ao finalizar, cancelar ou expirar.';
+COMMENT ON COLUMN reservas_estoque.expira_em IS 'Momento a partir do qual a reserva pode ser liberada automaticamente.';
+
+CREATE INDEX idx_reservas_estoque_expira_em ON reservas_estoque(expira_em);
@@ -0,0 +1,14 @@
+-- ========= ÍNDICES PARA PAGINAÇÃO POR CURSOR EM PEDIDOS =========
+-- A listagem ordena por (data_criacao DESC, id DESC) e continua a partir da última linha lida,
+-- então cada página é uma varredura curta do índice, independente do tamanho da tabela.
+-- Criados com CONCURRENTLY para não bloquear escritas em tabelas grandes; o Flyway executa
+-- esta migração fora de transação.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pedidos_data_criacao_id
+    ON pedidos (data_criacao DESC, id DESC);
+
+-- Substitui idx_pedidos_cliente_id: o prefixo cliente_id continua atendendo a FK e as buscas por cliente
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pedidos_cliente_data_criacao_id
+    ON pedidos (cliente_id, data_criacao DESC, id DESC);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_pedidos_cliente_id;
@@ -0,0 +1,54 @@
+-- ========= AGREGADOS DO DASHBOARD =========
+-- Mantidos na mesma transação que cria o pedido ou altera seu status, para que o dashboard
+-- leia poucas linhas em vez de agrupar pedidos e itens a cada requisição.
+-- Podem ser reconstruídos a partir de pedidos/pedido_itens pela rotina de reconciliação.
+
+CREATE TABLE dashboard_resumo_status (
+    status VARCHAR(50) PRIMARY KEY CHECK (status IN ('EM_ANDAMENTO', 'FINALIZADO', 'CANCELADO')),
+    quantidade_pedidos BIGINT NOT NULL DEFAULT 0 CHECK (quantidade_pedidos >= 0),
+    valor_total DECIMAL(14, 2) NOT NULL DEFAULT 0
+);
+
+COMMENT ON TABLE dashboard_resumo_status IS 'Quantidade de pedidos e soma de valor_total por status.';
+
+CREATE TABLE dashboard_vendas_produto (
+    produto_id BIGINT PRIMARY KEY,
+    quantidade_vendida BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT fk_dashboard_vendas_produto
+        FOREIGN KEY(produto_id)
+        REFERENCES produtos(id)
+        ON DELETE CASCADE
+);
+
+COMMENT ON TABLE dashboard_vendas_produto IS 'Unidades pedidas de cada produto, em pedidos de qualquer status.';
+
+CREATE INDEX idx_dashboard_vendas_produto_quantidade ON dashboard_vendas_produto (quantidade_vendida DESC);
+
+CREATE TABLE dashboard_pedidos_cliente (
+    cliente_id BIGINT PRIMARY KEY,
+    quantidade_pedidos BIGINT NOT NULL DEFAULT 0,
+
+    CONSTRAINT fk_dashboard_pedidos_cliente
+        FOREIGN KEY(cliente_id)
+        REFERENCES usuarios(id)
+        ON DELETE CASCADE
+);
+
+COMMENT ON TABLE dashboard_pedidos_cliente IS 'Quantidade de pedidos feitos por cada cliente, em qualquer status.';
+
+CREATE INDEX idx_dashboard_pedidos_cliente_quantidade ON dashboard_pedidos_cliente (quantidade_pedidos DESC);
+
+-- ========= CARGA INICIAL =========
+
+INSERT INTO dashboard_resumo_status (status, quantidade_pedidos, valor_total)
+SELECT s.status, COUNT(p.id), COALESCE(SUM(p.valor_total), 0)
+FROM (VALUES ('EM_ANDAMENTO'), ('FINALIZADO'), ('CANCELADO')) AS s(status)
+LEFT JOIN pedidos p ON p.status = s.status
+GROUP BY s.status;
+
+INSERT INTO dashboard_vendas_produto (produto_id, quantidade_vendida)
+SELECT produto_id, SUM(quantidade) FROM pedido_itens GROUP BY produto_id;
+
+INSERT INTO dashboard_pedidos_cliente (cliente_id, quantidade_pedidos)
+SELECT cliente_id, COUNT(*) FROM pedidos GROUP BY cliente_id;
@@ -0,0 +1,18 @@
+-- ========= REVOGAÇÃO DE TOKENS =========
+-- Com a autenticação sem estado, o filtro confia nas claims do JWT e não consulta usuarios.
+-- versao_token vai no token emitido; alterar o perfil ou excluir o usuário registra em
+-- revogacoes_token a menor versão ainda aceita, que cada instância mantém em memória.
+
+ALTER TABLE usuarios ADD COLUMN versao_token INT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN usuarios.versao_token IS 'Versão incluída nos tokens emitidos; incrementada quando os tokens anteriores devem deixar de valer.';
+
+CREATE TABLE revogacoes_token (
+    usuario_id BIGINT PRIMARY KEY,
+    versao_minima INT NOT NULL,
+    revogado_em TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+COMMENT ON TABLE revogacoes_token IS 'Menor versão de token aceita por usuário. Sem chave estrangeira: a revogação sobrevive à exclusão do usuário.';
+
+CREATE INDEX idx_revogacoes_token_revogado_em ON revogacoes_token (revogado_em);
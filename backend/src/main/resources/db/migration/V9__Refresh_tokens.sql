@@ -0,0 +1,33 @@
+-- ========= REFRESH TOKENS =========
+-- Tokens de acesso curtos são renovados com um refresh token opaco e rotativo, sem novo BCrypt.
+-- Só o SHA-256 do token é guardado. Cada uso gera um novo token da mesma família; reapresentar
+-- um token já usado indica vazamento e revoga a família inteira.
+
+CREATE SEQUENCE refresh_tokens_seq INCREMENT BY 50;
+
+CREATE TABLE refresh_tokens (
+    id BIGINT PRIMARY KEY DEFAULT nextval('refresh_tokens_seq'),
+    usuario_id BIGINT NOT NULL,
+    token_hash CHAR(64) NOT NULL,
+    familia UUID NOT NULL,
+    expira_em TIMESTAMPTZ NOT NULL,
+    usado_em TIMESTAMPTZ,
+    criado_em TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT fk_refresh_token_usuario
+        FOREIGN KEY(usuario_id)
+        REFERENCES usuarios(id)
+        ON DELETE CASCADE,
+
+    CONSTRAINT uk_refresh_token_hash UNIQUE (token_hash)
+);
+
+ALTER SEQUENCE refresh_tokens_seq OWNED BY refresh_tokens.id;
+
+COMMENT ON TABLE refresh_tokens IS 'Refresh tokens emitidos no login e em cada renovação, identificados pelo hash.';
+COMMENT ON COLUMN refresh_tokens.familia IS 'Agrupa os tokens gerados a partir do mesmo login.';
+COMMENT ON COLUMN refresh_tokens.usado_em IS 'Preenchido quando o token é trocado por um novo ou revogado; a partir daí não é mais aceito.';
+
+CREATE INDEX idx_refresh_tokens_usuario ON refresh_tokens (usuario_id);
+CREATE INDEX idx_refresh_tokens_familia ON refresh_tokens (familia);
+CREATE INDEX idx_refresh_tokens_expira_em ON refresh_tokens (expira_em);
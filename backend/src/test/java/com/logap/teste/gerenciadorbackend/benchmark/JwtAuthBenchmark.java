@@ -0,0 +1,82 @@
+package com.logap.teste.gerenciadorbackend.benchmark;
+
+import com.logap.teste.gerenciadorbackend.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Custo da autenticação JWT por requisição no JwtAuthFilter (sem a busca do usuário no banco).
+ * "antes" reproduz o fluxo original: chave e parser recriados a cada parse e três parses por requisição.
+ * "depois" usa a chave e o parser criados uma única vez e um único parse.
+ * "depoisComCache" passa pelo JwtService, que reaproveita as claims do token já verificado.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthBenchmark {
+    private static final String SECRET = "4e6ef8f25a2d4d7a8b8c1e2f3a4b5c6d4e6ef8f25a2d4d7a8b8c1e2f3a4b5c6d";
+
+    private JwtService jwtService;
+    private JwtParser jwtParser;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 3_600_000L, 10_000);
+        jwtParser = Jwts.parser().verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET))).build();
+        userDetails = new User("usuario@benchmark.com", "senha", List.of(new SimpleGrantedAuthority("ROLE_CLIENTE")));
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean antes() {
+        String username = extrairClaimLegado(token, Claims::getSubject);
+        return username != null
+                && extrairClaimLegado(token, Claims::getSubject).equals(userDetails.getUsername())
+                && !extrairClaimLegado(token, Claims::getExpiration).before(new Date());
+    }
+
+    @Benchmark
+    public boolean depois() {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        return claims.getSubject() != null && jwtService.isTokenValid(claims, userDetails);
+    }
+
+    @Benchmark
+    public boolean depoisComCache() {
+        Claims claims = jwtService.parseAndValidate(token);
+        return claims.getSubject() != null && jwtService.isTokenValid(claims, userDetails);
+    }
+
+    private static <T> T extrairClaimLegado(String token, Function<Claims, T> resolver) {
+        SecretKey chave = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        Claims claims = Jwts.parser().verifyWith(chave).build().parseSignedClaims(token).getPayload();
+        return resolver.apply(claims);
+    }
+}
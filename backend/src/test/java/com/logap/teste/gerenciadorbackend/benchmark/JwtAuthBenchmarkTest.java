@@ -0,0 +1,23 @@
+package com.logap.teste.gerenciadorbackend.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Dispara o JMH pelo surefire; fora do build padrão, execute com mvn test -Pbenchmark
+@Tag("benchmark")
+class JwtAuthBenchmarkTest {
+
+    @Test
+    void deveMedirCustoDaAutenticacaoJwtPorRequisicao() throws RunnerException {
+        var resultados = new Runner(new OptionsBuilder()
+                .include(JwtAuthBenchmark.class.getName())
+                .build()).run();
+
+        assertThat(resultados).hasSize(3);
+    }
+}
@@ -0,0 +1,56 @@
+package com.logap.teste.gerenciadorbackend.benchmark;
+
+import com.logap.teste.gerenciadorbackend.configuration.SecurityConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo do hash de senha por configuração, em uma thread. "login" é a verificação feita a cada
+ * login; "gerarHash" é o custo extra pago uma vez quando o hash é regravado ou um usuário é criado.
+ * O inverso do tempo de "login" dá quantos logins por segundo cada núcleo do executor suporta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashBenchmark {
+    private static final String SENHA = "SenhaForte123!";
+
+    @Param({"bcrypt:10", "bcrypt:11", "bcrypt:12", "bcrypt:13", "pbkdf2@SpringSecurity_v5_8"})
+    public String configuracao;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        String[] partes = configuracao.split(":");
+        int forcaBcrypt = partes.length > 1 ? Integer.parseInt(partes[1]) : 10;
+        encoder = SecurityConfiguration.criarPasswordEncoder(partes[0], forcaBcrypt);
+        hash = encoder.encode(SENHA);
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches(SENHA, hash);
+    }
+
+    @Benchmark
+    public String gerarHash() {
+        return encoder.encode(SENHA);
+    }
+}
@@ -0,0 +1,37 @@
+package com.logap.teste.gerenciadorbackend.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Dispara o JMH pelo surefire; fora do build padrão, execute com mvn test -Pbenchmark
+@Slf4j
+@Tag("benchmark")
+class PasswordHashBenchmarkTest {
+
+    @Test
+    void deveMedirCustoDoHashDeSenhaPorConfiguracao() throws RunnerException {
+        var resultados = new Runner(new OptionsBuilder()
+                .include(PasswordHashBenchmark.class.getName())
+                .build()).run();
+
+        assertThat(resultados).hasSize(10);
+
+        // Capacidade de login por núcleo dedicado ao executor de login (auth.login.executor.threads)
+        for (RunResult resultado : resultados) {
+            if (resultado.getParams().getBenchmark().endsWith(".login")) {
+                double milissegundos = resultado.getPrimaryResult().getScore();
+                log.info("{}: {} ms por login, ~{} logins/s por núcleo",
+                        resultado.getParams().getParam("configuracao"),
+                        String.format("%.1f", milissegundos),
+                        String.format("%.0f", 1000 / milissegundos));
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaffeineJCacheConfigTest {
+
+    private CachingProvider provider;
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Mesmo caminho do Hibernate: localiza o recurso no classpath e passa a URL ao provider
+        ClassLoader classLoader = getClass().getClassLoader();
+        URI uri = classLoader.getResource("caffeine-jcache.conf").toURI();
+        provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        cacheManager = provider.getCacheManager(uri, classLoader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        provider.close();
+    }
+
+    @Test
+    void deveLimitarRegioesDeProdutoPorTamanhoETtl() {
+        CaffeineConfiguration<?, ?> produtos = configuracao(CacheConfig.REGIAO_PRODUTOS);
+        assertEquals(10_000, produtos.getMaximumSize().orElseThrow());
+        assertEquals(TimeUnit.MINUTES.toNanos(5), produtos.getExpireAfterWrite().orElseThrow());
+
+        CaffeineConfiguration<?, ?> catalogo = configuracao(CacheConfig.REGIAO_CATALOGO_PRODUTOS);
+        assertEquals(1_000, catalogo.getMaximumSize().orElseThrow());
+        assertEquals(TimeUnit.MINUTES.toNanos(1), catalogo.getExpireAfterWrite().orElseThrow());
+    }
+
+    @Test
+    void naoDeveExpirarRegiaoDeTimestampsDoHibernate() {
+        CaffeineConfiguration<?, ?> timestamps = configuracao("default-update-timestamps-region");
+
+        assertTrue(timestamps.getMaximumSize().isEmpty());
+        assertTrue(timestamps.getExpireAfterWrite().isEmpty());
+        assertTrue(timestamps.getExpireAfterAccess().isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<?, ?> configuracao(String regiao) {
+        return cacheManager.getCache(regiao).getConfiguration(CaffeineConfiguration.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsultasPorRequisicaoFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConsultasPorRequisicaoFilter filtro;
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filtro = new ConsultasPorRequisicaoFilter(meterRegistry, 3, 2);
+        logger = (Logger) LoggerFactory.getLogger(ConsultasPorRequisicaoFilter.class);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void deveRegistrarStatementsPorRotaSemAlertaAbaixoDosLimites() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pedidos/42");
+
+        filtro.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/pedidos/{id}");
+            ContadorConsultasSql.registrar("select p from pedidos p where p.id=?");
+        });
+
+        DistributionSummary resumo = meterRegistry.get("http.server.requests.sql")
+                .tag("method", "GET")
+                .tag("uri", "/pedidos/{id}")
+                .summary();
+        assertEquals(1, resumo.count());
+        assertEquals(1, resumo.totalAmount());
+        assertTrue(appender.list.isEmpty());
+    }
+
+    @Test
+    void deveAlertarExcessoDeStatementsEPossivelNMais1() throws Exception {
+        filtro.doFilter(new MockHttpServletRequest("GET", "/pedidos/42"), new MockHttpServletResponse(), (req, res) -> {
+            ContadorConsultasSql.registrar("select p from pedidos p where p.id=?");
+            ContadorConsultasSql.registrar("select pr from produtos pr where pr.id=?");
+            ContadorConsultasSql.registrar("select pr from produtos pr where pr.id=?");
+            ContadorConsultasSql.registrar("select pr from produtos pr where pr.id=?");
+        });
+
+        assertEquals(4, meterRegistry.get("http.server.requests.sql").tag("uri", "UNKNOWN").summary().totalAmount());
+        assertEquals(2, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("executou 4 statements SQL"));
+        assertTrue(appender.list.get(1).getFormattedMessage().contains("Possível N+1"));
+        assertTrue(appender.list.get(1).getFormattedMessage().contains("produtos"));
+    }
+
+    @Test
+    void deveSomarNaJanelaExternaOsStatementsDaRequisicao() throws Exception {
+        ContadorConsultasSql.Janela externa = ContadorConsultasSql.abrir();
+        ContadorConsultasSql.registrar("select 1");
+        filtro.doFilter(new MockHttpServletRequest("GET", "/produtos"), new MockHttpServletResponse(),
+                (req, res) -> ContadorConsultasSql.registrar("select 2"));
+        externa.close();
+        // Fora de qualquer janela nada é contado
+        ContadorConsultasSql.registrar("select 3");
+
+        assertEquals(2, externa.total());
+    }
+}
@@ -0,0 +1,70 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ContadorConsultasDataSourceTest {
+
+    private HikariDataSource pool;
+    private Connection conexao;
+    private ContadorConsultasDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(HikariDataSource.class);
+        conexao = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(conexao);
+        when(conexao.prepareStatement(anyString())).thenAnswer(invocacao -> {
+            PreparedStatement statement = mock(PreparedStatement.class);
+            when(statement.getConnection()).thenReturn(conexao);
+            return statement;
+        });
+        when(conexao.createStatement()).thenAnswer(invocacao -> mock(Statement.class));
+        dataSource = new ContadorConsultasDataSource(pool);
+    }
+
+    @Test
+    void deveContarStatementsDoJdbcTemplate() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        try (ContadorConsultasSql.Janela janela = ContadorConsultasSql.abrir()) {
+            jdbcTemplate.update("UPDATE produtos SET qtd_reservada = qtd_reservada + ? WHERE id = ?", 1, 10L);
+            jdbcTemplate.execute("ANALYZE produtos");
+            // Um lote JDBC é preparado uma vez: conta como um statement, qualquer que seja o tamanho
+            jdbcTemplate.batchUpdate("UPDATE produtos SET qtd_reservada = qtd_reservada - ? WHERE id = ?",
+                    List.of(new Object[]{1, 10L}, new Object[]{2, 11L}, new Object[]{3, 12L}));
+
+            assertEquals(3, janela.total());
+            assertEquals(Map.of(
+                    "UPDATE produtos SET qtd_reservada = qtd_reservada + ? WHERE id = ?", 1,
+                    "ANALYZE produtos", 1,
+                    "UPDATE produtos SET qtd_reservada = qtd_reservada - ? WHERE id = ?", 1),
+                    janela.execucoesPorStatement());
+        }
+    }
+
+    @Test
+    void deveRepassarChamadasParaAConexaoDoPool() throws SQLException {
+        try (Connection conexaoContada = dataSource.getConnection()) {
+            conexaoContada.prepareStatement("SELECT 1");
+            conexaoContada.setAutoCommit(false);
+        }
+
+        verify(conexao).prepareStatement("SELECT 1");
+        verify(conexao).setAutoCommit(false);
+        verify(conexao).close();
+    }
+}
@@ -0,0 +1,107 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
+import com.logap.teste.gerenciadorbackend.service.JwtService;
+import com.logap.teste.gerenciadorbackend.service.RevogacaoTokenService;
+import com.logap.teste.gerenciadorbackend.service.UserDetailServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtAuthFilterTest {
+
+    private static final String SECRET_KEY = "4e6ef8f25a2d4d7a8b8c1e2f3a4b5c6d4e6ef8f25a2d4d7a8b8c1e2f3a4b5c6d";
+
+    private JwtService jwtService;
+    private UserDetailServiceImpl userDetailService;
+    private RevogacaoTokenService revogacaoTokenService;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET_KEY, 3600000L, 100);
+        userDetailService = mock(UserDetailServiceImpl.class);
+        revogacaoTokenService = mock(RevogacaoTokenService.class);
+
+        usuario = new Usuario();
+        usuario.setId(5L);
+        usuario.setNome("Vendedor");
+        usuario.setEmail("vendedor@teste.com");
+        usuario.setSenha("senha");
+        usuario.setPerfil(Perfil.VENDEDOR);
+        usuario.setVersaoToken(1);
+    }
+
+    @AfterEach
+    void limparContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveAutenticarPelasClaimsSemConsultarOBanco() throws Exception {
+        filtrar(JwtAuthMode.STATELESS, jwtService.generateToken(usuario));
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("vendedor@teste.com", authentication.getName());
+        assertEquals(new UsuarioAutenticado(5L, "vendedor@teste.com", "Vendedor"), authentication.getPrincipal());
+        assertEquals(List.of("ROLE_VENDEDOR"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        verify(revogacaoTokenService).isRevogado(5L, 1);
+        verifyNoInteractions(userDetailService);
+    }
+
+    @Test
+    void naoDeveAutenticarTokenRevogado() throws Exception {
+        when(revogacaoTokenService.isRevogado(5L, 1)).thenReturn(true);
+
+        filtrar(JwtAuthMode.STATELESS, jwtService.generateToken(usuario));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(userDetailService);
+    }
+
+    @Test
+    void deveConsultarOBancoParaTokenSemIdDoUsuario() throws Exception {
+        User legado = new User("vendedor@teste.com", "senha", List.of(new SimpleGrantedAuthority("ROLE_VENDEDOR")));
+        when(userDetailService.carregarParaAutenticacao("vendedor@teste.com")).thenReturn(legado);
+
+        filtrar(JwtAuthMode.STATELESS, jwtService.generateToken(legado));
+
+        assertEquals(legado, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verifyNoInteractions(revogacaoTokenService);
+    }
+
+    @Test
+    void deveConsultarOBancoNoModoDatabase() throws Exception {
+        when(userDetailService.carregarParaAutenticacao(anyString())).thenReturn(usuario);
+
+        filtrar(JwtAuthMode.DATABASE, jwtService.generateToken(usuario));
+
+        assertEquals(usuario, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(userDetailService).carregarParaAutenticacao("vendedor@teste.com");
+        verifyNoInteractions(revogacaoTokenService);
+    }
+
+    private void filtrar(JwtAuthMode modo, String token) throws Exception {
+        JwtAuthFilter filtro = new JwtAuthFilter(jwtService, userDetailService, revogacaoTokenService, modo);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
@@ -0,0 +1,58 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MonitorPinningThreadsVirtuaisTest {
+
+    private final Object monitor = new Object();
+    private SimpleMeterRegistry meterRegistry;
+    private MonitorPinningThreadsVirtuais monitorPinning;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitorPinning = new MonitorPinningThreadsVirtuais(meterRegistry, Duration.ofMillis(10));
+        monitorPinning.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitorPinning.encerrar();
+    }
+
+    @Test
+    void deveRegistrarThreadVirtualPresaEmSynchronized() throws Exception {
+        Thread.ofVirtual().start(() -> {
+            synchronized (monitor) {
+                dormir(50);
+            }
+        }).join();
+
+        // O JFR entrega os eventos em lotes, cerca de uma vez por segundo
+        Timer tempoPreso = meterRegistry.get("jvm.threads.virtual.pinned").timer();
+        long limite = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (tempoPreso.count() == 0 && System.nanoTime() < limite) {
+            dormir(100);
+        }
+
+        assertTrue(tempoPreso.count() >= 1);
+        assertTrue(tempoPreso.max(TimeUnit.MILLISECONDS) >= 10);
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
+import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
+import com.logap.teste.gerenciadorbackend.service.UserDetailServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PasswordEncoderTest {
+
+    private static final String SENHA = "SenhaForte123!";
+
+    @Test
+    void deveAceitarHashLegadoSemPrefixoEPedirRegravacao() {
+        PasswordEncoder encoder = SecurityConfiguration.criarPasswordEncoder(SecurityConfiguration.ENCODER_BCRYPT, 5);
+        String legado = new BCryptPasswordEncoder(4).encode(SENHA);
+
+        assertTrue(encoder.matches(SENHA, legado));
+        assertTrue(encoder.upgradeEncoding(legado));
+    }
+
+    @Test
+    void devePedirRegravacaoSomenteQuandoOCustoForMenorQueOConfigurado() {
+        PasswordEncoder custo4 = SecurityConfiguration.criarPasswordEncoder(SecurityConfiguration.ENCODER_BCRYPT, 4);
+        PasswordEncoder custo5 = SecurityConfiguration.criarPasswordEncoder(SecurityConfiguration.ENCODER_BCRYPT, 5);
+
+        String hash = custo4.encode(SENHA);
+
+        assertTrue(hash.startsWith("{bcrypt}$2a$04$"));
+        assertFalse(custo4.upgradeEncoding(hash));
+        assertTrue(custo5.upgradeEncoding(hash));
+        assertTrue(custo5.matches(SENHA, hash));
+    }
+
+    @Test
+    void devePedirRegravacaoAoTrocarOAlgoritmo() {
+        PasswordEncoder bcrypt = SecurityConfiguration.criarPasswordEncoder(SecurityConfiguration.ENCODER_BCRYPT, 4);
+        PasswordEncoder pbkdf2 = SecurityConfiguration.criarPasswordEncoder(SecurityConfiguration.ENCODER_PBKDF2, 4);
+
+        String hash = bcrypt.encode(SENHA);
+
+        assertTrue(pbkdf2.matches(SENHA, hash));
+        assertTrue(pbkdf2.upgradeEncoding(hash));
+        assertTrue(pbkdf2.encode(SENHA).startsWith("{" + SecurityConfiguration.ENCODER_PBKDF2 + "}"));
+    }
+
+    @Test
+    void deveFalharNaInicializacaoComAlgoritmoDesconhecido() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SecurityConfiguration.criarPasswordEncoder("md5", 10));
+    }
+
+    @Test
+    void deveRegravarHashDesatualizadoAposLoginBemSucedido() {
+        UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+        PasswordEncoder encoder = SecurityConfiguration.criarPasswordEncoder(SecurityConfiguration.ENCODER_BCRYPT, 5);
+        Usuario usuario = Usuario.builder()
+                .email("cliente@email.com")
+                .senha(new BCryptPasswordEncoder(4).encode(SENHA))
+                .perfil(Perfil.CLIENTE)
+                .build();
+        when(usuarioRepository.findByEmail("cliente@email.com")).thenReturn(Optional.of(usuario));
+
+        UserDetailServiceImpl userDetailService = new UserDetailServiceImpl(usuarioRepository);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailService);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(userDetailService);
+
+        Authentication autenticacao = provider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("cliente@email.com", SENHA));
+
+        verify(usuarioRepository).atualizarSenha(eq("cliente@email.com"), startsWith("{bcrypt}$2a$05$"));
+        assertSame(usuario, autenticacao.getPrincipal());
+        assertTrue(encoder.matches(SENHA, usuario.getSenha()));
+        assertFalse(encoder.upgradeEncoding(usuario.getSenha()));
+    }
+
+    @Test
+    void naoDeveRegravarHashJaAtualizado() {
+        UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+        PasswordEncoder encoder = SecurityConfiguration.criarPasswordEncoder(SecurityConfiguration.ENCODER_BCRYPT, 4);
+        Usuario usuario = Usuario.builder()
+                .email("cliente@email.com")
+                .senha(encoder.encode(SENHA))
+                .perfil(Perfil.CLIENTE)
+                .build();
+        when(usuarioRepository.findByEmail("cliente@email.com")).thenReturn(Optional.of(usuario));
+
+        UserDetailServiceImpl userDetailService = new UserDetailServiceImpl(usuarioRepository);
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailService);
+        provider.setPasswordEncoder(encoder);
+        provider.setUserDetailsPasswordService(userDetailService);
+
+        provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("cliente@email.com", SENHA));
+
+        verify(usuarioRepository, never()).atualizarSenha(anyString(), anyString());
+    }
+}
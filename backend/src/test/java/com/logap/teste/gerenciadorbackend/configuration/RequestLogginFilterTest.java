@@ -0,0 +1,153 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogginFilterTest {
+
+    private Logger logger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        logger = (Logger) LoggerFactory.getLogger(RequestLogginFilter.class);
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        MDC.clear();
+    }
+
+    private RequestLogginFilter filtro(RequestLogMode modo, double taxa, String taxasPorRota) {
+        return new RequestLogginFilter(modo, taxa, taxasPorRota, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void deveReaproveitarCorrelationIdRecebidoERegistrarUmaLinha() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/produtos");
+        request.addHeader(RequestLogginFilter.CORRELATION_ID_HEADER, "pedido-123.abc");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro(RequestLogMode.SUMMARY, 1.0, "").doFilter(request, response, new MockFilterChain());
+
+        assertEquals("pedido-123.abc", response.getHeader(RequestLogginFilter.CORRELATION_ID_HEADER));
+        assertEquals(1, appender.list.size());
+        ILoggingEvent evento = appender.list.getFirst();
+        assertTrue(evento.getFormattedMessage().startsWith("Requisição finalizada: GET /produtos - Status 200"));
+        assertEquals("pedido-123.abc", evento.getMDCPropertyMap().get("correlationId"));
+        assertNull(MDC.get("correlationId"));
+    }
+
+    @Test
+    void deveGerarCorrelationIdQuandoORecebidoForInvalido() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/produtos");
+        request.addHeader(RequestLogginFilter.CORRELATION_ID_HEADER, "id com espaço\nlinha forjada");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro(RequestLogMode.SUMMARY, 1.0, "").doFilter(request, response, new MockFilterChain());
+
+        assertTrue(response.getHeader(RequestLogginFilter.CORRELATION_ID_HEADER).matches("[0-9a-f]{16}"));
+    }
+
+    @Test
+    void deveRegistrarChegadaEConclusaoNoModoFull() throws Exception {
+        filtro(RequestLogMode.FULL, 1.0, "").doFilter(
+                new MockHttpServletRequest("POST", "/pedidos"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(2, appender.list.size());
+        assertEquals("Requisição recebida: POST /pedidos", appender.list.get(0).getFormattedMessage());
+    }
+
+    @Test
+    void naoDeveRegistrarNadaNoModoNoneMasDevePropagarCorrelationId() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro(RequestLogMode.NONE, 1.0, "").doFilter(
+                new MockHttpServletRequest("GET", "/produtos"), response, new MockFilterChain());
+
+        assertTrue(appender.list.isEmpty());
+        assertNotNull(response.getHeader(RequestLogginFilter.CORRELATION_ID_HEADER));
+    }
+
+    @Test
+    void deveAplicarATaxaDaPrimeiraRotaQueCasar() throws Exception {
+        RequestLogginFilter filtro = filtro(RequestLogMode.SUMMARY, 1.0, "/actuator/**=0, /produtos/**=1");
+
+        filtro.doFilter(requisicaoDaApi("/actuator/health"), new MockHttpServletResponse(), new MockFilterChain());
+        filtro.doFilter(requisicaoDaApi("/produtos/1"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.getFirst().getFormattedMessage().contains("/gerenciador/api/v1/produtos/1"));
+    }
+
+    // Como no deploy: o DispatcherServlet atende em spring.mvc.servlet.path
+    private static MockHttpServletRequest requisicaoDaApi(String rota) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/gerenciador/api/v1" + rota);
+        request.setServletPath("/gerenciador/api/v1");
+        request.setPathInfo(rota);
+        return request;
+    }
+
+    @Test
+    void deveRegistrarErroDeServidorMesmoForaDaAmostra() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(503);
+
+        filtro(RequestLogMode.SUMMARY, 0, "").doFilter(
+                new MockHttpServletRequest("GET", "/produtos"), response, new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.getFirst().getFormattedMessage().contains("Status 503"));
+    }
+
+    @Test
+    void deveRegistrarRequisicaoLentaMesmoForaDaAmostra() throws Exception {
+        RequestLogginFilter filtro = new RequestLogginFilter(RequestLogMode.SUMMARY, 0, "", Duration.ZERO);
+
+        filtro.doFilter(new MockHttpServletRequest("GET", "/produtos"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+    }
+
+    @Test
+    void deveRegistrarRespostaAssincronaSomenteAoConcluir() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro(RequestLogMode.SUMMARY, 1.0, "").doFilter(request, response,
+                (req, res) -> req.startAsync());
+
+        assertTrue(appender.list.isEmpty());
+
+        response.setStatus(429);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.getFirst().getFormattedMessage().contains("Status 429"));
+    }
+
+    @Test
+    void deveRejeitarTaxaPorRotaMalFormatada() {
+        assertThrows(IllegalArgumentException.class, () -> RequestLogginFilter.lerTaxasPorRota("/produtos/**"));
+    }
+}
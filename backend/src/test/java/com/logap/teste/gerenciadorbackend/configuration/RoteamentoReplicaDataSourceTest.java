@@ -0,0 +1,132 @@
+package com.logap.teste.gerenciadorbackend.configuration;
+
+import com.logap.teste.gerenciadorbackend.dto.response.ErrorResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoteamentoReplicaDataSourceTest {
+
+    private HikariDataSource primaria;
+    private HikariDataSource replica;
+    private Connection conexaoPrimaria;
+    private Connection conexaoReplica;
+    private SimpleMeterRegistry meterRegistry;
+    private RoteamentoReplicaDataSource roteamento;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primaria = mock(HikariDataSource.class);
+        replica = mock(HikariDataSource.class);
+        conexaoPrimaria = mock(Connection.class);
+        conexaoReplica = mock(Connection.class);
+        when(primaria.getConnection()).thenReturn(conexaoPrimaria);
+        when(replica.getConnection()).thenReturn(conexaoReplica);
+        meterRegistry = new SimpleMeterRegistry();
+        roteamento = new RoteamentoReplicaDataSource(primaria, replica, Duration.ofSeconds(5),
+                Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void deveUsarPrimariaForaDeTransacaoSomenteLeitura() throws SQLException {
+        assertSame(conexaoPrimaria, roteamento.getConnection());
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertSame(conexaoPrimaria, roteamento.getConnection());
+
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void deveUsarReplicaEmTransacaoSomenteLeitura() throws SQLException {
+        iniciarTransacaoSomenteLeitura();
+
+        assertSame(conexaoReplica, roteamento.getConnection());
+        assertEquals(1.0, leituras("replica"));
+    }
+
+    @Test
+    void deveVoltarParaPrimariaQuandoReplicaFalha() throws SQLException {
+        iniciarTransacaoSomenteLeitura();
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException("réplica fora"));
+
+        assertSame(conexaoPrimaria, roteamento.getConnection());
+        // Até o intervalo de nova tentativa, nem tenta a réplica
+        assertSame(conexaoPrimaria, roteamento.getConnection());
+
+        verify(replica, times(1)).getConnection();
+        assertEquals(2.0, leituras("primaria"));
+        assertEquals(0.0, meterRegistry.get("datasource.replica.disponivel").gauge().value());
+    }
+
+    @Test
+    void deveUsarPrimariaEnquantoReplicaEstiverAtrasada() throws SQLException {
+        iniciarTransacaoSomenteLeitura();
+
+        roteamento.atualizarAtraso(12.0);
+        assertSame(conexaoPrimaria, roteamento.getConnection());
+        assertEquals(12.0, meterRegistry.get("datasource.replica.lag").gauge().value());
+
+        roteamento.atualizarAtraso(0.2);
+        assertSame(conexaoReplica, roteamento.getConnection());
+    }
+
+    @Test
+    void deveResponder503QuandoOsPoolsEsgotamAtrasDoProxyPreguicoso() throws SQLException {
+        // Na aplicação o proxy já leu os padrões da conexão (autocommit, isolamento) na inicialização;
+        // depois disso os dois pools esgotam
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(roteamento);
+        dataSource.checkDefaultConnectionProperties();
+        when(primaria.getConnection()).thenThrow(new SQLTransientConnectionException(
+                "gerenciador-pool - Connection is not available, request timed out after 3000ms."));
+        when(replica.getConnection()).thenThrow(new SQLTransientConnectionException(
+                "gerenciador-pool-replica - Connection is not available, request timed out after 1000ms."));
+        TransactionTemplate transacao = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transacao.setReadOnly(true);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // A transação abre sem conexão física: a falha só vem no primeiro statement, como erro de acesso
+        // a dados e não como CannotCreateTransactionException
+        DataAccessException erro = assertThrows(DataAccessException.class, () ->
+                transacao.execute(status -> jdbcTemplate.queryForObject("SELECT 1", Integer.class)));
+        assertInstanceOf(SQLTransientConnectionException.class, erro.getCause());
+
+        ResponseEntity<ErrorResponse> resposta = new GlobalExceptionHandler(meterRegistry).handleFalhaDeConexao(erro);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, resposta.getStatusCode());
+        assertEquals("1", resposta.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    private void iniciarTransacaoSomenteLeitura() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    private double leituras(String destino) {
+        return meterRegistry.get("datasource.leituras").tag("destino", destino).counter().count();
+    }
+}
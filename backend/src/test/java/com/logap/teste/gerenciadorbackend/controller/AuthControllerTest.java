@@ -3,10 +3,18 @@ package com.logap.teste.gerenciadorbackend.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.logap.teste.gerenciadorbackend.configuration.SecurityConfiguration;
 import com.logap.teste.gerenciadorbackend.dto.request.LoginRequest;
+import com.logap.teste.gerenciadorbackend.dto.request.RefreshTokenRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.LoginResponse;
+import com.logap.teste.gerenciadorbackend.exception.LimiteDeTentativasException;
+import com.logap.teste.gerenciadorbackend.exception.RefreshTokenInvalidoException;
 import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
 import com.logap.teste.gerenciadorbackend.service.JwtService;
+import com.logap.teste.gerenciadorbackend.service.LoginService;
+import com.logap.teste.gerenciadorbackend.service.RefreshTokenService;
+import com.logap.teste.gerenciadorbackend.service.RevogacaoTokenService;
 import com.logap.teste.gerenciadorbackend.service.UserDetailServiceImpl;
 import com.logap.teste.gerenciadorbackend.service.UsuarioService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -14,23 +22,25 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
-import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AuthController.class)
-@Import(SecurityConfiguration.class)
+@Import({SecurityConfiguration.class, SimpleMeterRegistry.class})
 public class AuthControllerTest {
 
     @Autowired
@@ -51,36 +61,93 @@ public class AuthControllerTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private RevogacaoTokenService revogacaoTokenService;
+
+    @MockitoBean
+    private LoginService loginService;
+
+    @MockitoBean
+    private RefreshTokenService refreshTokenService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @Test
     void deveRealizarLoginERetornarToken() throws Exception {
         LoginRequest loginRequest = new LoginRequest("test@example.com", "password");
-        UserDetails userDetails = new User(loginRequest.email(), loginRequest.senha(), new ArrayList<>());
         String fakeToken = "fake-jwt-token";
 
-        when(userDetailService.loadUserByUsername(loginRequest.email())).thenReturn(userDetails);
-        when(jwtService.generateToken(userDetails)).thenReturn(fakeToken);
+        when(loginService.autenticar(any(LoginRequest.class), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(new LoginResponse(fakeToken, "fake-refresh-token", 900)));
 
-        mockMvc.perform(post("/auth/login")
+        MvcResult result = mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.token").value(fakeToken));
+                .andExpect(jsonPath("$.token").value(fakeToken))
+                .andExpect(jsonPath("$.refreshToken").value("fake-refresh-token"))
+                .andExpect(jsonPath("$.expiresIn").value(900));
     }
 
     @Test
     void deveRetornarUnathorized() throws Exception {
         LoginRequest loginRequest = new LoginRequest("wrong@example.com", "wrongpassword");
 
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
-                .thenThrow(new BadCredentialsException("Credenciais inválidas"));
+        when(loginService.autenticar(any(LoginRequest.class), anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new BadCredentialsException("Credenciais inválidas")));
 
-        mockMvc.perform(post("/auth/login")
+        MvcResult result = mockMvc.perform(post("/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isUnauthorized());
     }
+
+    @Test
+    void deveRetornarTooManyRequestsQuandoLimiteDeTentativasExcedido() throws Exception {
+        LoginRequest loginRequest = new LoginRequest("test@example.com", "password");
+
+        when(loginService.autenticar(any(LoginRequest.class), anyString()))
+                .thenThrow(new LimiteDeTentativasException("Muitas tentativas de login.", 12));
+
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "12"));
+    }
+
+    @Test
+    void deveRenovarTokenComRefreshToken() throws Exception {
+        when(refreshTokenService.renovar("refresh-atual"))
+                .thenReturn(new LoginResponse("novo-token", "novo-refresh", 900));
+
+        mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-atual"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("novo-token"))
+                .andExpect(jsonPath("$.refreshToken").value("novo-refresh"));
+    }
+
+    @Test
+    void deveRetornarUnauthorizedParaRefreshTokenInvalido() throws Exception {
+        when(refreshTokenService.renovar("refresh-usado"))
+                .thenThrow(new RefreshTokenInvalidoException("Sessão expirada ou inválida. Faça login novamente."));
+
+        mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-usado"))))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Sessão expirada ou inválida. Faça login novamente."));
+    }
 }
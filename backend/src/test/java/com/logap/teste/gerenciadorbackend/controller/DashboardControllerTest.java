@@ -2,11 +2,15 @@ package com.logap.teste.gerenciadorbackend.controller;
 
 import com.logap.teste.gerenciadorbackend.configuration.SecurityConfiguration;
 import com.logap.teste.gerenciadorbackend.dto.dashboard.ActiveCustomerDTO;
+import com.logap.teste.gerenciadorbackend.dto.dashboard.DashboardSnapshot;
 import com.logap.teste.gerenciadorbackend.dto.dashboard.DashboardStatsDTO;
 import com.logap.teste.gerenciadorbackend.dto.dashboard.TopProductDTO;
+import com.logap.teste.gerenciadorbackend.service.DashboardAgregadoService;
 import com.logap.teste.gerenciadorbackend.service.DashboardService;
 import com.logap.teste.gerenciadorbackend.service.JwtService;
+import com.logap.teste.gerenciadorbackend.service.RevogacaoTokenService;
 import com.logap.teste.gerenciadorbackend.service.UserDetailServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,13 +22,18 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(DashboardController.class)
-@Import(SecurityConfiguration.class)
+@Import({SecurityConfiguration.class, SimpleMeterRegistry.class})
 class DashboardControllerTest {
 
     @Autowired
@@ -33,12 +42,18 @@ class DashboardControllerTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private RevogacaoTokenService revogacaoTokenService;
+
     @MockitoBean
     private UserDetailServiceImpl userDetailService;
 
     @MockitoBean
     private DashboardService dashboardService;
 
+    @MockitoBean
+    private DashboardAgregadoService dashboardAgregadoService;
+
     @Test
     @WithMockUser(roles = "ADMINISTRADOR")
     void deveRetornarDashboardDTOComSucesso() throws Exception {
@@ -49,10 +64,14 @@ class DashboardControllerTest {
                 List.of(new TopProductDTO("Produto A", 20L), new TopProductDTO("Produto B", 15L)),
                 List.of(new ActiveCustomerDTO("Cliente A", 5L), new ActiveCustomerDTO("Cliente B", 3L))
         );
-        Mockito.when(dashboardService.getDashboardStats()).thenReturn(stats);
+        Mockito.when(dashboardService.obterSnapshot())
+                .thenReturn(new DashboardSnapshot(stats, "abc123", Instant.parse("2025-01-10T10:00:00Z")));
         mockMvc.perform(get("/dashboard/stats")
                 .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc123\""))
+                .andExpect(header().string("Last-Modified", "Fri, 10 Jan 2025 10:00:00 GMT"))
+                .andExpect(jsonPath("$.totalPedidos").value(50));
     }
 
     @Test
@@ -62,4 +81,26 @@ class DashboardControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "ADMINISTRADOR")
+    void deveReconciliarAgregadosSobDemanda() throws Exception {
+        mockMvc.perform(post("/dashboard/agregados/reconciliacao"))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(dashboardAgregadoService).reconciliar();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMINISTRADOR")
+    void deveRetornar304QuandoSnapshotNaoMudou() throws Exception {
+        DashboardStatsDTO stats = new DashboardStatsDTO(BigDecimal.ZERO, 0L, 0L, List.of(), List.of());
+        Mockito.when(dashboardService.obterSnapshot())
+                .thenReturn(new DashboardSnapshot(stats, "abc123", Instant.parse("2025-01-10T10:00:00Z")));
+
+        mockMvc.perform(get("/dashboard/stats")
+                        .header("If-None-Match", "\"abc123\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+}
@@ -3,19 +3,26 @@ package com.logap.teste.gerenciadorbackend.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.logap.teste.gerenciadorbackend.configuration.SecurityConfiguration;
 import com.logap.teste.gerenciadorbackend.dto.request.AtualizarStatusPedidoRequest;
+import com.logap.teste.gerenciadorbackend.dto.request.FiltroExportacaoPedido;
 import com.logap.teste.gerenciadorbackend.dto.request.ItemPedidoRequest;
 import com.logap.teste.gerenciadorbackend.dto.request.PedidoRequest;
 import com.logap.teste.gerenciadorbackend.dto.response.ItemPedidoResponse;
+import com.logap.teste.gerenciadorbackend.dto.response.PaginaCursorResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.PedidoCriadoResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.PedidoDetalhadoResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.PedidoResumoResponse;
 import com.logap.teste.gerenciadorbackend.exception.BusinessException;
+import com.logap.teste.gerenciadorbackend.model.Pedido;
+import com.logap.teste.gerenciadorbackend.model.enums.FormatoExportacao;
 import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
 import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
+import com.logap.teste.gerenciadorbackend.service.ExportacaoPedidoService;
 import com.logap.teste.gerenciadorbackend.service.JwtService;
+import com.logap.teste.gerenciadorbackend.service.RevogacaoTokenService;
 import com.logap.teste.gerenciadorbackend.service.PedidoService;
 import com.logap.teste.gerenciadorbackend.service.UserDetailServiceImpl;
 import com.logap.teste.gerenciadorbackend.service.UsuarioService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -23,25 +30,41 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(PedidoController.class)
-@Import(SecurityConfiguration.class)
+@Import({SecurityConfiguration.class, SimpleMeterRegistry.class})
 class PedidoControllerTest {
 
     @Autowired
@@ -62,9 +85,15 @@ class PedidoControllerTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private RevogacaoTokenService revogacaoTokenService;
+
     @MockitoBean
     private PedidoService pedidoService;
 
+    @MockitoBean
+    private ExportacaoPedidoService exportacaoPedidoService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -100,10 +129,12 @@ class PedidoControllerTest {
         PedidoResumoResponse pedidoResumo = new PedidoResumoResponse(
                 1L,  Instant.now(), BigDecimal.valueOf(100), StatusPedido.EM_ANDAMENTO, "Cliente 1"
         );
-        when(pedidoService.listarTodosOsPedidos()).thenReturn(List.of(pedidoResumo));
+        when(pedidoService.listarTodosOsPedidos(null, 50))
+                .thenReturn(new PaginaCursorResponse<>(List.of(pedidoResumo), "cursor-proxima"));
 
         mockMvc.perform(MockMvcRequestBuilders.get("/pedidos"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(PedidoController.NEXT_CURSOR_HEADER, "cursor-proxima"))
                 .andExpect(jsonPath("$[0].id").value(1L))
                 .andExpect(jsonPath("$[0].nomeCliente").value("Cliente 1"));
     }
@@ -114,10 +145,14 @@ class PedidoControllerTest {
         PedidoResumoResponse pedidoResumo = new PedidoResumoResponse(
                 2L,  Instant.now(), BigDecimal.valueOf(100), StatusPedido.EM_ANDAMENTO, "Cliente 2"
         );
-        when(pedidoService.listarPedidosDoCliente("cliente@email.com")).thenReturn(List.of(pedidoResumo));
+        when(pedidoService.listarPedidosDoCliente("cliente@email.com", "abc", 10))
+                .thenReturn(new PaginaCursorResponse<>(List.of(pedidoResumo), null));
 
-        mockMvc.perform(MockMvcRequestBuilders.get("/pedidos"))
+        mockMvc.perform(MockMvcRequestBuilders.get("/pedidos")
+                        .param("cursor", "abc")
+                        .param("limit", "10"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(PedidoController.NEXT_CURSOR_HEADER))
                 .andExpect(jsonPath("$[0].id").value(2L))
                 .andExpect(jsonPath("$[0].nomeCliente").value("Cliente 2"));
     }
@@ -173,4 +208,73 @@ class PedidoControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
-}
\ No newline at end of file
+    @Test
+    @WithMockUser(username = "admin@email.com", roles = {"ADMINISTRADOR"})
+    void deveRetornarConflictQuandoRetentativasDeVersaoSeEsgotam() throws Exception {
+        Long pedidoId = 5L;
+        AtualizarStatusPedidoRequest request = new AtualizarStatusPedidoRequest(StatusPedido.FINALIZADO);
+
+        Mockito.when(pedidoService.atualizarStatus(pedidoId, StatusPedido.FINALIZADO))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Pedido.class, pedidoId));
+
+        mockMvc.perform(MockMvcRequestBuilders.patch("/pedidos/{id}/status", pedidoId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    @WithMockUser(username = "vendedor@email.com", roles = {"VENDEDOR"})
+    void deveExportarPedidosEmCsvComFiltros() throws Exception {
+        FiltroExportacaoPedido filtro = new FiltroExportacaoPedido(
+                StatusPedido.FINALIZADO, Instant.parse("2025-01-01T00:00:00Z"), Instant.parse("2025-02-01T00:00:00Z"));
+        // O corpo é escrito em outra thread; espera a requisição original sair da cadeia de filtros, que
+        // também escreve cabeçalhos no MockHttpServletResponse (não é thread-safe)
+        CountDownLatch requisicaoConcluida = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            requisicaoConcluida.await(5, TimeUnit.SECONDS);
+            OutputStream saida = invocation.getArgument(3);
+            saida.write("id,dataCriacao\n1,2025-01-10T10:00:00Z\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportacaoPedidoService).exportar(eq(filtro), eq(FormatoExportacao.CSV), eq(true), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/pedidos/exportacao")
+                        .param("formato", "CSV")
+                        .param("status", "FINALIZADO")
+                        .param("dataInicio", "2025-01-01T00:00:00Z")
+                        .param("dataFim", "2025-02-01T00:00:00Z")
+                        .param("incluirItens", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        requisicaoConcluida.countDown();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"pedidos.csv\""))
+                .andExpect(content().string("id,dataCriacao\n1,2025-01-10T10:00:00Z\n"));
+    }
+
+    @Test
+    @WithMockUser(username = "admin@email.com", roles = {"ADMINISTRADOR"})
+    void deveRetornarBadRequestParaPeriodoDeExportacaoInvalido() throws Exception {
+        doThrow(new BusinessException("A data inicial deve ser anterior à data final"))
+                .when(exportacaoPedidoService).validarFiltro(any(FiltroExportacaoPedido.class));
+
+        mockMvc.perform(get("/pedidos/exportacao")
+                        .param("dataInicio", "2025-02-01T00:00:00Z")
+                        .param("dataFim", "2025-01-01T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+
+        verify(exportacaoPedidoService, never()).exportar(any(), any(), anyBoolean(), any());
+    }
+
+    @Test
+    @WithMockUser(username = "cliente@email.com", roles = {"CLIENTE"})
+    void naoDevePermitirExportacaoParaCliente() throws Exception {
+        mockMvc.perform(get("/pedidos/exportacao"))
+                .andExpect(status().isForbidden());
+    }
+
+}
@@ -4,12 +4,16 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.logap.teste.gerenciadorbackend.configuration.SecurityConfiguration;
 import com.logap.teste.gerenciadorbackend.dto.request.AtualizarEstoqueRequest;
 import com.logap.teste.gerenciadorbackend.dto.request.ProdutoRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.PaginaCursorResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.ProdutoResponse;
 import com.logap.teste.gerenciadorbackend.exception.BusinessException;
+import com.logap.teste.gerenciadorbackend.exception.MotivoFalhaNegocio;
 import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
 import com.logap.teste.gerenciadorbackend.service.JwtService;
+import com.logap.teste.gerenciadorbackend.service.RevogacaoTokenService;
 import com.logap.teste.gerenciadorbackend.service.ProdutoService;
 import com.logap.teste.gerenciadorbackend.service.UserDetailServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -26,13 +30,15 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProdutoController.class)
-@Import(SecurityConfiguration.class)
+@Import({SecurityConfiguration.class, SimpleMeterRegistry.class})
 class ProdutoControllerTest {
 
     @Autowired
@@ -44,6 +50,9 @@ class ProdutoControllerTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private RevogacaoTokenService revogacaoTokenService;
+
     @MockitoBean
     private UserDetailServiceImpl userDetailService;
 
@@ -53,6 +62,9 @@ class ProdutoControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private SimpleMeterRegistry meterRegistry;
+
     private ProdutoResponse produtoResponse;
 
     @BeforeEach
@@ -90,6 +102,29 @@ class ProdutoControllerTest {
                 .andExpect(jsonPath("$.quantidadeEstoque").value(produtoResponse.quantidadeEstoque()));
     }
 
+    @Test
+    @WithMockUser
+    void deveBuscarProdutosComCursorNoCabecalho() throws Exception {
+        Mockito.when(produtoService.buscarProdutos("camiseta", null, 20))
+                .thenReturn(new PaginaCursorResponse<>(List.of(produtoResponse), "cHJveGltbw"));
+
+        mockMvc.perform(get("/produtos/busca").param("q", "camiseta"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PedidoController.NEXT_CURSOR_HEADER, "cHJveGltbw"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(produtoResponse.id()));
+    }
+
+    @Test
+    @WithMockUser
+    void deveRetornarBadRequestParaBuscaSemTermo() throws Exception {
+        Mockito.when(produtoService.buscarProdutos(" ", null, 20))
+                .thenThrow(new BusinessException(MotivoFalhaNegocio.DADOS_INVALIDOS, "Informe um termo de busca com letras ou números"));
+
+        mockMvc.perform(get("/produtos/busca").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @WithMockUser
     void deveRetornarListaDeProdutos() throws Exception {
@@ -187,4 +222,20 @@ class ProdutoControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
-}
\ No newline at end of file
+    @Test
+    @WithMockUser(roles = {"ADMINISTRADOR"})
+    void deveContarFalhaDeNegocioPeloMotivo() throws Exception {
+        Long idProduto = 98L;
+
+        Mockito.doThrow(new BusinessException(MotivoFalhaNegocio.NAO_ENCONTRADO, "Produto não encontrado com o ID: " + idProduto))
+                .when(produtoService).deletarProduto(idProduto);
+
+        double antes = meterRegistry.counter("negocio.falhas", "motivo", "nao_encontrado").count();
+
+        mockMvc.perform(delete("/produtos/{id}", idProduto))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(antes + 1, meterRegistry.counter("negocio.falhas", "motivo", "nao_encontrado").count());
+    }
+
+}
@@ -8,8 +8,10 @@ import com.logap.teste.gerenciadorbackend.dto.request.UsuarioUpdateRequest;
 import com.logap.teste.gerenciadorbackend.exception.BusinessException;
 import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
 import com.logap.teste.gerenciadorbackend.service.JwtService;
+import com.logap.teste.gerenciadorbackend.service.RevogacaoTokenService;
 import com.logap.teste.gerenciadorbackend.service.UserDetailServiceImpl;
 import com.logap.teste.gerenciadorbackend.service.UsuarioService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,7 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(UsuarioController.class)
 @WithMockUser(roles = "ADMINISTRADOR")
-@Import(SecurityConfiguration.class)
+@Import({SecurityConfiguration.class, SimpleMeterRegistry.class})
 public class UsuarioControllerTest {
 
     @Autowired
@@ -44,6 +46,9 @@ public class UsuarioControllerTest {
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private RevogacaoTokenService revogacaoTokenService;
+
     @MockitoBean
     private UserDetailServiceImpl userDetailService;
 
@@ -0,0 +1,24 @@
+package com.logap.teste.gerenciadorbackend.exception;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MotivoFalhaNegocioTest {
+    private final Locale localeOriginal = Locale.getDefault();
+
+    @AfterEach
+    void tearDown() {
+        Locale.setDefault(localeOriginal);
+    }
+
+    @Test
+    void deveGerarTagIndependenteDoLocalePadrao() {
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+        assertEquals("dados_invalidos", MotivoFalhaNegocio.DADOS_INVALIDOS.tag());
+    }
+}
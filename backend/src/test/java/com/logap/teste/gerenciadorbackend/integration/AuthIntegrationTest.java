@@ -0,0 +1,103 @@
+package com.logap.teste.gerenciadorbackend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logap.teste.gerenciadorbackend.dto.request.LoginRequest;
+import com.logap.teste.gerenciadorbackend.dto.request.RefreshTokenRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.LoginResponse;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
+import com.logap.teste.gerenciadorbackend.repository.RefreshTokenRepository;
+import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class AuthIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository.deleteAll();
+        usuarioRepository.findByEmail("sessao@email.com").ifPresent(usuarioRepository::delete);
+        Usuario usuario = new Usuario();
+        usuario.setNome("Sessão");
+        usuario.setEmail("sessao@email.com");
+        usuario.setSenha(passwordEncoder.encode("senha123"));
+        usuario.setPerfil(Perfil.CLIENTE);
+        usuarioRepository.save(usuario);
+    }
+
+    @Test
+    void deveRenovarSessaoERevogarAFamiliaQuandoRefreshTokenReutilizado() throws Exception {
+        LoginResponse login = login();
+
+        LoginResponse renovado = lerResposta(refresh(login.refreshToken()).andExpect(status().isOk()));
+        assertThat(renovado.refreshToken()).isNotEqualTo(login.refreshToken());
+        mockMvc.perform(get("/pedidos").header("Authorization", "Bearer " + renovado.token()))
+                .andExpect(status().isOk());
+
+        // Só o hash é persistido
+        assertThat(refreshTokenRepository.findAll())
+                .extracting(token -> token.getTokenHash())
+                .doesNotContain(login.refreshToken(), renovado.refreshToken());
+
+        // O token trocado há pouco ainda cai na janela de uso concorrente: é recusado sem revogar a família
+        refresh(login.refreshToken()).andExpect(status().isUnauthorized());
+        LoginResponse seguinte = lerResposta(refresh(renovado.refreshToken()).andExpect(status().isOk()));
+
+        // Forçando o uso antigo, a reapresentação é tratada como vazamento e derruba a família
+        refreshTokenRepository.findAll().stream()
+                .filter(token -> token.getUsadoEm() != null)
+                .forEach(token -> {
+                    token.setUsadoEm(token.getUsadoEm().minusSeconds(60));
+                    refreshTokenRepository.save(token);
+                });
+        refresh(login.refreshToken()).andExpect(status().isUnauthorized());
+        refresh(seguinte.refreshToken()).andExpect(status().isUnauthorized());
+    }
+
+    private LoginResponse login() throws Exception {
+        MvcResult resultado = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("sessao@email.com", "senha123"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return lerResposta(mockMvc.perform(asyncDispatch(resultado)).andExpect(status().isOk()));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken))));
+    }
+
+    private LoginResponse lerResposta(ResultActions resultado) throws Exception {
+        return objectMapper.readValue(resultado.andReturn().getResponse().getContentAsString(), LoginResponse.class);
+    }
+}
@@ -0,0 +1,103 @@
+package com.logap.teste.gerenciadorbackend.integration;
+
+import com.logap.teste.gerenciadorbackend.dto.response.PaginaCursorResponse;
+import com.logap.teste.gerenciadorbackend.dto.response.ProdutoResponse;
+import com.logap.teste.gerenciadorbackend.service.ProdutoService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mede a latência da busca textual em um catálogo de 1 milhão de produtos: termos seletivos,
+ * prefixos curtos, termos com erro de digitação e a segunda página por cursor. O p99 de cada página
+ * precisa ficar em até 20 ms.
+ * Não roda no build padrão; execute com {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BuscaProdutoBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final int TOTAL_PRODUTOS = 1_000_000;
+    private static final int TAMANHO_PAGINA = 20;
+    private static final int RODADAS_AQUECIMENTO = 20;
+    private static final int RODADAS_MEDIDAS = 200;
+    private static final double P99_MAXIMO_MS = 20.0;
+    private static final List<String> TERMOS = List.of("camiseta azul", "cafe", "tecl mec", "camizeta", "fone 4217");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @BeforeAll
+    void popularBase() {
+        jdbcTemplate.update("DELETE FROM pedidos");
+        jdbcTemplate.update("DELETE FROM produtos");
+        // Nomes combinam tipo, adjetivo e cor para que cada palavra apareça em uma fração diferente do catálogo
+        jdbcTemplate.update(
+                "INSERT INTO produtos (nome, descricao, preco, qtd_estoque) " +
+                        "SELECT " +
+                        "(ARRAY['Camiseta','Café','Teclado','Fone','Caneca','Mochila','Monitor','Cadeira'])[1 + g % 8] || ' ' || " +
+                        "(ARRAY['Básico','Mecânico','Especial','Gamer','Térmico','Premium'])[1 + g % 6] || ' ' || " +
+                        "(ARRAY['Azul','Preto','Branco','Vermelho','Verde'])[1 + g % 5] || ' ' || g, " +
+                        "'Produto de catálogo número ' || g || ' com garantia de fábrica', 10.00, 100 " +
+                        "FROM generate_series(1, ?) g",
+                TOTAL_PRODUTOS);
+        jdbcTemplate.execute("ANALYZE produtos");
+    }
+
+    @Test
+    void deveMedirLatenciaDaBusca() {
+        for (String termo : TERMOS) {
+            for (int i = 0; i < RODADAS_AQUECIMENTO; i++) {
+                buscarDuasPaginas(termo);
+            }
+            long[] primeira = new long[RODADAS_MEDIDAS];
+            long[] segunda = new long[RODADAS_MEDIDAS];
+            for (int i = 0; i < RODADAS_MEDIDAS; i++) {
+                long inicio = System.nanoTime();
+                PaginaCursorResponse<ProdutoResponse> pagina = produtoService.buscarProdutos(termo, null, TAMANHO_PAGINA);
+                primeira[i] = System.nanoTime() - inicio;
+                if (pagina.proximoCursor() != null) {
+                    inicio = System.nanoTime();
+                    produtoService.buscarProdutos(termo, pagina.proximoCursor(), TAMANHO_PAGINA);
+                    segunda[i] = System.nanoTime() - inicio;
+                }
+            }
+            log.info("Busca '{}' em {} produtos: primeira página p50={} ms p99={} ms; segunda página p50={} ms p99={} ms",
+                    termo, TOTAL_PRODUTOS, formatar(percentil(primeira, 50)), formatar(percentil(primeira, 99)),
+                    formatar(percentil(segunda, 50)), formatar(percentil(segunda, 99)));
+            assertThat(percentil(primeira, 99)).as("p99 da primeira página de '%s'", termo).isLessThanOrEqualTo(P99_MAXIMO_MS);
+            assertThat(percentil(segunda, 99)).as("p99 da segunda página de '%s'", termo).isLessThanOrEqualTo(P99_MAXIMO_MS);
+        }
+    }
+
+    private void buscarDuasPaginas(String termo) {
+        PaginaCursorResponse<ProdutoResponse> pagina = produtoService.buscarProdutos(termo, null, TAMANHO_PAGINA);
+        if (pagina.proximoCursor() != null) {
+            produtoService.buscarProdutos(termo, pagina.proximoCursor(), TAMANHO_PAGINA);
+        }
+    }
+
+    private static double percentil(long[] duracoesNanos, int percentil) {
+        long[] ordenadas = duracoesNanos.clone();
+        Arrays.sort(ordenadas);
+        int indice = Math.min(ordenadas.length - 1, (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1);
+        return ordenadas[indice] / 1_000_000.0;
+    }
+
+    private static String formatar(double milissegundos) {
+        return String.format("%.2f", milissegundos);
+    }
+}
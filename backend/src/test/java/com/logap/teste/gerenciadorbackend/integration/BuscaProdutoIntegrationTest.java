@@ -0,0 +1,105 @@
+package com.logap.teste.gerenciadorbackend.integration;
+
+import com.logap.teste.gerenciadorbackend.dto.request.ProdutoRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.PaginaCursorResponse;
+import com.logap.teste.gerenciadorbackend.dto.response.ProdutoResponse;
+import com.logap.teste.gerenciadorbackend.repository.PedidoRepository;
+import com.logap.teste.gerenciadorbackend.repository.ProdutoRepository;
+import com.logap.teste.gerenciadorbackend.service.ProdutoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BuscaProdutoIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @BeforeEach
+    void setUp() {
+        pedidoRepository.deleteAll();
+        produtoRepository.deleteAll();
+    }
+
+    @Test
+    void deveEncontrarPorPrefixoSemAcentos() {
+        ProdutoResponse cafe = criarProduto("Café Torrado Especial", "Grãos selecionados");
+        criarProduto("Caneca de Cerâmica", "Para café");
+        criarProduto("Teclado Mecânico", "Switches azuis");
+
+        List<String> encontrados = nomes(produtoService.buscarProdutos("cafe torr", null, 20));
+
+        assertThat(encontrados).containsExactly(cafe.nome());
+    }
+
+    @Test
+    void deveOrdenarNomeAntesDaDescricao() {
+        ProdutoResponse naDescricao = criarProduto("Caneca de Cerâmica", "Ideal para café");
+        ProdutoResponse noNome = criarProduto("Café em Cápsulas", "Intensidade 8");
+
+        List<String> encontrados = nomes(produtoService.buscarProdutos("café", null, 20));
+
+        assertThat(encontrados).containsExactly(noNome.nome(), naDescricao.nome());
+    }
+
+    @Test
+    void deveTolerarErroDeDigitacaoNoNome() {
+        ProdutoResponse camiseta = criarProduto("Camiseta Básica Algodão", "Gola redonda");
+        criarProduto("Calça Jeans", "Corte reto");
+
+        List<String> encontrados = nomes(produtoService.buscarProdutos("camizeta", null, 20));
+
+        assertThat(encontrados).containsExactly(camiseta.nome());
+    }
+
+    @Test
+    void devePercorrerTodosOsResultadosPorCursorSemRepetir() {
+        List<Long> criados = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            criados.add(criarProduto("Mouse Sem Fio " + i, "Mouse óptico").id());
+        }
+        criarProduto("Monitor 24 polegadas", "Full HD");
+
+        List<Long> percorridos = new ArrayList<>();
+        PaginaCursorResponse<ProdutoResponse> pagina = produtoService.buscarProdutos("mouse", null, 3);
+        pagina.itens().forEach(produto -> percorridos.add(produto.id()));
+        while (pagina.proximoCursor() != null) {
+            pagina = produtoService.buscarProdutos("mouse", pagina.proximoCursor(), 3);
+            pagina.itens().forEach(produto -> percorridos.add(produto.id()));
+        }
+
+        assertThat(percorridos).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(criados);
+    }
+
+    @Test
+    void deveManterVetorDeBuscaAtualizadoAoAlterarProduto() {
+        ProdutoResponse produto = criarProduto("Fone de Ouvido", "Bluetooth");
+        produtoRepository.findById(produto.id()).ifPresent(entidade -> {
+            entidade.setNome("Headset Gamer");
+            produtoRepository.save(entidade);
+        });
+
+        assertThat(nomes(produtoService.buscarProdutos("headset", null, 20))).containsExactly("Headset Gamer");
+        assertThat(produtoService.buscarProdutos("fone", null, 20).itens()).isEmpty();
+    }
+
+    private ProdutoResponse criarProduto(String nome, String descricao) {
+        return produtoService.criarProduto(new ProdutoRequest(nome, descricao, new BigDecimal("10.00"), 5));
+    }
+
+    private List<String> nomes(PaginaCursorResponse<ProdutoResponse> pagina) {
+        return pagina.itens().stream().map(ProdutoResponse::nome).toList();
+    }
+}
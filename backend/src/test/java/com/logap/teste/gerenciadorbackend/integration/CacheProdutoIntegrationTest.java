@@ -0,0 +1,162 @@
+package com.logap.teste.gerenciadorbackend.integration;
+
+import com.logap.teste.gerenciadorbackend.configuration.CacheConfig;
+import com.logap.teste.gerenciadorbackend.dto.request.ItemPedidoRequest;
+import com.logap.teste.gerenciadorbackend.dto.request.PedidoRequest;
+import com.logap.teste.gerenciadorbackend.dto.request.ProdutoRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.PedidoCriadoResponse;
+import com.logap.teste.gerenciadorbackend.dto.response.ProdutoResponse;
+import com.logap.teste.gerenciadorbackend.model.Produto;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+import com.logap.teste.gerenciadorbackend.repository.PedidoRepository;
+import com.logap.teste.gerenciadorbackend.repository.ProdutoRepository;
+import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
+import com.logap.teste.gerenciadorbackend.service.PedidoService;
+import com.logap.teste.gerenciadorbackend.service.ProdutoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheProdutoIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String EMAIL_CLIENTE = "cliente.cache@email.com";
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        pedidoRepository.deleteAll();
+        produtoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        estatisticas = sessionFactory.getStatistics();
+    }
+
+    @Test
+    void deveServirProdutoDoCacheDeSegundoNivel() {
+        ProdutoResponse produto = criarProduto("Produto Cacheado", 10);
+        produtoRepository.findById(produto.id());
+        long acertosAntes = acertos(CacheConfig.REGIAO_PRODUTOS);
+
+        assertThat(produtoRepository.findById(produto.id())).isPresent();
+
+        assertThat(acertos(CacheConfig.REGIAO_PRODUTOS)).isGreaterThan(acertosAntes);
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", CacheConfig.REGIAO_PRODUTOS).tag("result", "hit").functionCounter().count())
+                .isPositive();
+    }
+
+    @Test
+    void deveInvalidarProdutoAoReservarEBaixarEstoqueViaJdbc() {
+        ProdutoResponse produto = criarProduto("Produto Reservado", 10);
+        produtoRepository.findById(produto.id());
+
+        PedidoCriadoResponse pedido = pedidoService.criarPedido(
+                new PedidoRequest(List.of(new ItemPedidoRequest(produto.id(), 4))), criarCliente().getEmail());
+        Produto aposReserva = produtoRepository.findById(produto.id()).orElseThrow();
+        assertThat(aposReserva.getQuantidadeReservada()).isEqualTo(4);
+        assertThat(aposReserva.getQuantidadeDisponivel()).isEqualTo(6);
+
+        pedidoService.atualizarStatus(pedido.id(), StatusPedido.FINALIZADO);
+        Produto aposBaixa = produtoRepository.findById(produto.id()).orElseThrow();
+        assertThat(aposBaixa.getQuantidadeEstoque()).isEqualTo(6);
+        assertThat(aposBaixa.getQuantidadeReservada()).isZero();
+    }
+
+    @Test
+    void deveCachearPaginasDoCatalogoEInvalidarAoCriarProduto() {
+        criarProduto("Produto A", 1);
+        PageRequest pagina = PageRequest.of(0, 20);
+        produtoService.listarProdutosPaginado(pagina);
+        long acertosAntes = estatisticas.getQueryCacheHitCount();
+
+        assertThat(produtoService.listarProdutosPaginado(pagina).getTotalElements()).isEqualTo(1);
+        assertThat(estatisticas.getQueryCacheHitCount()).isGreaterThan(acertosAntes);
+
+        criarProduto("Produto B", 1);
+        assertThat(produtoService.listarProdutosPaginado(pagina).getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void deveManterPaginasDoCatalogoAoReservarEBaixarEstoque() {
+        ProdutoResponse produto = criarProduto("Produto do Catálogo", 10);
+        PageRequest pagina = PageRequest.of(0, 20);
+        produtoService.listarProdutosPaginado(pagina);
+
+        PedidoCriadoResponse pedido = pedidoService.criarPedido(
+                new PedidoRequest(List.of(new ItemPedidoRequest(produto.id(), 4))), criarCliente().getEmail());
+        pedidoService.atualizarStatus(pedido.id(), StatusPedido.FINALIZADO);
+        long acertosAntes = estatisticas.getQueryCacheHitCount();
+
+        // A página continua no cache, mas o produto é remontado com o estoque atual
+        ProdutoResponse listado = produtoService.listarProdutosPaginado(pagina).getContent().getFirst();
+        assertThat(estatisticas.getQueryCacheHitCount()).isGreaterThan(acertosAntes);
+        assertThat(listado.quantidadeEstoque()).isEqualTo(6);
+    }
+
+    @Test
+    void deveValidarEstoqueComValorAtualDoBanco() {
+        ProdutoResponse produto = criarProduto("Produto Atualizado", 10);
+        produtoRepository.findById(produto.id());
+        pedidoService.criarPedido(
+                new PedidoRequest(List.of(new ItemPedidoRequest(produto.id(), 3))), criarCliente().getEmail());
+
+        ProdutoResponse atualizado = produtoService.atualizarEstoque(produto.id(), 3);
+
+        assertThat(atualizado.quantidadeEstoque()).isEqualTo(3);
+        assertThat(produtoRepository.findById(produto.id()).orElseThrow().getQuantidadeDisponivel()).isZero();
+    }
+
+    private ProdutoResponse criarProduto(String nome, int estoque) {
+        return produtoService.criarProduto(new ProdutoRequest(nome, "Descrição", new BigDecimal("10.00"), estoque));
+    }
+
+    private Usuario criarCliente() {
+        return usuarioRepository.save(Usuario.builder()
+                .nome("Cliente Cache")
+                .email(EMAIL_CLIENTE)
+                .senha("senha")
+                .perfil(Perfil.CLIENTE)
+                .dataCriacao(Instant.now())
+                .build());
+    }
+
+    private long acertos(String regiao) {
+        return estatisticas.getDomainDataRegionStatistics(regiao).getHitCount();
+    }
+}
@@ -0,0 +1,74 @@
+package com.logap.teste.gerenciadorbackend.integration;
+
+import com.logap.teste.gerenciadorbackend.configuration.ContadorConsultasSql;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Limita os statements SQL executados na thread do teste, contados pelo {@link ContadorConsultasSql}.
+ * Com {@link MaximoConsultas} no método, vale para todo o corpo do teste; para medir só uma chamada
+ * (ex.: um endpoint depois de preparar os dados), use {@link #assertMaximoDeConsultas}. Requisições
+ * do MockMvc rodam na mesma thread e entram na conta, incluindo a autenticação.
+ */
+public class ContadorConsultasExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(ContadorConsultasExtension.class);
+    private static final String JANELA = "janela";
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaximoConsultas.class)
+                .ifPresent(maximo -> context.getStore(NAMESPACE).put(JANELA, ContadorConsultasSql.abrir()));
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        ContadorConsultasSql.Janela janela = context.getStore(NAMESPACE).remove(JANELA, ContadorConsultasSql.Janela.class);
+        if (janela == null) {
+            return;
+        }
+        janela.close();
+        int maximo = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaximoConsultas.class)
+                .orElseThrow()
+                .value();
+        verificar(janela, maximo);
+    }
+
+    public void assertMaximoDeConsultas(int maximo, Executavel executavel) throws Exception {
+        ContadorConsultasSql.Janela janela = ContadorConsultasSql.abrir();
+        try {
+            executavel.executar();
+        } finally {
+            janela.close();
+        }
+        verificar(janela, maximo);
+    }
+
+    private static void verificar(ContadorConsultasSql.Janela janela, int maximo) {
+        if (janela.total() > maximo) {
+            fail("Esperado no máximo " + maximo + " statements SQL, mas foram executados " + janela.total()
+                    + ":\n" + detalhar(janela.execucoesPorStatement()));
+        }
+    }
+
+    // Os statements mais repetidos primeiro, que é onde costuma estar o N+1
+    private static String detalhar(Map<String, Integer> execucoesPorStatement) {
+        return execucoesPorStatement.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .map(entrada -> "  " + entrada.getValue() + "x " + entrada.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+
+    @FunctionalInterface
+    public interface Executavel {
+        void executar() throws Exception;
+    }
+}
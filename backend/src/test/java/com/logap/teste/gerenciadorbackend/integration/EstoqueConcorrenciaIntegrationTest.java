@@ -0,0 +1,225 @@
+package com.logap.teste.gerenciadorbackend.integration;
+
+import com.logap.teste.gerenciadorbackend.dto.request.ItemPedidoRequest;
+import com.logap.teste.gerenciadorbackend.dto.request.PedidoRequest;
+import com.logap.teste.gerenciadorbackend.exception.BusinessException;
+import com.logap.teste.gerenciadorbackend.model.ItemPedido;
+import com.logap.teste.gerenciadorbackend.model.Pedido;
+import com.logap.teste.gerenciadorbackend.model.Produto;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+import com.logap.teste.gerenciadorbackend.repository.PedidoRepository;
+import com.logap.teste.gerenciadorbackend.repository.ProdutoRepository;
+import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
+import com.logap.teste.gerenciadorbackend.service.PedidoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EstoqueConcorrenciaIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int ESTOQUE_INICIAL = 50;
+    private static final int QUANTIDADE_POR_PEDIDO = 2;
+    private static final int TOTAL_PEDIDOS = 60;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @BeforeEach
+    void setUp() {
+        pedidoRepository.deleteAll();
+        produtoRepository.deleteAll();
+        usuarioRepository.deleteAll();
+    }
+
+    @Test
+    void naoDevePerderAtualizacoesDeEstoqueAoFinalizarPedidosConcorrentes() throws Exception {
+        Usuario cliente = usuarioRepository.save(Usuario.builder()
+                .nome("Cliente Concorrente")
+                .email("cliente.concorrente@email.com")
+                .senha("senha")
+                .perfil(Perfil.CLIENTE)
+                .dataCriacao(Instant.now())
+                .build());
+        Produto produto = produtoRepository.save(Produto.builder()
+                .nome("Produto Disputado")
+                .descricao("Produto com alta concorrência")
+                .preco(new BigDecimal("10.00"))
+                .quantidadeEstoque(ESTOQUE_INICIAL)
+                .build());
+
+        List<Long> pedidoIds = new ArrayList<>();
+        for (int i = 0; i < TOTAL_PEDIDOS; i++) {
+            Pedido pedido = Pedido.builder()
+                    .cliente(cliente)
+                    .status(StatusPedido.EM_ANDAMENTO)
+                    .valorTotal(new BigDecimal("20.00"))
+                    .build();
+            pedido.adicionarItem(ItemPedido.builder()
+                    .produto(produto)
+                    .quantidade(QUANTIDADE_POR_PEDIDO)
+                    .precoUnitario(produto.getPreco())
+                    .build());
+            pedidoIds.add(pedidoRepository.save(pedido).getId());
+        }
+
+        AtomicInteger finalizados = new AtomicInteger();
+        AtomicInteger recusados = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (Long pedidoId : pedidoIds) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        pedidoService.atualizarStatus(pedidoId, StatusPedido.FINALIZADO);
+                        finalizados.incrementAndGet();
+                    } catch (BusinessException e) {
+                        recusados.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int estoqueFinal = produtoRepository.findById(produto.getId()).orElseThrow().getQuantidadeEstoque();
+
+        assertThat(finalizados.get()).isEqualTo(ESTOQUE_INICIAL / QUANTIDADE_POR_PEDIDO);
+        assertThat(recusados.get()).isEqualTo(TOTAL_PEDIDOS - finalizados.get());
+        assertThat(estoqueFinal).isEqualTo(ESTOQUE_INICIAL - finalizados.get() * QUANTIDADE_POR_PEDIDO);
+        assertThat(estoqueFinal).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void naoDeveReservarAlemDoEstoqueComCarrinhosConcorrentes() throws Exception {
+        Usuario cliente = usuarioRepository.save(Usuario.builder()
+                .nome("Cliente Concorrente")
+                .email("cliente.concorrente@email.com")
+                .senha("senha")
+                .perfil(Perfil.CLIENTE)
+                .dataCriacao(Instant.now())
+                .build());
+        Produto produto = produtoRepository.save(Produto.builder()
+                .nome("Produto Disputado")
+                .descricao("Produto com alta concorrência")
+                .preco(new BigDecimal("10.00"))
+                .quantidadeEstoque(ESTOQUE_INICIAL)
+                .build());
+        PedidoRequest pedidoRequest = new PedidoRequest(
+                List.of(new ItemPedidoRequest(produto.getId(), QUANTIDADE_POR_PEDIDO)));
+
+        AtomicInteger criados = new AtomicInteger();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < TOTAL_PEDIDOS; i++) {
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        pedidoService.criarPedido(pedidoRequest, cliente.getEmail());
+                        criados.incrementAndGet();
+                    } catch (BusinessException e) {
+                        // Estoque esgotado para este carrinho
+                    }
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Produto produtoAtualizado = produtoRepository.findById(produto.getId()).orElseThrow();
+
+        assertThat(criados.get()).isEqualTo(ESTOQUE_INICIAL / QUANTIDADE_POR_PEDIDO);
+        assertThat(produtoAtualizado.getQuantidadeEstoque()).isEqualTo(ESTOQUE_INICIAL);
+        assertThat(produtoAtualizado.getQuantidadeReservada()).isEqualTo(criados.get() * QUANTIDADE_POR_PEDIDO);
+        assertThat(pedidoRepository.count()).isEqualTo(criados.get());
+    }
+
+    @Test
+    void naoDeveTravarCarrinhosComOsMesmosProdutosEmOrdemInversa() throws Exception {
+        Usuario cliente = usuarioRepository.save(Usuario.builder()
+                .nome("Cliente Concorrente")
+                .email("cliente.concorrente@email.com")
+                .senha("senha")
+                .perfil(Perfil.CLIENTE)
+                .dataCriacao(Instant.now())
+                .build());
+        Produto produtoA = salvarProduto("Produto A", TOTAL_PEDIDOS);
+        Produto produtoB = salvarProduto("Produto B", TOTAL_PEDIDOS);
+        PedidoRequest aDepoisB = new PedidoRequest(List.of(
+                new ItemPedidoRequest(produtoA.getId(), 1), new ItemPedidoRequest(produtoB.getId(), 1)));
+        PedidoRequest bDepoisA = new PedidoRequest(List.of(
+                new ItemPedidoRequest(produtoB.getId(), 1), new ItemPedidoRequest(produtoA.getId(), 1)));
+
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < TOTAL_PEDIDOS; i++) {
+                PedidoRequest pedidoRequest = i % 2 == 0 ? aDepoisB : bDepoisA;
+                tarefas.add(executor.submit(() -> {
+                    largada.await();
+                    // Um deadlock (40P01) chegaria aqui como exceção e falharia o teste
+                    pedidoService.criarPedido(pedidoRequest, cliente.getEmail());
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(pedidoRepository.count()).isEqualTo(TOTAL_PEDIDOS);
+        assertThat(produtoRepository.findById(produtoA.getId()).orElseThrow().getQuantidadeReservada()).isEqualTo(TOTAL_PEDIDOS);
+        assertThat(produtoRepository.findById(produtoB.getId()).orElseThrow().getQuantidadeReservada()).isEqualTo(TOTAL_PEDIDOS);
+    }
+
+    private Produto salvarProduto(String nome, int estoque) {
+        return produtoRepository.save(Produto.builder()
+                .nome(nome)
+                .descricao("Produto com alta concorrência")
+                .preco(new BigDecimal("10.00"))
+                .quantidadeEstoque(estoque)
+                .build());
+    }
+}
@@ -0,0 +1,13 @@
+package com.logap.teste.gerenciadorbackend.integration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Número máximo de statements SQL que o corpo do teste pode executar (ver ContadorConsultasExtension)
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MaximoConsultas {
+    int value();
+}
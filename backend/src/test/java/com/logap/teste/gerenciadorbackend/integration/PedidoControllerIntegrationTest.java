@@ -1,36 +1,54 @@
 package com.logap.teste.gerenciadorbackend.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logap.teste.gerenciadorbackend.controller.PedidoController;
 import com.logap.teste.gerenciadorbackend.dto.request.ItemPedidoRequest;
 import com.logap.teste.gerenciadorbackend.dto.request.LoginRequest;
 import com.logap.teste.gerenciadorbackend.dto.response.LoginResponse;
 import com.logap.teste.gerenciadorbackend.dto.request.PedidoRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.PedidoResumoResponse;
 import com.logap.teste.gerenciadorbackend.model.Pedido;
 import com.logap.teste.gerenciadorbackend.model.Produto;
 import com.logap.teste.gerenciadorbackend.model.Usuario;
 import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
 import com.logap.teste.gerenciadorbackend.repository.PedidoRepository;
 import com.logap.teste.gerenciadorbackend.repository.ProdutoRepository;
 import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
+import com.logap.teste.gerenciadorbackend.service.DashboardService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class PedidoControllerIntegrationTest extends AbstractIntegrationTest {
 
+    @RegisterExtension
+    final ContadorConsultasExtension consultas = new ContadorConsultasExtension();
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -49,6 +67,15 @@ public class PedidoControllerIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         pedidoRepository.deleteAll();
@@ -87,8 +114,9 @@ public class PedidoControllerIntegrationTest extends AbstractIntegrationTest {
         Produto produtoAtualizado = produtoRepository.findById(produto.getId()).orElseThrow(
                 () -> new AssertionError("Produto não encontrado após criação do pedido")
         );
-        // Estoque não deve ser alterado na criação do pedido
+        // Estoque não deve ser alterado na criação do pedido, apenas reservado
         assertThat(produtoAtualizado.getQuantidadeEstoque()).isEqualTo(10);
+        assertThat(produtoAtualizado.getQuantidadeReservada()).isEqualTo(2);
     }
 
     @Test
@@ -138,6 +166,253 @@ public class PedidoControllerIntegrationTest extends AbstractIntegrationTest {
 
         Produto produtoAtualizado = produtoRepository.findById(produto.getId()).orElseThrow();
         assertThat(produtoAtualizado.getQuantidadeEstoque()).isEqualTo(7);
+        assertThat(produtoAtualizado.getQuantidadeReservada()).isZero();
+    }
+
+    @Test
+    void deveCriarPedidoSemConsultaPorItem() throws Exception {
+        Usuario cliente = criarClienteDeTeste();
+        String token = obterTokenDeLogin(cliente.getEmail());
+
+        int quantidadeDeProdutos = 50;
+        List<ItemPedidoRequest> itens = new ArrayList<>();
+        for (int i = 0; i < quantidadeDeProdutos; i++) {
+            Produto produto = criarProdutoDeTeste("Produto " + i, 100);
+            itens.add(new ItemPedidoRequest(produto.getId(), 1));
+        }
+        // Linha repetida deve ser agrupada ao item já existente
+        itens.add(new ItemPedidoRequest(itens.getFirst().produtoId(), 2));
+        PedidoRequest pedidoRequest = new PedidoRequest(itens);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Antes (ids IDENTITY): 3 consultas + 1 insert por entidade = 54 statements para 50 itens.
+        // Depois (sequences + batch): 3 consultas, nextval das sequences e inserts em lote (pedido, itens e
+        // reservas de estoque), mais os lotes JDBC da reserva e dos agregados do dashboard.
+        consultas.assertMaximoDeConsultas(14, () -> mockMvc.perform(post("/pedidos")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pedidoRequest)))
+                .andExpect(status().isCreated()));
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + 2L * quantidadeDeProdutos);
+
+        Pedido pedidoSalvo = pedidoRepository.findByIdWithItens(pedidoRepository.findAll().getFirst().getId())
+                .orElseThrow();
+        assertThat(pedidoSalvo.getItens()).hasSize(quantidadeDeProdutos);
+    }
+
+    @Test
+    void devePercorrerTodosOsPedidosPorCursorSemRepetirOuPular() throws Exception {
+        Usuario cliente = criarClienteDeTeste();
+        Instant base = Instant.parse("2025-01-01T12:00:00Z");
+        // Datas repetidas garantem que o desempate por id também é exercitado
+        for (int i = 0; i < 7; i++) {
+            pedidoRepository.save(Pedido.builder()
+                    .cliente(cliente)
+                    .status(StatusPedido.EM_ANDAMENTO)
+                    .valorTotal(new BigDecimal("10.00"))
+                    .dataCriacao(base.plusSeconds(i / 2))
+                    .build());
+        }
+        Usuario vendedor = criarVendedorDeTeste();
+        String tokenVendedor = obterTokenDeLogin(vendedor.getEmail());
+
+        List<Long> idsLidos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            var requisicao = get("/pedidos")
+                    .header("Authorization", "Bearer " + tokenVendedor)
+                    .param("limit", "3");
+            if (cursor != null) {
+                requisicao.param("cursor", cursor);
+            }
+            MvcResult result = mockMvc.perform(requisicao)
+                    .andExpect(status().isOk())
+                    .andReturn();
+            PedidoResumoResponse[] pagina = objectMapper.readValue(
+                    result.getResponse().getContentAsString(), PedidoResumoResponse[].class);
+            for (PedidoResumoResponse pedido : pagina) {
+                idsLidos.add(pedido.id());
+            }
+            cursor = result.getResponse().getHeader(PedidoController.NEXT_CURSOR_HEADER);
+            paginas++;
+        } while (cursor != null);
+
+        List<Long> esperado = pedidoRepository.findAll().stream()
+                .sorted(Comparator.comparing(Pedido::getDataCriacao).thenComparing(Pedido::getId).reversed())
+                .map(Pedido::getId)
+                .toList();
+        assertThat(paginas).isEqualTo(3);
+        assertThat(idsLidos).containsExactlyElementsOf(esperado);
+    }
+
+    @Test
+    void deveListarPedidosPorProjecaoSemCarregarEntidades() throws Exception {
+        Usuario cliente = criarClienteDeTeste();
+        for (int i = 0; i < 5; i++) {
+            pedidoRepository.save(Pedido.builder()
+                    .cliente(cliente)
+                    .status(StatusPedido.EM_ANDAMENTO)
+                    .valorTotal(new BigDecimal("10.00"))
+                    .build());
+        }
+        Usuario vendedor = criarVendedorDeTeste();
+        String tokenVendedor = obterTokenDeLogin(vendedor.getEmail());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Apenas a consulta de autenticação e a listagem
+        consultas.assertMaximoDeConsultas(2, () -> {
+            MvcResult result = mockMvc.perform(get("/pedidos")
+                            .header("Authorization", "Bearer " + tokenVendedor))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            PedidoResumoResponse[] pedidos = objectMapper.readValue(
+                    result.getResponse().getContentAsString(), PedidoResumoResponse[].class);
+            assertThat(pedidos).hasSize(5).allMatch(p -> "Cliente Teste".equals(p.nomeCliente()));
+        });
+        // Nenhum Pedido (ou cliente) hidratado
+        assertThat(statistics.getEntityStatistics(Pedido.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void deveDetalharPedidoSemConsultaPorProduto() throws Exception {
+        Usuario cliente = criarClienteDeTeste();
+        String token = obterTokenDeLogin(cliente.getEmail());
+        List<ItemPedidoRequest> itens = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            itens.add(new ItemPedidoRequest(criarProdutoDeTeste("Produto " + i, 10).getId(), 1));
+        }
+        mockMvc.perform(post("/pedidos")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new PedidoRequest(itens))))
+                .andExpect(status().isCreated());
+        Long pedidoId = pedidoRepository.findAll().getFirst().getId();
+
+        // Cliente, itens e produtos numa única consulta; antes eram mais um SELECT do cliente e um por produto
+        consultas.assertMaximoDeConsultas(2, () -> mockMvc.perform(get("/pedidos/{id}", pedidoId)
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(5)));
+    }
+
+    @Test
+    void deveExportarPedidosFiltradosComItensEmNdjson() throws Exception {
+        Usuario cliente = criarClienteDeTeste();
+        String tokenCliente = obterTokenDeLogin(cliente.getEmail());
+        Produto produto = criarProdutoDeTeste("Produto Exportado", 10);
+        PedidoRequest pedidoRequest = new PedidoRequest(List.of(new ItemPedidoRequest(produto.getId(), 2)));
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/pedidos")
+                            .header("Authorization", "Bearer " + tokenCliente)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(pedidoRequest)))
+                    .andExpect(status().isCreated());
+        }
+        Pedido cancelado = pedidoRepository.findAll().getFirst();
+        cancelado.setStatus(StatusPedido.CANCELADO);
+        pedidoRepository.save(cancelado);
+
+        Usuario vendedor = criarVendedorDeTeste();
+        String tokenVendedor = obterTokenDeLogin(vendedor.getEmail());
+
+        MvcResult result = mockMvc.perform(get("/pedidos/exportacao")
+                        .header("Authorization", "Bearer " + tokenVendedor)
+                        .param("status", "EM_ANDAMENTO")
+                        .param("incluirItens", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String corpo = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> linhas = corpo.lines().toList();
+        assertThat(linhas).hasSize(2);
+        for (String linha : linhas) {
+            var pedido = objectMapper.readTree(linha);
+            assertThat(pedido.get("statusPedido").asText()).isEqualTo("EM_ANDAMENTO");
+            assertThat(pedido.get("id").asLong()).isNotEqualTo(cancelado.getId());
+            assertThat(pedido.get("itens")).hasSize(1);
+            assertThat(pedido.get("itens").get(0).get("nomeProduto").asText()).isEqualTo("Produto Exportado");
+        }
+    }
+
+    @Test
+    void deveManterAgregadosDoDashboardIguaisAReconstrucao() throws Exception {
+        Usuario administrador = usuarioRepository.save(Usuario.builder()
+                .nome("Administrador Teste")
+                .email("admin.teste@email.com")
+                .senha(passwordEncoder.encode("senha123"))
+                .perfil(Perfil.ADMINISTRADOR)
+                .dataCriacao(Instant.now())
+                .build());
+        String tokenAdministrador = obterTokenDeLogin(administrador.getEmail());
+        // Parte de agregados coerentes com a base limpa pelo setUp
+        mockMvc.perform(post("/dashboard/agregados/reconciliacao")
+                        .header("Authorization", "Bearer " + tokenAdministrador))
+                .andExpect(status().isNoContent());
+
+        Usuario cliente = criarClienteDeTeste();
+        String tokenCliente = obterTokenDeLogin(cliente.getEmail());
+        Produto produtoA = criarProdutoDeTeste("Produto A", 20);
+        Produto produtoB = criarProdutoDeTeste("Produto B", 20);
+        List<PedidoRequest> pedidos = List.of(
+                new PedidoRequest(List.of(new ItemPedidoRequest(produtoA.getId(), 3), new ItemPedidoRequest(produtoB.getId(), 1))),
+                new PedidoRequest(List.of(new ItemPedidoRequest(produtoA.getId(), 2))),
+                new PedidoRequest(List.of(new ItemPedidoRequest(produtoB.getId(), 1))));
+        for (PedidoRequest pedidoRequest : pedidos) {
+            mockMvc.perform(post("/pedidos")
+                            .header("Authorization", "Bearer " + tokenCliente)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(pedidoRequest)))
+                    .andExpect(status().isCreated());
+        }
+        List<Pedido> criados = pedidoRepository.findAll();
+        mockMvc.perform(patch("/pedidos/{id}/status", criados.get(0).getId())
+                        .header("Authorization", "Bearer " + tokenAdministrador)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"novoStatus\":\"FINALIZADO\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/pedidos/{id}/status", criados.get(1).getId())
+                        .header("Authorization", "Bearer " + tokenAdministrador)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"novoStatus\":\"CANCELADO\"}"))
+                .andExpect(status().isOk());
+
+        String incremental = obterEstatisticasDoDashboard(tokenAdministrador);
+        var estatisticas = objectMapper.readTree(incremental);
+        assertThat(estatisticas.get("totalPedidos").asLong()).isEqualTo(3);
+        assertThat(estatisticas.get("pedidosPendentes").asLong()).isEqualTo(1);
+        assertThat(estatisticas.get("faturamentoTotal").decimalValue())
+                .isEqualByComparingTo(criados.get(0).getValorTotal());
+        assertThat(estatisticas.get("topProdutos").get(0).get("nomeProduto").asText()).isEqualTo("Produto A");
+        assertThat(estatisticas.get("topProdutos").get(0).get("totalVendido").asLong()).isEqualTo(5);
+        assertThat(estatisticas.get("topClientes").get(0).get("totalPedidos").asLong()).isEqualTo(3);
+
+        // Divergências introduzidas por fora são desfeitas pela reconciliação
+        jdbcTemplate.update("UPDATE dashboard_vendas_produto SET quantidade_vendida = quantidade_vendida + 7");
+        jdbcTemplate.update("UPDATE dashboard_resumo_status SET quantidade_pedidos = quantidade_pedidos + 2, " +
+                "valor_total = valor_total + 50 WHERE status = 'CANCELADO' AND fatia = 3");
+        jdbcTemplate.update("DELETE FROM dashboard_pedidos_cliente");
+        mockMvc.perform(post("/dashboard/agregados/reconciliacao")
+                        .header("Authorization", "Bearer " + tokenAdministrador))
+                .andExpect(status().isNoContent());
+        assertThat(objectMapper.readTree(obterEstatisticasDoDashboard(tokenAdministrador))).isEqualTo(estatisticas);
+    }
+
+    private String obterEstatisticasDoDashboard(String token) throws Exception {
+        // O snapshot é atualizado em segundo plano; força a atualização para não depender do tempo
+        dashboardService.atualizarSnapshot();
+        return mockMvc.perform(get("/dashboard/stats")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
     }
 
     private Usuario criarVendedorDeTeste() {
@@ -177,9 +452,13 @@ public class PedidoControllerIntegrationTest extends AbstractIntegrationTest {
     private String obterTokenDeLogin(String email) throws Exception {
         LoginRequest loginRequest = new LoginRequest(email, "senha123");
 
-        MvcResult result = mockMvc.perform(post("/auth/login")
+        MvcResult login = mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(login))
                 .andExpect(status().isOk())
                 .andReturn();
 
@@ -0,0 +1,133 @@
+package com.logap.teste.gerenciadorbackend.integration;
+
+import com.logap.teste.gerenciadorbackend.dto.response.PedidoResumoResponse;
+import com.logap.teste.gerenciadorbackend.model.Pedido;
+import com.logap.teste.gerenciadorbackend.repository.PedidoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara a listagem de pedidos carregando entidades (como era feito antes) com a projeção
+ * direta em {@link PedidoResumoResponse}, percorrendo 100 mil pedidos em páginas por cursor.
+ * Não roda no build padrão; execute com {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PedidoListagemBenchmarkTest extends AbstractIntegrationTest {
+
+    private static final int TOTAL_PEDIDOS = 100_000;
+    private static final int TOTAL_CLIENTES = 1_000;
+    private static final int TAMANHO_PAGINA = 200;
+    private static final int RODADAS_AQUECIMENTO = 2;
+    private static final int RODADAS_MEDIDAS = 5;
+
+    private static final String ENTIDADE_PRIMEIRA_PAGINA =
+            "SELECT p FROM Pedido p ORDER BY p.dataCriacao DESC, p.id DESC";
+    private static final String ENTIDADE_PAGINA_APOS =
+            "SELECT p FROM Pedido p WHERE p.dataCriacao < :dataCriacao " +
+                    "OR (p.dataCriacao = :dataCriacao AND p.id < :id) ORDER BY p.dataCriacao DESC, p.id DESC";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @BeforeAll
+    void popularBase() {
+        jdbcTemplate.update("DELETE FROM pedidos");
+        jdbcTemplate.update(
+                "INSERT INTO usuarios (nome, email, senha, perfil) " +
+                        "SELECT 'Cliente ' || g, 'cliente' || g || '@benchmark.com', 'x', 'CLIENTE' " +
+                        "FROM generate_series(1, ?) g ON CONFLICT (email) DO NOTHING", TOTAL_CLIENTES);
+        jdbcTemplate.update(
+                "INSERT INTO pedidos (cliente_id, status, valor_total, data_criacao) " +
+                        "SELECT u.id, 'EM_ANDAMENTO', 10.00, now() - (g || ' seconds')::interval " +
+                        "FROM generate_series(1, ?) g " +
+                        "JOIN (SELECT id, row_number() OVER (ORDER BY id) AS n FROM usuarios " +
+                        "      WHERE email LIKE '%@benchmark.com') u ON u.n = 1 + g % ?",
+                TOTAL_PEDIDOS, TOTAL_CLIENTES);
+        jdbcTemplate.execute("ANALYZE pedidos");
+        jdbcTemplate.execute("ANALYZE usuarios");
+    }
+
+    @Test
+    void deveCompararListagemPorEntidadeEPorProjecao() {
+        long entidade = medir("entidade", this::listarTudoPorEntidade);
+        long projecao = medir("projeção", this::listarTudoPorProjecao);
+
+        log.info("Listagem de {} pedidos em páginas de {}: entidade={} ms, projeção={} ms ({}x)",
+                TOTAL_PEDIDOS, TAMANHO_PAGINA, entidade, projecao,
+                String.format("%.2f", (double) entidade / Math.max(projecao, 1)));
+    }
+
+    private long medir(String nome, Supplier<List<Long>> listagem) {
+        for (int i = 0; i < RODADAS_AQUECIMENTO; i++) {
+            assertThat(listagem.get()).hasSize(TOTAL_PEDIDOS);
+        }
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < RODADAS_MEDIDAS; i++) {
+            long inicio = System.nanoTime();
+            List<Long> ids = listagem.get();
+            long decorrido = (System.nanoTime() - inicio) / 1_000_000;
+            assertThat(ids).hasSize(TOTAL_PEDIDOS);
+            melhor = Math.min(melhor, decorrido);
+            log.info("{} rodada {}: {} ms", nome, i + 1, decorrido);
+        }
+        return melhor;
+    }
+
+    // Caminho antigo: carrega Pedido e, pelo @ManyToOne EAGER, o Usuario completo de cada cliente
+    private List<Long> listarTudoPorEntidade() {
+        List<Long> ids = new ArrayList<>(TOTAL_PEDIDOS);
+        List<Pedido> pagina = entityManager.createQuery(ENTIDADE_PRIMEIRA_PAGINA, Pedido.class)
+                .setMaxResults(TAMANHO_PAGINA)
+                .getResultList();
+        while (!pagina.isEmpty()) {
+            for (Pedido pedido : pagina) {
+                PedidoResumoResponse resumo = new PedidoResumoResponse(pedido.getId(), pedido.getDataCriacao(),
+                        pedido.getValorTotal(), pedido.getStatus(), pedido.getCliente().getNome());
+                ids.add(resumo.id());
+            }
+            Pedido ultimo = pagina.getLast();
+            pagina = entityManager.createQuery(ENTIDADE_PAGINA_APOS, Pedido.class)
+                    .setParameter("dataCriacao", ultimo.getDataCriacao())
+                    .setParameter("id", ultimo.getId())
+                    .setMaxResults(TAMANHO_PAGINA)
+                    .getResultList();
+        }
+        return ids;
+    }
+
+    private List<Long> listarTudoPorProjecao() {
+        List<Long> ids = new ArrayList<>(TOTAL_PEDIDOS);
+        PageRequest pagina = PageRequest.of(0, TAMANHO_PAGINA);
+        List<PedidoResumoResponse> resumos = pedidoRepository.findPrimeiraPagina(pagina);
+        while (!resumos.isEmpty()) {
+            resumos.forEach(resumo -> ids.add(resumo.id()));
+            PedidoResumoResponse ultimo = resumos.getLast();
+            Instant dataCriacao = ultimo.dataCriacao();
+            resumos = pedidoRepository.findPaginaApos(dataCriacao, ultimo.id(), pagina);
+        }
+        return ids;
+    }
+}
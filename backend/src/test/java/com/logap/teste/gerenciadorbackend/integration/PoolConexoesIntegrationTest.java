@@ -0,0 +1,50 @@
+package com.logap.teste.gerenciadorbackend.integration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PoolConexoesIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String POOL = "gerenciador-pool";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deveUsarPoolNomeadoComTamanhoDoPerfil() throws SQLException {
+        // O pool fica atrás do ContadorConsultasDataSource
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        assertThat(hikari.getPoolName()).isEqualTo(POOL);
+        assertThat(hikari.getMaximumPoolSize()).isEqualTo(5);
+        assertThat(hikari.getMinimumIdle()).isEqualTo(hikari.getMaximumPoolSize());
+    }
+
+    @Test
+    void deveExporMetricasDeSaturacaoDoPool() {
+        Timer aquisicao = meterRegistry.get("hikaricp.connections.acquire").tag("pool", POOL).timer();
+        long aquisicoesAntes = aquisicao.count();
+
+        jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+
+        assertThat(aquisicao.count()).isGreaterThan(aquisicoesAntes);
+        assertThat(meterRegistry.get("hikaricp.connections.idle").tag("pool", POOL).gauge().value()).isPositive();
+        assertThat(meterRegistry.get("hikaricp.connections.pending").tag("pool", POOL).gauge().value()).isZero();
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", POOL).gauge().value()).isEqualTo(5);
+    }
+}
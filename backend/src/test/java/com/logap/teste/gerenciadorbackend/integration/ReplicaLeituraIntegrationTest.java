@@ -0,0 +1,170 @@
+package com.logap.teste.gerenciadorbackend.integration;
+
+import com.logap.teste.gerenciadorbackend.dto.request.ProdutoRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.ProdutoResponse;
+import com.logap.teste.gerenciadorbackend.model.Produto;
+import com.logap.teste.gerenciadorbackend.service.ProdutoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sobe um Postgres principal e uma réplica por streaming replication (pg_basebackup) e verifica que
+ * transações somente leitura vão para a réplica, escritas para a primária e que, com a réplica fora,
+ * as leituras voltam para a primária.
+ */
+@SpringBootTest
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReplicaLeituraIntegrationTest {
+
+    private static final String IMAGEM = "postgres:16-alpine";
+    private static final String USUARIO = "testuser";
+    private static final String SENHA = "testpass";
+    private static final String BANCO = "testdb";
+
+    static final Network rede = Network.newNetwork();
+
+    static final PostgreSQLContainer<?> primaria = new PostgreSQLContainer<>(IMAGEM)
+            .withNetwork(rede)
+            .withNetworkAliases("primaria")
+            .withDatabaseName(BANCO)
+            .withUsername(USUARIO)
+            .withPassword(SENHA)
+            .withCopyToContainer(
+                    Transferable.of("echo \"host replication all all scram-sha-256\" >> \"$PGDATA/pg_hba.conf\"\n"),
+                    "/docker-entrypoint-initdb.d/liberar-replicacao.sh");
+
+    static final GenericContainer<?> replica = new GenericContainer<>(IMAGEM)
+            .withNetwork(rede)
+            .withExposedPorts(PostgreSQLContainer.POSTGRESQL_PORT)
+            .withEnv("PGDATA", "/var/lib/postgresql/data")
+            .withEnv("PGPASSWORD", SENHA)
+            .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres"))
+            .withCommand("sh", "-c", "pg_basebackup -h primaria -U " + USUARIO + " -D \"$PGDATA\" -R -X stream"
+                    + " && chmod 0700 \"$PGDATA\" && exec postgres")
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*\\n", 1));
+
+    static {
+        primaria.start();
+        replica.start();
+    }
+
+    @DynamicPropertySource
+    static void setDatasourceProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primaria::getJdbcUrl);
+        registry.add("spring.datasource.username", primaria::getUsername);
+        registry.add("spring.datasource.password", primaria::getPassword);
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("datasource.replica.enabled", () -> "true");
+        registry.add("datasource.replica.url", () -> "jdbc:postgresql://" + replica.getHost() + ":"
+                + replica.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + BANCO);
+        registry.add("datasource.replica.username", () -> USUARIO);
+        registry.add("datasource.replica.password", () -> SENHA);
+        registry.add("datasource.replica.lag-check-interval", () -> "500");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @Order(1)
+    void deveLerDaReplicaSomenteEmTransacoesSomenteLeitura() {
+        assertThat(emRecuperacao(true)).isTrue();
+        assertThat(emRecuperacao(false)).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)).isFalse();
+    }
+
+    @Test
+    @Order(2)
+    void deveListarProdutosReplicadosPelaReplica() throws InterruptedException {
+        double leiturasAntes = leituras("replica");
+        ProdutoResponse criado = produtoService.criarProduto(
+                new ProdutoRequest("Produto Replicado", "Lido da réplica", new BigDecimal("12.50"), 3));
+        // Como após uma reserva via JDBC: o produto sai do cache e a próxima leitura vai para a réplica
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Produto.class, criado.id());
+
+        boolean replicado = false;
+        long limite = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!replicado && System.nanoTime() < limite) {
+            replicado = produtoService.listarProdutosPaginado(PageRequest.of(0, 100)).getContent().stream()
+                    .anyMatch(produto -> produto.id().equals(criado.id()));
+            if (!replicado) {
+                Thread.sleep(100);
+            }
+        }
+
+        assertThat(replicado).isTrue();
+        assertThat(leituras("replica")).isGreaterThan(leiturasAntes);
+        // O que veio da réplica (possivelmente atrasada) não foi parar no cache de segundo nível
+        assertThat(cache.containsEntity(Produto.class, criado.id())).isFalse();
+        assertThat(meterRegistry.get("datasource.replica.lag").gauge().value()).isLessThan(5);
+    }
+
+    @Test
+    @Order(3)
+    void deveVoltarParaPrimariaQuandoReplicaCai() throws InterruptedException {
+        replica.stop();
+
+        // A verificação periódica percebe a queda e marca a réplica como indisponível
+        long limite = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (replicaDisponivel() && System.nanoTime() < limite) {
+            Thread.sleep(100);
+        }
+        assertThat(replicaDisponivel()).isFalse();
+
+        double leiturasAntes = leituras("primaria");
+        assertThat(emRecuperacao(true)).isFalse();
+        assertThat(leituras("primaria")).isGreaterThan(leiturasAntes);
+    }
+
+    private boolean replicaDisponivel() {
+        return meterRegistry.get("datasource.replica.disponivel").gauge().value() > 0;
+    }
+
+    private boolean emRecuperacao(boolean somenteLeitura) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        return Boolean.TRUE.equals(transacao.execute(status ->
+                jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)));
+    }
+
+    private double leituras(String destino) {
+        return meterRegistry.get("datasource.leituras").tag("destino", destino).counter().count();
+    }
+}
@@ -0,0 +1,167 @@
+package com.logap.teste.gerenciadorbackend.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logap.teste.gerenciadorbackend.dto.request.LoginRequest;
+import com.logap.teste.gerenciadorbackend.dto.request.RefreshTokenRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.LoginResponse;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
+import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara o custo de CPU do processo da aplicação para manter sessões vivas com tokens de acesso curtos:
+ * renovando por novo login (BCrypt a cada renovação) ou por refresh token (hash + consulta + HMAC).
+ * As requisições passam por HTTP real; o CPU do Postgres, em outro processo, não entra na conta.
+ * Não roda no build padrão; execute com {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+        "auth.login.rate-limit.ip.capacity=1000000",
+        "auth.login.rate-limit.ip.refill-per-minute=1000000",
+        "auth.login.rate-limit.email.capacity=1000000",
+        "auth.login.rate-limit.email.refill-per-minute=1000000"
+})
+class SessaoRenovacaoLoadTest extends AbstractIntegrationTest {
+
+    private static final String EMAIL = "carga@benchmark.com";
+    private static final String SENHA = "senha123";
+    private static final int SESSOES_CONCORRENTES = 8;
+    private static final int RENOVACOES_POR_SESSAO = 25;
+    private static final int HORAS_POR_TURNO = 8;
+
+    @LocalServerPort
+    private int porta;
+
+    @Value("${spring.mvc.servlet.path}")
+    private String servletPath;
+
+    @Value("${jwt.expiration}")
+    private long expiracaoAcesso;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @BeforeAll
+    void criarUsuario() {
+        usuarioRepository.findByEmail(EMAIL).ifPresent(usuarioRepository::delete);
+        Usuario usuario = new Usuario();
+        usuario.setNome("Carga");
+        usuario.setEmail(EMAIL);
+        usuario.setSenha(passwordEncoder.encode(SENHA));
+        usuario.setPerfil(Perfil.CLIENTE);
+        usuarioRepository.save(usuario);
+    }
+
+    @Test
+    void deveCompararCpuPorHoraDeSessao() throws Exception {
+        // Aquecimento dos dois caminhos antes de medir
+        executarEmSessoes(this::renovarPorLogin);
+        executarEmSessoes(this::renovarPorRefresh);
+
+        double cpuLoginMs = executarEmSessoes(this::renovarPorLogin);
+        double cpuRefreshMs = executarEmSessoes(this::renovarPorRefresh);
+
+        double renovacoesPorHora = 3_600_000.0 / expiracaoAcesso;
+        double porLogin = renovacoesPorHora * cpuLoginMs;
+        // Com refresh token, um login por turno e o restante por renovações
+        double porRefresh = renovacoesPorHora * cpuRefreshMs + cpuLoginMs / HORAS_POR_TURNO;
+
+        log.info("CPU por renovação: login={} ms, refresh={} ms", formatar(cpuLoginMs), formatar(cpuRefreshMs));
+        log.info("CPU por hora de sessão ({} renovações/h): re-login={} ms, refresh={} ms ({}x)",
+                formatar(renovacoesPorHora), formatar(porLogin), formatar(porRefresh), formatar(porLogin / porRefresh));
+
+        assertThat(cpuRefreshMs).isLessThan(cpuLoginMs);
+    }
+
+    // Devolve o CPU médio do processo, em ms, por renovação
+    private double executarEmSessoes(Sessao sessao) throws Exception {
+        long cpuInicial = cpuDoProcessoNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int i = 0; i < SESSOES_CONCORRENTES; i++) {
+                futuros.add(executor.submit(() -> {
+                    sessao.renovar(RENOVACOES_POR_SESSAO);
+                    return null;
+                }));
+            }
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        }
+        long cpuTotal = cpuDoProcessoNanos() - cpuInicial;
+        return cpuTotal / 1_000_000.0 / (SESSOES_CONCORRENTES * RENOVACOES_POR_SESSAO);
+    }
+
+    private void renovarPorLogin(int renovacoes) throws Exception {
+        for (int i = 0; i < renovacoes; i++) {
+            login();
+        }
+    }
+
+    private void renovarPorRefresh(int renovacoes) throws Exception {
+        String refreshToken = login().refreshToken();
+        for (int i = 0; i < renovacoes; i++) {
+            refreshToken = enviar("/auth/refresh", new RefreshTokenRequest(refreshToken)).refreshToken();
+        }
+    }
+
+    private LoginResponse login() throws Exception {
+        return enviar("/auth/login", new LoginRequest(EMAIL, SENHA));
+    }
+
+    private LoginResponse enviar(String caminho, Object corpo) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + servletPath + caminho))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(corpo)))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readValue(response.body(), LoginResponse.class);
+    }
+
+    private static long cpuDoProcessoNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+
+    private static String formatar(double valor) {
+        return String.format("%.2f", valor);
+    }
+
+    @FunctionalInterface
+    private interface Sessao {
+        void renovar(int renovacoes) throws Exception;
+    }
+}
@@ -0,0 +1,182 @@
+package com.logap.teste.gerenciadorbackend.integration;
+
+import com.logap.teste.gerenciadorbackend.GerenciadorbackendApplication;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
+import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
+import com.logap.teste.gerenciadorbackend.service.JwtService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sobe a aplicação duas vezes contra o mesmo Postgres, com thread por requisição e com threads virtuais,
+ * e dispara 2 mil clientes simultâneos na listagem de pedidos para comparar vazão e latência (p50/p99).
+ * Cliente e servidor dividem a mesma JVM, então os números servem para comparar os modos entre si.
+ * Não roda no build padrão; execute com {@code mvn test -Pload-test} (requer {@code ulimit -n} acima de 8192).
+ */
+@Slf4j
+@Tag("load-test")
+class ThreadsVirtuaisLoadTest {
+
+    private static final int CLIENTES = 2_000;
+    private static final int TOTAL_PEDIDOS = 10_000;
+    private static final Duration AQUECIMENTO = Duration.ofSeconds(10);
+    private static final Duration MEDICAO = Duration.ofSeconds(30);
+    private static final String EMAIL_VENDEDOR = "vendedor.carga@benchmark.com";
+
+    @Test
+    void deveCompararThreadPorRequisicaoComThreadsVirtuais() throws Exception {
+        Resultado plataforma = executar(false);
+        Resultado virtuais = executar(true);
+
+        log.info("Listagem de pedidos com {} clientes simultâneos:", CLIENTES);
+        log.info("  thread por requisição: {}", plataforma);
+        log.info("  threads virtuais:      {}", virtuais);
+
+        assertThat(plataforma.requisicoes()).isPositive();
+        assertThat(virtuais.requisicoes()).isPositive();
+    }
+
+    private Resultado executar(boolean threadsVirtuais) throws Exception {
+        // Argumentos de linha de comando têm precedência sobre o application-local.properties
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(GerenciadorbackendApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + AbstractIntegrationTest.postgresContainer.getJdbcUrl(),
+                        "--spring.datasource.username=" + AbstractIntegrationTest.postgresContainer.getUsername(),
+                        "--spring.datasource.password=" + AbstractIntegrationTest.postgresContainer.getPassword(),
+                        "--spring.flyway.enabled=true",
+                        "--spring.threads.virtual.enabled=" + threadsVirtuais,
+                        "--request-log.mode=NONE")) {
+            String token = prepararBase(contexto);
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            String servletPath = contexto.getEnvironment().getProperty("spring.mvc.servlet.path", "");
+            URI uri = URI.create("http://localhost:" + porta + servletPath + "/pedidos?limit=20");
+            return disparar(uri, token);
+        }
+    }
+
+    private String prepararBase(ConfigurableApplicationContext contexto) {
+        UsuarioRepository usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        Usuario vendedor = usuarioRepository.findByEmail(EMAIL_VENDEDOR)
+                .orElseGet(() -> usuarioRepository.save(Usuario.builder()
+                        .nome("Vendedor Carga")
+                        .email(EMAIL_VENDEDOR)
+                        .senha("x")
+                        .perfil(Perfil.VENDEDOR)
+                        .dataCriacao(Instant.now())
+                        .build()));
+
+        JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        Integer existentes = jdbcTemplate.queryForObject("SELECT count(*) FROM pedidos", Integer.class);
+        if (existentes == null || existentes < TOTAL_PEDIDOS) {
+            jdbcTemplate.update(
+                    "INSERT INTO pedidos (cliente_id, status, valor_total, data_criacao) " +
+                            "SELECT ?, 'EM_ANDAMENTO', 10.00, now() - (g || ' seconds')::interval " +
+                            "FROM generate_series(1, ?) g",
+                    vendedor.getId(), TOTAL_PEDIDOS);
+            jdbcTemplate.execute("ANALYZE pedidos");
+        }
+        return contexto.getBean(JwtService.class).generateToken(vendedor);
+    }
+
+    private Resultado disparar(URI uri, String token) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        long inicioMedicao = System.nanoTime() + AQUECIMENTO.toNanos();
+        long fimMedicao = inicioMedicao + MEDICAO.toNanos();
+
+        List<Future<Medicoes>> clientes = new ArrayList<>(CLIENTES);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(executor)
+                     .build()) {
+            for (int i = 0; i < CLIENTES; i++) {
+                clientes.add(executor.submit(() -> executarCliente(http, requisicao, inicioMedicao, fimMedicao)));
+            }
+
+            long erros = 0;
+            List<long[]> latenciasPorCliente = new ArrayList<>(CLIENTES);
+            for (Future<Medicoes> cliente : clientes) {
+                Medicoes medicoes = cliente.get();
+                erros += medicoes.erros();
+                latenciasPorCliente.add(medicoes.latencias());
+            }
+            long[] latencias = latenciasPorCliente.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            return new Resultado(latencias.length, erros, latencias.length / (double) MEDICAO.toSeconds(),
+                    percentil(latencias, 0.50), percentil(latencias, 0.99));
+        }
+    }
+
+    // Cada cliente faz uma requisição por vez; só registra as que terminam dentro da janela de medição
+    private Medicoes executarCliente(HttpClient http, HttpRequest requisicao, long inicioMedicao, long fimMedicao) {
+        long[] latencias = new long[256];
+        int total = 0;
+        long erros = 0;
+        while (System.nanoTime() < fimMedicao) {
+            long inicio = System.nanoTime();
+            boolean sucesso;
+            try {
+                sucesso = http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+            } catch (Exception e) {
+                sucesso = false;
+            }
+            long fim = System.nanoTime();
+            if (inicio < inicioMedicao || fim > fimMedicao) {
+                continue;
+            }
+            if (!sucesso) {
+                erros++;
+                continue;
+            }
+            if (total == latencias.length) {
+                latencias = Arrays.copyOf(latencias, total * 2);
+            }
+            latencias[total++] = fim - inicio;
+        }
+        return new Medicoes(Arrays.copyOf(latencias, total), erros);
+    }
+
+    private static double percentil(long[] ordenadas, double quantil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(quantil * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+    }
+
+    private record Medicoes(long[] latencias, long erros) {
+    }
+
+    private record Resultado(long requisicoes, long erros, double porSegundo, double p50Ms, double p99Ms) {
+        @Override
+        public String toString() {
+            return String.format("%d requisições (%.0f/s), %d erros, p50=%.1f ms, p99=%.1f ms",
+                    requisicoes, porSegundo, erros, p50Ms, p99Ms);
+        }
+    }
+}
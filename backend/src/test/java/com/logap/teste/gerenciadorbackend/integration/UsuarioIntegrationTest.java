@@ -0,0 +1,70 @@
+package com.logap.teste.gerenciadorbackend.integration;
+
+import com.logap.teste.gerenciadorbackend.dto.request.UsuarioUpdateRequest;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
+import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
+import com.logap.teste.gerenciadorbackend.service.RevogacaoTokenService;
+import com.logap.teste.gerenciadorbackend.service.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+
+class UsuarioIntegrationTest extends AbstractIntegrationTest {
+    private static final String EMAIL = "revogacao@email.com";
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @MockitoSpyBean
+    private RevogacaoTokenService revogacaoTokenService;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository.findByEmail(EMAIL).ifPresent(usuarioRepository::delete);
+        usuario = new Usuario();
+        usuario.setNome("Revogação");
+        usuario.setEmail(EMAIL);
+        usuario.setSenha("senha");
+        usuario.setPerfil(Perfil.CLIENTE);
+        usuario = usuarioRepository.save(usuario);
+    }
+
+    @Test
+    void deveDesfazerTrocaDePerfilQuandoARevogacaoFalha() {
+        doThrow(new DataAccessResourceFailureException("banco indisponível"))
+                .when(revogacaoTokenService).revogarTokensAnteriores(anyLong(), anyInt());
+
+        assertThatThrownBy(() -> usuarioService.atualizarRoleUsuario(
+                usuario.getId(), new UsuarioUpdateRequest(Perfil.ADMINISTRADOR), "admin@vendas.com"))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        Usuario recarregado = usuarioRepository.findById(usuario.getId()).orElseThrow();
+        assertThat(recarregado.getPerfil()).isEqualTo(Perfil.CLIENTE);
+        assertThat(recarregado.getVersaoToken()).isEqualTo(usuario.getVersaoToken());
+    }
+
+    @Test
+    void deveDesfazerExclusaoQuandoARevogacaoFalha() {
+        doThrow(new DataAccessResourceFailureException("banco indisponível"))
+                .when(revogacaoTokenService).revogarTodosOsTokens(anyLong());
+
+        assertThatThrownBy(() -> usuarioService.deletarUsuario(usuario.getId(), "admin@vendas.com"))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(usuarioRepository.existsById(usuario.getId())).isTrue();
+    }
+}
@@ -0,0 +1,92 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.event.DashboardAlteradoEvent;
+import com.logap.teste.gerenciadorbackend.model.ItemPedido;
+import com.logap.teste.gerenciadorbackend.model.Pedido;
+import com.logap.teste.gerenciadorbackend.model.Produto;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+import com.logap.teste.gerenciadorbackend.repository.DashboardAgregadoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SortedMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class DashboardAgregadoServiceImplTest {
+    private DashboardAgregadoRepository dashboardAgregadoRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private DashboardAgregadoServiceImpl dashboardAgregadoService;
+
+    @BeforeEach
+    void setUp() {
+        dashboardAgregadoRepository = mock(DashboardAgregadoRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        dashboardAgregadoService = new DashboardAgregadoServiceImpl(dashboardAgregadoRepository, eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveIncrementarAgregadosAoCriarPedidoComProdutosOrdenados() {
+        Pedido pedido = Pedido.builder()
+                .id(1L)
+                .cliente(Usuario.builder().id(7L).build())
+                .status(StatusPedido.EM_ANDAMENTO)
+                .valorTotal(new BigDecimal("80.00"))
+                .build();
+        pedido.adicionarItem(ItemPedido.builder().produto(Produto.builder().id(30L).build()).quantidade(1).build());
+        pedido.adicionarItem(ItemPedido.builder().produto(Produto.builder().id(10L).build()).quantidade(3).build());
+
+        dashboardAgregadoService.registrarPedidoCriado(pedido);
+
+        ArgumentCaptor<SortedMap<Long, Integer>> captor = ArgumentCaptor.forClass(SortedMap.class);
+        verify(dashboardAgregadoRepository).incrementarVendasProdutos(captor.capture());
+        assertEquals(List.of(10L, 30L), List.copyOf(captor.getValue().keySet()));
+        assertEquals(3, captor.getValue().get(10L));
+        verify(dashboardAgregadoRepository).incrementarPedidosCliente(7L);
+        verify(dashboardAgregadoRepository).incrementarStatus(StatusPedido.EM_ANDAMENTO, 1L, 1, new BigDecimal("80.00"));
+        verify(eventPublisher).publishEvent(any(DashboardAlteradoEvent.class));
+    }
+
+    @Test
+    void deveMoverPedidoEntreStatusNaOrdemDoEnum() {
+        Pedido pedido = Pedido.builder()
+                .id(1L)
+                .status(StatusPedido.CANCELADO)
+                .valorTotal(new BigDecimal("80.00"))
+                .build();
+
+        dashboardAgregadoService.registrarMudancaDeStatus(pedido, StatusPedido.EM_ANDAMENTO);
+
+        InOrder ordem = inOrder(dashboardAgregadoRepository);
+        ordem.verify(dashboardAgregadoRepository).incrementarStatus(StatusPedido.EM_ANDAMENTO, 1L, -1, new BigDecimal("-80.00"));
+        ordem.verify(dashboardAgregadoRepository).incrementarStatus(StatusPedido.CANCELADO, 1L, 1, new BigDecimal("80.00"));
+    }
+
+    @Test
+    void naoDeveAlterarAgregadosQuandoStatusNaoMuda() {
+        Pedido pedido = Pedido.builder().id(1L).status(StatusPedido.FINALIZADO).valorTotal(BigDecimal.TEN).build();
+
+        dashboardAgregadoService.registrarMudancaDeStatus(pedido, StatusPedido.FINALIZADO);
+
+        verifyNoInteractions(dashboardAgregadoRepository, eventPublisher);
+    }
+
+    @Test
+    void deveCorrigirCadaAgregadoNaReconciliacao() {
+        dashboardAgregadoService.reconciliar();
+
+        verify(dashboardAgregadoRepository).corrigirResumoPorStatus();
+        verify(dashboardAgregadoRepository).corrigirVendasProdutos();
+        verify(dashboardAgregadoRepository).corrigirPedidosClientes();
+        verify(eventPublisher).publishEvent(any(DashboardAlteradoEvent.class));
+    }
+}
@@ -1,63 +1,69 @@
 package com.logap.teste.gerenciadorbackend.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.logap.teste.gerenciadorbackend.dto.dashboard.ActiveCustomerDTO;
+import com.logap.teste.gerenciadorbackend.dto.dashboard.DashboardSnapshot;
 import com.logap.teste.gerenciadorbackend.dto.dashboard.DashboardStatsDTO;
 import com.logap.teste.gerenciadorbackend.dto.dashboard.TopProductDTO;
 import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
-import com.logap.teste.gerenciadorbackend.repository.PedidoRepository;
+import com.logap.teste.gerenciadorbackend.repository.DashboardAgregadoRepository;
+import com.logap.teste.gerenciadorbackend.repository.DashboardAgregadoRepository.ResumoStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class DashboardServiceImplTest {
-    private PedidoRepository pedidoRepository;
+    private DashboardAgregadoRepository dashboardAgregadoRepository;
     private DashboardServiceImpl dashboardService;
 
     @BeforeEach
     void setUp() {
-        pedidoRepository = mock(PedidoRepository.class);
-        dashboardService = new DashboardServiceImpl(pedidoRepository);
+        dashboardAgregadoRepository = mock(DashboardAgregadoRepository.class);
+        dashboardService = new DashboardServiceImpl(dashboardAgregadoRepository, new ObjectMapper());
     }
 
     @Test
     void getDashboardStats_deveRetornarDashboardStatsDTOCorreto() {
         BigDecimal faturamentoTotal = new BigDecimal("1000.00");
-        Long totalPedidos = 10L;
-        Long pedidosPendentes = 2L;
         List<TopProductDTO> topProdutos = List.of(new TopProductDTO("Produto1", 5L), new TopProductDTO("Produto2", 3L));
         List<ActiveCustomerDTO> topClientes = List.of(new ActiveCustomerDTO("Cliente1", 4L), new ActiveCustomerDTO("Cliente2", 2L));
 
-        when(pedidoRepository.findTotalFaturamento()).thenReturn(faturamentoTotal);
-        when(pedidoRepository.count()).thenReturn(totalPedidos);
-        when(pedidoRepository.countByStatus(StatusPedido.EM_ANDAMENTO)).thenReturn(pedidosPendentes);
-        when(pedidoRepository.findTop5Produtos()).thenReturn(topProdutos);
-        when(pedidoRepository.findTop5Clientes()).thenReturn(topClientes);
+        when(dashboardAgregadoRepository.buscarResumoPorStatus()).thenReturn(Map.of(
+                StatusPedido.EM_ANDAMENTO, new ResumoStatus(2, new BigDecimal("300.00")),
+                StatusPedido.FINALIZADO, new ResumoStatus(7, faturamentoTotal),
+                StatusPedido.CANCELADO, new ResumoStatus(1, new BigDecimal("50.00"))
+        ));
+        when(dashboardAgregadoRepository.buscarProdutosMaisVendidos(5)).thenReturn(topProdutos);
+        when(dashboardAgregadoRepository.buscarClientesMaisAtivos(5)).thenReturn(topClientes);
 
-        DashboardStatsDTO dto = dashboardService.getDashboardStats();
+        DashboardStatsDTO dto = dashboardService.obterSnapshot().stats();
 
         assertEquals(faturamentoTotal, dto.faturamentoTotal());
-        assertEquals(totalPedidos, dto.totalPedidos());
-        assertEquals(pedidosPendentes, dto.pedidosPendentes());
+        assertEquals(10L, dto.totalPedidos());
+        assertEquals(2L, dto.pedidosPendentes());
         assertEquals(topProdutos, dto.topProdutos());
         assertEquals(topClientes, dto.topClientes());
     }
 
     @Test
-    void getDashboardStats_deveRetornarZeroQuandoFaturamentoNulo() {
-        when(pedidoRepository.findTotalFaturamento()).thenReturn(null);
-        when(pedidoRepository.count()).thenReturn(0L);
-        when(pedidoRepository.countByStatus(StatusPedido.EM_ANDAMENTO)).thenReturn(0L);
-        when(pedidoRepository.findTop5Produtos()).thenReturn(List.of());
-        when(pedidoRepository.findTop5Clientes()).thenReturn(List.of());
+    void getDashboardStats_deveRetornarZeroQuandoNaoHaAgregados() {
+        when(dashboardAgregadoRepository.buscarResumoPorStatus()).thenReturn(Map.of());
+        when(dashboardAgregadoRepository.buscarProdutosMaisVendidos(5)).thenReturn(List.of());
+        when(dashboardAgregadoRepository.buscarClientesMaisAtivos(5)).thenReturn(List.of());
 
-        DashboardStatsDTO dto = dashboardService.getDashboardStats();
+        DashboardStatsDTO dto = dashboardService.obterSnapshot().stats();
 
         assertEquals(BigDecimal.ZERO, dto.faturamentoTotal());
         assertEquals(0L, dto.totalPedidos());
@@ -65,4 +71,35 @@ class DashboardServiceImplTest {
         assertTrue(dto.topProdutos().isEmpty());
         assertTrue(dto.topClientes().isEmpty());
     }
+
+    @Test
+    void deveServirSnapshotEmMemoriaSemConsultarAgregadosACadaLeitura() {
+        when(dashboardAgregadoRepository.buscarResumoPorStatus()).thenReturn(Map.of());
+        when(dashboardAgregadoRepository.buscarProdutosMaisVendidos(5)).thenReturn(List.of());
+        when(dashboardAgregadoRepository.buscarClientesMaisAtivos(5)).thenReturn(List.of());
+
+        DashboardSnapshot primeiro = dashboardService.obterSnapshot();
+        DashboardSnapshot segundo = dashboardService.obterSnapshot();
+
+        assertSame(primeiro, segundo);
+        verify(dashboardAgregadoRepository, times(1)).buscarResumoPorStatus();
+    }
+
+    @Test
+    void deveManterVersaoQuandoAtualizacaoNaoMudaNumerosEAlterarQuandoMuda() {
+        when(dashboardAgregadoRepository.buscarResumoPorStatus())
+                .thenReturn(Map.of(StatusPedido.EM_ANDAMENTO, new ResumoStatus(1, BigDecimal.TEN)))
+                .thenReturn(Map.of(StatusPedido.EM_ANDAMENTO, new ResumoStatus(1, BigDecimal.TEN)))
+                .thenReturn(Map.of(StatusPedido.EM_ANDAMENTO, new ResumoStatus(2, BigDecimal.TEN)));
+        when(dashboardAgregadoRepository.buscarProdutosMaisVendidos(5)).thenReturn(List.of());
+        when(dashboardAgregadoRepository.buscarClientesMaisAtivos(5)).thenReturn(List.of());
+
+        DashboardSnapshot inicial = dashboardService.atualizarSnapshot();
+        DashboardSnapshot semMudanca = dashboardService.atualizarSnapshot();
+        DashboardSnapshot comMudanca = dashboardService.atualizarSnapshot();
+
+        assertSame(inicial, semMudanca);
+        assertNotEquals(inicial.versao(), comMudanca.versao());
+        assertEquals(2L, comMudanca.stats().pedidosPendentes());
+    }
 }
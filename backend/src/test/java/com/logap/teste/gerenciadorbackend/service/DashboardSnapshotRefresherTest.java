@@ -0,0 +1,70 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.event.DashboardAlteradoEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class DashboardSnapshotRefresherTest {
+    private DashboardService dashboardService;
+    private DashboardSnapshotRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        dashboardService = mock(DashboardService.class);
+        refresher = new DashboardSnapshotRefresher(dashboardService, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        refresher.encerrar();
+    }
+
+    @Test
+    void deveAtualizarSnapshotEmSegundoPlanoAoReceberEvento() {
+        refresher.aoAlterarDashboard(new DashboardAlteradoEvent());
+
+        verify(dashboardService, timeout(2000)).atualizarSnapshot();
+    }
+
+    @Test
+    void deveAgruparEventosRecebidosDuranteUmaAtualizacao() throws InterruptedException {
+        CountDownLatch emAndamento = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(dashboardService.atualizarSnapshot()).thenAnswer(invocation -> {
+            emAndamento.countDown();
+            liberar.await();
+            return null;
+        });
+
+        refresher.aoAlterarDashboard(new DashboardAlteradoEvent());
+        assertTrue(emAndamento.await(2, TimeUnit.SECONDS));
+        // Chegam durante a atualização em curso: resultam em uma única atualização extra
+        for (int i = 0; i < 10; i++) {
+            refresher.aoAlterarDashboard(new DashboardAlteradoEvent());
+        }
+        liberar.countDown();
+
+        verify(dashboardService, timeout(2000).times(2)).atualizarSnapshot();
+        verify(dashboardService, after(200).times(2)).atualizarSnapshot();
+    }
+
+    @Test
+    void naoDeveInterromperAtualizacoesQuandoUmaFalha() {
+        when(dashboardService.atualizarSnapshot())
+                .thenThrow(new IllegalStateException("banco indisponível"))
+                .thenReturn(null);
+
+        refresher.aoAlterarDashboard(new DashboardAlteradoEvent());
+        verify(dashboardService, timeout(2000).times(1)).atualizarSnapshot();
+        refresher.aoAlterarDashboard(new DashboardAlteradoEvent());
+
+        verify(dashboardService, timeout(2000).times(2)).atualizarSnapshot();
+    }
+}
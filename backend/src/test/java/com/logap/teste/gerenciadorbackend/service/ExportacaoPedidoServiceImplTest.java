@@ -0,0 +1,148 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.logap.teste.gerenciadorbackend.dto.request.FiltroExportacaoPedido;
+import com.logap.teste.gerenciadorbackend.dto.response.ItemPedidoResponse;
+import com.logap.teste.gerenciadorbackend.dto.response.PedidoExportacaoResponse;
+import com.logap.teste.gerenciadorbackend.exception.BusinessException;
+import com.logap.teste.gerenciadorbackend.model.enums.FormatoExportacao;
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+import com.logap.teste.gerenciadorbackend.repository.PedidoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ExportacaoPedidoServiceImplTest {
+
+    private static final FiltroExportacaoPedido SEM_FILTRO = new FiltroExportacaoPedido(null, null, null);
+
+    private PedidoRepository pedidoRepository;
+    private ExportacaoPedidoServiceImpl exportacaoPedidoService;
+
+    @BeforeEach
+    void setUp() {
+        pedidoRepository = mock(PedidoRepository.class);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        exportacaoPedidoService = new ExportacaoPedidoServiceImpl(pedidoRepository, objectMapper);
+    }
+
+    @Test
+    void deveExportarUmPedidoPorLinhaEmNdjson() throws IOException {
+        simularPedidos(false,
+                pedido(1L, "Cliente 1", null),
+                pedido(2L, "Cliente 2", null));
+
+        String saida = exportar(FormatoExportacao.NDJSON, false);
+
+        String[] linhas = saida.split("\n");
+        assertEquals(2, linhas.length);
+        assertTrue(linhas[0].startsWith("{\"id\":1,"));
+        assertTrue(linhas[1].contains("\"nomeCliente\":\"Cliente 2\""));
+        assertFalse(linhas[0].contains("itens"));
+    }
+
+    @Test
+    void deveExportarUmaLinhaPorItemEmCsvEscapandoCampos() throws IOException {
+        simularPedidos(true,
+                pedido(1L, "Silva, João", List.of(
+                        new ItemPedidoResponse(10L, "Caneta \"azul\"", 2, new BigDecimal("1.50")),
+                        new ItemPedidoResponse(11L, "Caderno", 1, new BigDecimal("20.00")))),
+                pedido(2L, "Maria", List.of()));
+
+        String saida = exportar(FormatoExportacao.CSV, true);
+
+        String[] linhas = saida.split("\n");
+        assertEquals(4, linhas.length);
+        assertEquals("id,dataCriacao,statusPedido,valorTotal,nomeCliente,emailCliente,itemId,nomeProduto,quantidade,precoUnitario", linhas[0]);
+        assertEquals("1,2025-01-10T10:00:00Z,FINALIZADO,23.00,\"Silva, João\",cliente1@email.com,10,\"Caneta \"\"azul\"\"\",2,1.50", linhas[1]);
+        assertTrue(linhas[2].endsWith(",11,Caderno,1,20.00"));
+        assertEquals("2,2025-01-10T10:00:00Z,FINALIZADO,23.00,Maria,cliente2@email.com,,,,", linhas[3]);
+    }
+
+    @Test
+    void deveNeutralizarFormulasNosCamposDeTextoDoCsv() throws IOException {
+        simularPedidos(true,
+                pedido(1L, "=HYPERLINK(\"http://exemplo.com\",\"Clique\")", List.of(
+                        new ItemPedidoResponse(10L, "@SUM(1+1)", 1, new BigDecimal("1.00")),
+                        new ItemPedidoResponse(11L, "-2+3", 1, new BigDecimal("1.00")),
+                        new ItemPedidoResponse(12L, "+55 11 99999-0000", 1, new BigDecimal("1.00")))));
+
+        String[] linhas = exportar(FormatoExportacao.CSV, true).split("\n");
+
+        assertTrue(linhas[1].contains(",\"'=HYPERLINK(\"\"http://exemplo.com\"\",\"\"Clique\"\")\","));
+        assertTrue(linhas[1].endsWith(",10,\"'@SUM(1+1)\",1,1.00"));
+        assertTrue(linhas[2].endsWith(",11,\"'-2+3\",1,1.00"));
+        assertTrue(linhas[3].endsWith(",12,\"'+55 11 99999-0000\",1,1.00"));
+    }
+
+    @Test
+    void deveRepassarFiltroAoRepositorio() throws IOException {
+        FiltroExportacaoPedido filtro = new FiltroExportacaoPedido(
+                StatusPedido.CANCELADO, Instant.parse("2025-01-01T00:00:00Z"), Instant.parse("2025-02-01T00:00:00Z"));
+
+        exportacaoPedidoService.exportar(filtro, FormatoExportacao.NDJSON, false, new ByteArrayOutputStream());
+
+        verify(pedidoRepository).percorrerParaExportacao(eq(filtro), eq(false), any());
+    }
+
+    @Test
+    void naoDeveAceitarDataInicialPosteriorAFinal() {
+        FiltroExportacaoPedido filtro = new FiltroExportacaoPedido(
+                null, Instant.parse("2025-02-01T00:00:00Z"), Instant.parse("2025-01-01T00:00:00Z"));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> exportacaoPedidoService.validarFiltro(filtro));
+
+        assertEquals("A data inicial deve ser anterior à data final", ex.getMessage());
+    }
+
+    @Test
+    void devePropagarFalhaDeEscritaDoCliente() {
+        simularPedidos(false, pedido(1L, "Cliente 1", null));
+        OutputStream conexaoEncerrada = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // O BufferedWriter só escreve na saída ao esvaziar o buffer
+        assertThrows(IOException.class, () ->
+                exportacaoPedidoService.exportar(SEM_FILTRO, FormatoExportacao.NDJSON, false, conexaoEncerrada));
+    }
+
+    private String exportar(FormatoExportacao formato, boolean incluirItens) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportacaoPedidoService.exportar(SEM_FILTRO, formato, incluirItens, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void simularPedidos(boolean incluirItens, PedidoExportacaoResponse... pedidos) {
+        doAnswer(invocation -> {
+            Consumer<PedidoExportacaoResponse> consumidor = invocation.getArgument(2);
+            for (PedidoExportacaoResponse pedido : pedidos) {
+                consumidor.accept(pedido);
+            }
+            return null;
+        }).when(pedidoRepository).percorrerParaExportacao(any(), eq(incluirItens), any(Consumer.class));
+    }
+
+    private PedidoExportacaoResponse pedido(Long id, String nomeCliente, List<ItemPedidoResponse> itens) {
+        return new PedidoExportacaoResponse(id, Instant.parse("2025-01-10T10:00:00Z"), StatusPedido.FINALIZADO,
+                new BigDecimal("23.00"), nomeCliente, "cliente" + id + "@email.com", itens);
+    }
+}
@@ -1,29 +1,35 @@
 package com.logap.teste.gerenciadorbackend.service;
 
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
 
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 public class JwtServiceTest {
 
+    private static final String SECRET_KEY = "4e6ef8f25a2d4d7a8b8c1e2f3a4b5c6d4e6ef8f25a2d4d7a8b8c1e2f3a4b5c6d";
+
     private JwtService jwtService;
 
     @BeforeEach
     void setUp() {
-        jwtService = new JwtService();
-        String secretKey = "4e6ef8f25a2d4d7a8b8c1e2f3a4b5c6d4e6ef8f25a2d4d7a8b8c1e2f3a4b5c6d";
         long expiration = 3600000;
-        ReflectionTestUtils.setField(jwtService, "secret", secretKey);
-        ReflectionTestUtils.setField(jwtService, "jwtExpiration", expiration);
+        jwtService = new JwtService(SECRET_KEY, expiration, 100);
     }
 
     @Test
@@ -67,4 +73,84 @@ public class JwtServiceTest {
         assertFalse(isTokenValid);
     }
 
+    @Test
+    void deveValidarTokenEmUmUnicoParseRetornandoClaims() {
+        UserDetails userDetails = new User("usuario@teste.com", "senha",
+                List.of(new SimpleGrantedAuthority("ROLE_VENDEDOR")));
+        String token = jwtService.generateToken(userDetails);
+
+        Claims claims = jwtService.parseAndValidate(token);
+
+        assertEquals("usuario@teste.com", claims.getSubject());
+        assertEquals(List.of("ROLE_VENDEDOR"), claims.get("roles", List.class));
+        assertTrue(jwtService.isTokenValid(claims, userDetails));
+    }
+
+    @Test
+    void deveIncluirIdEVersaoDoUsuarioNasClaims() {
+        Usuario usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setNome("Fulano");
+        usuario.setEmail("fulano@teste.com");
+        usuario.setPerfil(Perfil.CLIENTE);
+        usuario.setVersaoToken(3);
+
+        Claims claims = jwtService.parseAndValidate(jwtService.generateToken(usuario));
+
+        assertEquals(7L, claims.get(JwtService.CLAIM_USER_ID, Long.class));
+        assertEquals(3, claims.get(JwtService.CLAIM_TOKEN_VERSION, Integer.class));
+        assertEquals("Fulano", claims.get(JwtService.CLAIM_NAME, String.class));
+    }
+
+    @Test
+    void deveGerarRefreshTokensOpacosEDistintos() {
+        String primeiro = jwtService.gerarRefreshToken();
+        String segundo = jwtService.gerarRefreshToken();
+
+        assertNotEquals(primeiro, segundo);
+        assertEquals(43, primeiro.length());
+        assertEquals(64, JwtService.digest(primeiro).length());
+    }
+
+    @Test
+    void naoDeveValidarTokenExpirado() {
+        JwtService jwtServiceExpirado = new JwtService(SECRET_KEY, -1000L, 100);
+        String token = jwtServiceExpirado.generateToken(new User("usuario@teste.com", "senha", new ArrayList<>()));
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.parseAndValidate(token));
+    }
+
+    @Test
+    void naoDeveValidarTokenAssinadoComOutraChave() {
+        JwtService outroEmissor = new JwtService(
+                "0a1b2c3d4e5f60718293a4b5c6d7e8f90a1b2c3d4e5f60718293a4b5c6d7e8f9", 3600000L, 100);
+        String token = outroEmissor.generateToken(new User("usuario@teste.com", "senha", new ArrayList<>()));
+
+        assertThrows(SignatureException.class, () -> jwtService.parseAndValidate(token));
+        // A falha não é guardada: a segunda tentativa também é verificada e rejeitada
+        assertThrows(SignatureException.class, () -> jwtService.parseAndValidate(token));
+    }
+
+    @Test
+    void deveReutilizarClaimsJaVerificadasDoMesmoToken() {
+        String token = jwtService.generateToken(new User("usuario@teste.com", "senha", new ArrayList<>()));
+
+        Claims primeira = jwtService.parseAndValidate(token);
+        Claims segunda = jwtService.parseAndValidate(token);
+
+        assertSame(primeira, segunda);
+    }
+
+    @Test
+    void naoDeveServirDoCacheTokenQueExpirou() throws InterruptedException {
+        JwtService jwtServiceCurto = new JwtService(SECRET_KEY, 1000L, 100);
+        String token = jwtServiceCurto.generateToken(new User("usuario@teste.com", "senha", new ArrayList<>()));
+        Claims claims = jwtServiceCurto.parseAndValidate(token);
+
+        // exp tem precisão de segundos; espera até passar do instante de expiração
+        Thread.sleep(Math.max(0, claims.getExpiration().getTime() - System.currentTimeMillis()) + 50);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtServiceCurto.parseAndValidate(token));
+    }
+
 }
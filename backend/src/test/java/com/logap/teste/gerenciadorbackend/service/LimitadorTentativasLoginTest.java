@@ -0,0 +1,55 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.exception.LimiteDeTentativasException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitadorTentativasLoginTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LimitadorTentativasLogin limitador;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limitador = new LimitadorTentativasLogin(5, 5, 2, 2, meterRegistry);
+    }
+
+    @Test
+    void deveBloquearEmailQueExcedeuACapacidade() {
+        limitador.verificar("10.0.0.1", "cliente@teste.com");
+        limitador.verificar("10.0.0.2", "Cliente@Teste.com ");
+
+        LimiteDeTentativasException ex = assertThrows(LimiteDeTentativasException.class,
+                () -> limitador.verificar("10.0.0.3", "cliente@teste.com"));
+
+        assertTrue(ex.getSegundosParaNovaTentativa() >= 1);
+        assertEquals(1.0, meterRegistry.counter("auth.login.rejeitado", "motivo", "limite_email").count());
+    }
+
+    @Test
+    void deveBloquearIpQueExcedeuACapacidade() {
+        for (int i = 0; i < 5; i++) {
+            limitador.verificar("10.0.0.1", "usuario" + i + "@teste.com");
+        }
+
+        assertThrows(LimiteDeTentativasException.class, () -> limitador.verificar("10.0.0.1", "outro@teste.com"));
+        assertEquals(1.0, meterRegistry.counter("auth.login.rejeitado", "motivo", "limite_ip").count());
+        limitador.verificar("10.0.0.2", "outro@teste.com");
+    }
+
+    @Test
+    void deveReporTokensComOTempo() {
+        var balde = new LimitadorTentativasLogin.BaldeDeTokens(1, Duration.ofSeconds(30));
+        long agora = System.nanoTime();
+
+        assertEquals(0, balde.consumir(agora));
+        assertTrue(balde.consumir(agora) > 0);
+        assertEquals(0, balde.consumir(agora + Duration.ofSeconds(30).toNanos()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.dto.request.LoginRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.LoginResponse;
+import com.logap.teste.gerenciadorbackend.exception.LimiteDeTentativasException;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LoginServiceImplTest {
+
+    private AuthenticationManager authenticationManager;
+    private RefreshTokenService refreshTokenService;
+    private LimitadorTentativasLogin limitador;
+    private SimpleMeterRegistry meterRegistry;
+    private LoginServiceImpl loginService;
+
+    @BeforeEach
+    void setUp() {
+        authenticationManager = mock(AuthenticationManager.class);
+        refreshTokenService = mock(RefreshTokenService.class);
+        limitador = mock(LimitadorTentativasLogin.class);
+        meterRegistry = new SimpleMeterRegistry();
+        loginService = new LoginServiceImpl(authenticationManager, refreshTokenService, limitador, meterRegistry, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginService.encerrar();
+    }
+
+    @Test
+    void deveEmitirTokenParaOPrincipalAutenticado() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setEmail("cliente@teste.com");
+        usuario.setPerfil(Perfil.CLIENTE);
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+        when(refreshTokenService.iniciarSessao(usuario)).thenReturn(new LoginResponse("token", "refresh", 900));
+
+        LoginResponse response = loginService.autenticar(new LoginRequest("cliente@teste.com", "senha"), "10.0.0.1")
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals("token", response.token());
+        verify(limitador).verificar("10.0.0.1", "cliente@teste.com");
+        assertEquals(1, meterRegistry.timer("auth.login.autenticacao").count());
+    }
+
+    @Test
+    void deveCompletarComErroQuandoCredenciaisInvalidas() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Credenciais inválidas"));
+
+        CompletableFuture<LoginResponse> futuro = loginService.autenticar(new LoginRequest("cliente@teste.com", "errada"), "10.0.0.1");
+
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> futuro.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BadCredentialsException.class, ex.getCause());
+    }
+
+    @Test
+    void naoDeveAutenticarQuandoLimiteExcedido() {
+        doThrow(new LimiteDeTentativasException("Muitas tentativas de login.", 10))
+                .when(limitador).verificar("10.0.0.1", "cliente@teste.com");
+
+        assertThrows(LimiteDeTentativasException.class,
+                () -> loginService.autenticar(new LoginRequest("cliente@teste.com", "senha"), "10.0.0.1"));
+        verifyNoInteractions(authenticationManager);
+    }
+
+    @Test
+    void deveRecusarQuandoAFilaEstaCheia() throws Exception {
+        CountDownLatch emAndamento = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            emAndamento.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            throw new BadCredentialsException("Credenciais inválidas");
+        });
+        LoginRequest request = new LoginRequest("cliente@teste.com", "senha");
+
+        loginService.autenticar(request, "10.0.0.1");
+        assertTrue(emAndamento.await(5, TimeUnit.SECONDS));
+        loginService.autenticar(request, "10.0.0.1");
+
+        assertThrows(RejectedExecutionException.class, () -> loginService.autenticar(request, "10.0.0.1"));
+        assertEquals(1.0, meterRegistry.counter("auth.login.rejeitado", "motivo", "fila_cheia").count());
+        assertEquals(1.0, meterRegistry.get("executor.queued").tag("name", "login").gauge().value());
+        liberar.countDown();
+    }
+}
@@ -0,0 +1,134 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.configuration.RetryConfig;
+import com.logap.teste.gerenciadorbackend.model.Pedido;
+import com.logap.teste.gerenciadorbackend.model.Produto;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+import com.logap.teste.gerenciadorbackend.repository.BuscaProdutoRepository;
+import com.logap.teste.gerenciadorbackend.repository.ItemPedidoRepository;
+import com.logap.teste.gerenciadorbackend.repository.PedidoRepository;
+import com.logap.teste.gerenciadorbackend.repository.ProdutoRepository;
+import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({RetryConfig.class, OptimisticLockRetryTest.Config.class, PedidoServiceImpl.class, ProdutoServiceImpl.class})
+@TestPropertySource(properties = {
+        "optimistic-lock.retry.max-attempts=3",
+        "optimistic-lock.retry.delay=1",
+        "optimistic-lock.retry.max-delay=2"
+})
+class OptimisticLockRetryTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @MockitoBean
+    private PedidoRepository pedidoRepository;
+
+    @MockitoBean
+    private ProdutoRepository produtoRepository;
+
+    @MockitoBean
+    private UsuarioRepository usuarioRepository;
+
+    @MockitoBean
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @MockitoBean
+    private BuscaProdutoRepository buscaProdutoRepository;
+
+    @MockitoBean
+    private ReservaEstoqueService reservaEstoqueService;
+
+    @MockitoBean
+    private DashboardAgregadoService dashboardAgregadoService;
+
+    @MockitoBean
+    private PlatformTransactionManager transactionManager;
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+    }
+
+    @Test
+    void deveRepetirAtualizacaoDeStatusAposConflitoDeVersao() {
+        Long pedidoId = 1L;
+        when(pedidoRepository.findById(pedidoId)).thenAnswer(invocation -> Optional.of(novoPedido(pedidoId)));
+        when(pedidoRepository.save(any(Pedido.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Pedido.class, pedidoId))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        var response = pedidoService.atualizarStatus(pedidoId, StatusPedido.CANCELADO);
+
+        assertEquals(StatusPedido.CANCELADO, response.statusPedido());
+        verify(pedidoRepository, times(2)).findById(pedidoId);
+    }
+
+    @Test
+    void deveAbrirNovaTransacaoERelerOPedidoQuandoOCommitFalhaPorConflitoDeVersao() {
+        Long pedidoId = 1L;
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        // O conflito só aparece no flush do commit: o retry precisa envolver a transação para vê-lo
+        doThrow(new ObjectOptimisticLockingFailureException(Pedido.class, pedidoId))
+                .doNothing()
+                .when(transactionManager).commit(any());
+        when(pedidoRepository.findById(pedidoId)).thenAnswer(invocation -> Optional.of(novoPedido(pedidoId)));
+        when(pedidoRepository.save(any(Pedido.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var response = pedidoService.atualizarStatus(pedidoId, StatusPedido.CANCELADO);
+
+        assertEquals(StatusPedido.CANCELADO, response.statusPedido());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(pedidoRepository, times(2)).findById(pedidoId);
+    }
+
+    @Test
+    void devePropagarConflitoQuandoRetentativasSeEsgotam() {
+        Long produtoId = 10L;
+        when(produtoRepository.buscarComEstoqueAtual(produtoId)).thenAnswer(invocation -> Optional.of(Produto.builder()
+                .id(produtoId)
+                .nome("Produto Teste")
+                .preco(new BigDecimal("10.00"))
+                .quantidadeEstoque(5)
+                .build()));
+        when(produtoRepository.save(any(Produto.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Produto.class, produtoId));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                produtoService.atualizarEstoque(produtoId, 20)
+        );
+        verify(produtoRepository, times(3)).save(any(Produto.class));
+    }
+
+    private Pedido novoPedido(Long id) {
+        return Pedido.builder()
+                .id(id)
+                .status(StatusPedido.EM_ANDAMENTO)
+                .cliente(Usuario.builder().nome("Cliente Teste").build())
+                .valorTotal(new BigDecimal("100.00"))
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.logap.teste.gerenciadorbackend.dto.request.ItemPedidoRequest;
 import com.logap.teste.gerenciadorbackend.dto.response.PedidoCriadoResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.PedidoDetalhadoResponse;
 import com.logap.teste.gerenciadorbackend.dto.request.PedidoRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.PedidoResumoResponse;
 import com.logap.teste.gerenciadorbackend.exception.BusinessException;
 import com.logap.teste.gerenciadorbackend.model.ItemPedido;
 import com.logap.teste.gerenciadorbackend.model.Pedido;
@@ -16,6 +17,8 @@ import com.logap.teste.gerenciadorbackend.repository.ProdutoRepository;
 import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -25,6 +28,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -33,6 +37,8 @@ class PedidoServiceImplTest {
     private PedidoRepository pedidoRepository;
     private ProdutoRepository produtoRepository;
     private UsuarioRepository usuarioRepository;
+    private ReservaEstoqueService reservaEstoqueService;
+    private DashboardAgregadoService dashboardAgregadoService;
     private PedidoServiceImpl pedidoService;
 
     @BeforeEach
@@ -40,7 +46,10 @@ class PedidoServiceImplTest {
         pedidoRepository = mock(PedidoRepository.class);
         produtoRepository = mock(ProdutoRepository.class);
         usuarioRepository = mock(UsuarioRepository.class);
-        pedidoService = new PedidoServiceImpl(pedidoRepository, produtoRepository, usuarioRepository);
+        reservaEstoqueService = mock(ReservaEstoqueService.class);
+        dashboardAgregadoService = mock(DashboardAgregadoService.class);
+        pedidoService = new PedidoServiceImpl(pedidoRepository, produtoRepository, usuarioRepository,
+                reservaEstoqueService, dashboardAgregadoService);
     }
 
     @Test
@@ -62,7 +71,7 @@ class PedidoServiceImplTest {
         PedidoRequest pedidoRequest = new PedidoRequest(List.of(itemRequest));
 
         when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
-        when(produtoRepository.findById(produto.getId())).thenReturn(Optional.of(produto));
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto));
         when(pedidoRepository.save(any(Pedido.class))).thenAnswer(invocation -> {
             Pedido pedido = invocation.getArgument(0);
             pedido.setId(99L);
@@ -73,6 +82,8 @@ class PedidoServiceImplTest {
 
         assertNotNull(response);
         assertEquals(99L, response.id());
+        verify(reservaEstoqueService).reservar(any(Pedido.class));
+        verify(dashboardAgregadoService).registrarPedidoCriado(any(Pedido.class));
     }
 
     @Test
@@ -97,7 +108,7 @@ class PedidoServiceImplTest {
         PedidoRequest pedidoRequest = new PedidoRequest(List.of(itemRequest));
 
         when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
-        when(produtoRepository.findById(produtoId)).thenReturn(Optional.empty());
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of());
 
         BusinessException ex = assertThrows(BusinessException.class, () ->
                 pedidoService.criarPedido(pedidoRequest, email)
@@ -119,7 +130,7 @@ class PedidoServiceImplTest {
         PedidoRequest pedidoRequest = new PedidoRequest(List.of(itemRequest));
 
         when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
-        when(produtoRepository.findById(produto.getId())).thenReturn(Optional.of(produto));
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto));
         when(pedidoRepository.save(any(Pedido.class))).thenAnswer(invocation -> {
             Pedido pedido = invocation.getArgument(0);
             pedido.setId(99L);
@@ -131,6 +142,72 @@ class PedidoServiceImplTest {
         verify(produtoRepository, never()).save(any(Produto.class));
     }
 
+    @Test
+    void deveCarregarProdutosEmUmaUnicaConsultaEAgruparItensRepetidos() {
+        String email = "cliente@email.com";
+        Usuario usuario = Usuario.builder().id(1L).email(email).build();
+        Produto produto1 = Produto.builder()
+                .id(10L)
+                .nome("Produto 1")
+                .preco(new BigDecimal("20.00"))
+                .quantidadeEstoque(10)
+                .build();
+        Produto produto2 = Produto.builder()
+                .id(20L)
+                .nome("Produto 2")
+                .preco(new BigDecimal("5.00"))
+                .quantidadeEstoque(10)
+                .build();
+        PedidoRequest pedidoRequest = new PedidoRequest(List.of(
+                new ItemPedidoRequest(produto1.getId(), 2),
+                new ItemPedidoRequest(produto2.getId(), 1),
+                new ItemPedidoRequest(produto1.getId(), 3)
+        ));
+
+        when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto1, produto2));
+        when(pedidoRepository.save(any(Pedido.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        pedidoService.criarPedido(pedidoRequest, email);
+
+        ArgumentCaptor<Pedido> captor = ArgumentCaptor.forClass(Pedido.class);
+        verify(pedidoRepository).save(captor.capture());
+        Pedido pedidoSalvo = captor.getValue();
+
+        assertEquals(2, pedidoSalvo.getItens().size());
+        assertEquals(produto1, pedidoSalvo.getItens().get(0).getProduto());
+        assertEquals(5, pedidoSalvo.getItens().get(0).getQuantidade());
+        assertEquals(produto2, pedidoSalvo.getItens().get(1).getProduto());
+        assertEquals(new BigDecimal("105.00"), pedidoSalvo.getValorTotal());
+        verify(produtoRepository, times(1)).findAllById(anyCollection());
+        verify(produtoRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void deveValidarEstoqueSobreQuantidadeAgrupada() {
+        String email = "cliente@email.com";
+        Usuario usuario = Usuario.builder().id(1L).email(email).build();
+        Produto produto = Produto.builder()
+                .id(10L)
+                .nome("Produto Teste")
+                .preco(new BigDecimal("20.00"))
+                .quantidadeEstoque(4)
+                .build();
+        PedidoRequest pedidoRequest = new PedidoRequest(List.of(
+                new ItemPedidoRequest(produto.getId(), 3),
+                new ItemPedidoRequest(produto.getId(), 2)
+        ));
+
+        when(usuarioRepository.findByEmail(email)).thenReturn(Optional.of(usuario));
+        when(produtoRepository.findAllById(anyCollection())).thenReturn(List.of(produto));
+
+        BusinessException ex = assertThrows(BusinessException.class, () ->
+                pedidoService.criarPedido(pedidoRequest, email)
+        );
+        assertEquals("Estoque insuficiente para o produto: " + produto.getNome(), ex.getMessage());
+        verify(pedidoRepository, never()).save(any(Pedido.class));
+    }
+
     @Test
     void deveRetornarErroDeEstoqueInsuficienteAoFinalizarPedido() {
         Long pedidoId = 1L;
@@ -154,56 +231,120 @@ class PedidoServiceImplTest {
                 .build();
 
         when(pedidoRepository.findById(pedidoId)).thenReturn(Optional.of(pedido));
+        doThrow(new BusinessException("Estoque insuficiente para o produto: " + produto.getNome()))
+                .when(reservaEstoqueService).efetivar(pedido);
 
         BusinessException ex = assertThrows(BusinessException.class, () ->
                 pedidoService.atualizarStatus(pedidoId, StatusPedido.FINALIZADO)
         );
         assertEquals("Estoque insuficiente para o produto: " + produto.getNome(), ex.getMessage());
+        verify(pedidoRepository, never()).save(any(Pedido.class));
     }
 
     @Test
-    void deveListarTodosOsPedidos() {
-        Pedido pedido1 = Pedido.builder()
-                .id(1L)
-                .dataCriacao(Instant.now())
-                .valorTotal(new BigDecimal("100.00"))
+    void deveEfetivarReservaAoFinalizarPedido() {
+        Long pedidoId = 1L;
+        Pedido pedido = Pedido.builder()
+                .id(pedidoId)
                 .status(StatusPedido.EM_ANDAMENTO)
-                .cliente(Usuario.builder().nome("Cliente 1").build())
-                .build();
-        Pedido pedido2 = Pedido.builder()
-                .id(2L)
-                .dataCriacao(Instant.now())
-                .valorTotal(new BigDecimal("200.00"))
-                .status(StatusPedido.FINALIZADO)
-                .cliente(Usuario.builder().nome("Cliente 2").build())
+                .cliente(Usuario.builder().nome("Cliente Teste").build())
+                .valorTotal(new BigDecimal("40.00"))
                 .build();
 
-        when(pedidoRepository.findAll()).thenReturn(Arrays.asList(pedido1, pedido2));
+        when(pedidoRepository.findById(pedidoId)).thenReturn(Optional.of(pedido));
+        when(pedidoRepository.save(any(Pedido.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        var lista = pedidoService.listarTodosOsPedidos();
+        var response = pedidoService.atualizarStatus(pedidoId, StatusPedido.FINALIZADO);
 
-        assertEquals(2, lista.size());
-        assertEquals(pedido1.getId(), lista.get(0).id());
-        assertEquals(pedido2.getId(), lista.get(1).id());
+        assertEquals(StatusPedido.FINALIZADO, response.statusPedido());
+        verify(reservaEstoqueService).efetivar(pedido);
+        verify(reservaEstoqueService, never()).liberar(any(Pedido.class));
+        verify(dashboardAgregadoService).registrarMudancaDeStatus(pedido, StatusPedido.EM_ANDAMENTO);
+        verify(produtoRepository, never()).save(any(Produto.class));
     }
 
     @Test
-    void deveListarPedidosDoCliente() {
-        String email = "cliente@email.com";
+    void deveLiberarReservaAoCancelarPedido() {
+        Long pedidoId = 1L;
         Pedido pedido = Pedido.builder()
-                .id(1L)
-                .dataCriacao(Instant.now())
-                .valorTotal(new BigDecimal("150.00"))
+                .id(pedidoId)
                 .status(StatusPedido.EM_ANDAMENTO)
-                .cliente(Usuario.builder().nome("Cliente Teste").email(email).build())
+                .cliente(Usuario.builder().nome("Cliente Teste").build())
+                .valorTotal(new BigDecimal("40.00"))
                 .build();
 
-        when(pedidoRepository.findByCliente_EmailOrderByDataCriacaoDesc(email)).thenReturn(List.of(pedido));
+        when(pedidoRepository.findById(pedidoId)).thenReturn(Optional.of(pedido));
+        when(pedidoRepository.save(any(Pedido.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        var response = pedidoService.atualizarStatus(pedidoId, StatusPedido.CANCELADO);
+
+        assertEquals(StatusPedido.CANCELADO, response.statusPedido());
+        verify(reservaEstoqueService).liberar(pedido);
+        verify(reservaEstoqueService, never()).efetivar(any(Pedido.class));
+    }
+
+    @Test
+    void deveListarTodosOsPedidos() {
+        PedidoResumoResponse pedido1 = new PedidoResumoResponse(
+                1L, Instant.now(), new BigDecimal("100.00"), StatusPedido.EM_ANDAMENTO, "Cliente 1");
+        PedidoResumoResponse pedido2 = new PedidoResumoResponse(
+                2L, Instant.now(), new BigDecimal("200.00"), StatusPedido.FINALIZADO, "Cliente 2");
+
+        when(pedidoRepository.findPrimeiraPagina(any(Pageable.class))).thenReturn(Arrays.asList(pedido1, pedido2));
+
+        var pagina = pedidoService.listarTodosOsPedidos(null, 10);
+
+        assertEquals(2, pagina.itens().size());
+        assertEquals(pedido1.id(), pagina.itens().get(0).id());
+        assertEquals(pedido2.id(), pagina.itens().get(1).id());
+        assertNull(pagina.proximoCursor());
+    }
+
+    @Test
+    void deveRetornarCursorQuandoExisteProximaPaginaEContinuarAPartirDele() {
+        Instant agora = Instant.now();
+        List<PedidoResumoResponse> pedidos = List.of(
+                new PedidoResumoResponse(3L, agora, BigDecimal.TEN, StatusPedido.EM_ANDAMENTO, "Cliente"),
+                new PedidoResumoResponse(2L, agora, BigDecimal.TEN, StatusPedido.EM_ANDAMENTO, "Cliente"),
+                new PedidoResumoResponse(1L, agora.minusSeconds(60), BigDecimal.TEN, StatusPedido.EM_ANDAMENTO, "Cliente")
+        );
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        when(pedidoRepository.findPrimeiraPagina(pageableCaptor.capture())).thenReturn(pedidos);
+
+        var primeiraPagina = pedidoService.listarTodosOsPedidos(null, 2);
+
+        assertEquals(3, pageableCaptor.getValue().getPageSize());
+        assertEquals(2, primeiraPagina.itens().size());
+        assertNotNull(primeiraPagina.proximoCursor());
+
+        when(pedidoRepository.findPaginaApos(eq(agora), eq(2L), any(Pageable.class))).thenReturn(List.of(pedidos.get(2)));
+
+        var segundaPagina = pedidoService.listarTodosOsPedidos(primeiraPagina.proximoCursor(), 2);
+
+        assertEquals(1L, segundaPagina.itens().getFirst().id());
+        assertNull(segundaPagina.proximoCursor());
+    }
+
+    @Test
+    void deveRetornarErroParaCursorInvalido() {
+        BusinessException ex = assertThrows(BusinessException.class, () ->
+                pedidoService.listarTodosOsPedidos("cursor-invalido", 10)
+        );
+        assertEquals("Cursor de paginação inválido", ex.getMessage());
+    }
+
+    @Test
+    void deveListarPedidosDoCliente() {
+        String email = "cliente@email.com";
+        PedidoResumoResponse pedido = new PedidoResumoResponse(
+                1L, Instant.now(), new BigDecimal("150.00"), StatusPedido.EM_ANDAMENTO, "Cliente Teste");
+
+        when(pedidoRepository.findPrimeiraPaginaDoCliente(eq(email), any(Pageable.class))).thenReturn(List.of(pedido));
 
-        var lista = pedidoService.listarPedidosDoCliente(email);
+        var lista = pedidoService.listarPedidosDoCliente(email, null, 10).itens();
 
         assertEquals(1, lista.size());
-        assertEquals(pedido.getId(), lista.getFirst().id());
+        assertEquals(pedido.id(), lista.getFirst().id());
         assertEquals("Cliente Teste", lista.getFirst().nomeCliente());
     }
 
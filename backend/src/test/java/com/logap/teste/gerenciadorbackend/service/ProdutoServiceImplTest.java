@@ -1,12 +1,16 @@
 package com.logap.teste.gerenciadorbackend.service;
 
 import com.logap.teste.gerenciadorbackend.dto.request.ProdutoRequest;
+import com.logap.teste.gerenciadorbackend.dto.response.PaginaCursorResponse;
 import com.logap.teste.gerenciadorbackend.dto.response.ProdutoResponse;
 import com.logap.teste.gerenciadorbackend.exception.BusinessException;
+import com.logap.teste.gerenciadorbackend.exception.MotivoFalhaNegocio;
 import com.logap.teste.gerenciadorbackend.model.ItemPedido;
 import com.logap.teste.gerenciadorbackend.model.Pedido;
 import com.logap.teste.gerenciadorbackend.model.Produto;
 import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+import com.logap.teste.gerenciadorbackend.repository.BuscaProdutoRepository;
+import com.logap.teste.gerenciadorbackend.repository.BuscaProdutoRepository.ProdutoEncontrado;
 import com.logap.teste.gerenciadorbackend.repository.ItemPedidoRepository;
 import com.logap.teste.gerenciadorbackend.repository.ProdutoRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,13 +32,15 @@ class ProdutoServiceImplTest {
 
     private ProdutoRepository produtoRepository;
     private ItemPedidoRepository itemPedidoRepository;
+    private BuscaProdutoRepository buscaProdutoRepository;
     private ProdutoServiceImpl produtoService;
 
     @BeforeEach
     void setUp() {
         produtoRepository = mock(ProdutoRepository.class);
         itemPedidoRepository = mock(ItemPedidoRepository.class);
-        produtoService = new ProdutoServiceImpl(produtoRepository, itemPedidoRepository);
+        buscaProdutoRepository = mock(BuscaProdutoRepository.class);
+        produtoService = new ProdutoServiceImpl(produtoRepository, itemPedidoRepository, buscaProdutoRepository);
     }
 
     @Test
@@ -127,7 +133,7 @@ class ProdutoServiceImplTest {
                 .quantidadeEstoque(10)
                 .build();
 
-        when(produtoRepository.findById(1L)).thenReturn(java.util.Optional.of(produto));
+        when(produtoRepository.buscarComEstoqueAtual(1L)).thenReturn(java.util.Optional.of(produto));
         when(produtoRepository.save(any(Produto.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         ProdutoResponse response = produtoService.atualizarEstoque(1L, 25);
@@ -139,13 +145,31 @@ class ProdutoServiceImplTest {
 
     @Test
     void deveLancarExcecaoQuandoProdutoNaoEncontradoAoAtualizarEstoque() {
-        when(produtoRepository.findById(99L)).thenReturn(java.util.Optional.empty());
+        when(produtoRepository.buscarComEstoqueAtual(99L)).thenReturn(java.util.Optional.empty());
 
         BusinessException ex = assertThrows(BusinessException.class, () -> produtoService.atualizarEstoque(99L, 10));
 
         assertTrue(ex.getMessage().contains("Produto não encontrado com o ID: 99"));
     }
 
+    @Test
+    void naoDevePermitirEstoqueMenorQueQuantidadeReservada() {
+        Produto produto = Produto.builder()
+                .id(1L)
+                .nome("Produto Estoque")
+                .preco(new BigDecimal("50.00"))
+                .quantidadeEstoque(10)
+                .quantidadeReservada(6)
+                .build();
+
+        when(produtoRepository.buscarComEstoqueAtual(1L)).thenReturn(java.util.Optional.of(produto));
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> produtoService.atualizarEstoque(1L, 5));
+
+        assertTrue(ex.getMessage().contains("quantidade reservada"));
+        verify(produtoRepository, never()).save(any(Produto.class));
+    }
+
     @Test
     void deveDeletarProdutoQuandoNaoHaPedidosEmAndamento() {
         Produto produto = Produto.builder()
@@ -198,4 +222,50 @@ class ProdutoServiceImplTest {
         verify(produtoRepository, never()).deleteById(anyLong());
     }
 
-}
\ No newline at end of file
+    @Test
+    void deveMontarConsultaDePrefixosEPaginarBusca() {
+        when(buscaProdutoRepository.buscarPrimeiraPagina("camis:* & azul:*", "camis azul", 3)).thenReturn(List.of(
+                encontrado(7L, 0.9f), encontrado(5L, 0.6f), encontrado(4L, 0.6f)));
+
+        PaginaCursorResponse<ProdutoResponse> pagina = produtoService.buscarProdutos("  Camis, AZUL!", null, 2);
+
+        assertEquals(List.of(7L, 5L), pagina.itens().stream().map(ProdutoResponse::id).toList());
+        assertNotNull(pagina.proximoCursor());
+
+        when(buscaProdutoRepository.buscarPaginaApos("camis:* & azul:*", "camis azul", 0.6f, 5L, 3))
+                .thenReturn(List.of(encontrado(4L, 0.6f)));
+
+        PaginaCursorResponse<ProdutoResponse> proxima = produtoService.buscarProdutos("camis azul", pagina.proximoCursor(), 2);
+
+        assertEquals(List.of(4L), proxima.itens().stream().map(ProdutoResponse::id).toList());
+        assertNull(proxima.proximoCursor());
+    }
+
+    @Test
+    void deveLimitarTamanhoDaPaginaDeBusca() {
+        produtoService.buscarProdutos("camiseta", null, 10_000);
+
+        verify(buscaProdutoRepository).buscarPrimeiraPagina("camiseta:*", "camiseta", 101);
+    }
+
+    @Test
+    void deveRejeitarTermoDeBuscaSemPalavras() {
+        BusinessException ex = assertThrows(BusinessException.class, () -> produtoService.buscarProdutos(" &|!:* ", null, 20));
+
+        assertEquals(MotivoFalhaNegocio.DADOS_INVALIDOS, ex.getMotivo());
+        verifyNoInteractions(buscaProdutoRepository);
+    }
+
+    @Test
+    void deveRejeitarCursorDeBuscaInvalido() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> produtoService.buscarProdutos("camiseta", "nao-e-um-cursor", 20));
+
+        assertEquals(MotivoFalhaNegocio.DADOS_INVALIDOS, ex.getMotivo());
+    }
+
+    private ProdutoEncontrado encontrado(Long id, float relevancia) {
+        return new ProdutoEncontrado(
+                new ProdutoResponse(id, "Produto " + id, "Descricao", new BigDecimal("10.00"), 1), relevancia);
+    }
+}
@@ -0,0 +1,131 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.dto.response.LoginResponse;
+import com.logap.teste.gerenciadorbackend.exception.RefreshTokenInvalidoException;
+import com.logap.teste.gerenciadorbackend.model.RefreshToken;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
+import com.logap.teste.gerenciadorbackend.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceImplTest {
+
+    private static final String SECRET_KEY = "4e6ef8f25a2d4d7a8b8c1e2f3a4b5c6d4e6ef8f25a2d4d7a8b8c1e2f3a4b5c6d";
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private RefreshTokenServiceImpl refreshTokenService;
+    private Usuario usuario;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        refreshTokenService = new RefreshTokenServiceImpl(refreshTokenRepository, new JwtService(SECRET_KEY, 900000L, 100));
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpiration", 604800000L);
+
+        usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setNome("Cliente");
+        usuario.setEmail("cliente@teste.com");
+        usuario.setPerfil(Perfil.CLIENTE);
+    }
+
+    @Test
+    void deveIniciarSessaoGuardandoApenasOHashDoRefreshToken() {
+        LoginResponse response = refreshTokenService.iniciarSessao(usuario);
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        RefreshToken salvo = captor.getValue();
+
+        assertNotNull(response.token());
+        assertEquals(900, response.expiresIn());
+        assertEquals(JwtService.digest(response.refreshToken()), salvo.getTokenHash());
+        assertNotEquals(response.refreshToken(), salvo.getTokenHash());
+        assertNotNull(salvo.getFamilia());
+        assertTrue(salvo.getExpiraEm().isAfter(Instant.now()));
+    }
+
+    @Test
+    void deveTrocarORefreshTokenPorOutroDaMesmaFamilia() {
+        RefreshToken atual = tokenPersistido("antigo", null, Instant.now().plusSeconds(3600));
+        when(refreshTokenRepository.findByTokenHashComUsuario(JwtService.digest("antigo"))).thenReturn(Optional.of(atual));
+        when(refreshTokenRepository.marcarComoUsado(eq(10L), any(Instant.class))).thenReturn(1);
+
+        LoginResponse response = refreshTokenService.renovar("antigo");
+
+        ArgumentCaptor<RefreshToken> captor = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(captor.capture());
+        assertEquals(atual.getFamilia(), captor.getValue().getFamilia());
+        assertNotEquals("antigo", response.refreshToken());
+        assertNotNull(response.token());
+    }
+
+    @Test
+    void deveRecusarRefreshTokenDesconhecido() {
+        when(refreshTokenRepository.findByTokenHashComUsuario(any())).thenReturn(Optional.empty());
+
+        assertThrows(RefreshTokenInvalidoException.class, () -> refreshTokenService.renovar("inexistente"));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void deveRecusarRefreshTokenExpirado() {
+        RefreshToken expirado = tokenPersistido("expirado", null, Instant.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHashComUsuario(JwtService.digest("expirado"))).thenReturn(Optional.of(expirado));
+
+        assertThrows(RefreshTokenInvalidoException.class, () -> refreshTokenService.renovar("expirado"));
+        verify(refreshTokenRepository, never()).marcarComoUsado(anyLong(), any());
+    }
+
+    @Test
+    void deveRevogarAFamiliaQuandoTokenUsadoEReapresentado() {
+        RefreshToken usado = tokenPersistido("usado", Instant.now().minusSeconds(60), Instant.now().plusSeconds(3600));
+        when(refreshTokenRepository.findByTokenHashComUsuario(JwtService.digest("usado"))).thenReturn(Optional.of(usado));
+
+        assertThrows(RefreshTokenInvalidoException.class, () -> refreshTokenService.renovar("usado"));
+        verify(refreshTokenRepository).revogarFamilia(eq(usado.getFamilia()), any(Instant.class));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void naoDeveRevogarAFamiliaEmUsoConcorrenteRecente() {
+        RefreshToken recemUsado = tokenPersistido("recente", Instant.now().minusSeconds(2), Instant.now().plusSeconds(3600));
+        when(refreshTokenRepository.findByTokenHashComUsuario(JwtService.digest("recente"))).thenReturn(Optional.of(recemUsado));
+
+        assertThrows(RefreshTokenInvalidoException.class, () -> refreshTokenService.renovar("recente"));
+        verify(refreshTokenRepository, never()).revogarFamilia(any(), any());
+    }
+
+    @Test
+    void deveRecusarQuandoOutraRequisicaoUsouOTokenAoMesmoTempo() {
+        RefreshToken atual = tokenPersistido("disputado", null, Instant.now().plusSeconds(3600));
+        when(refreshTokenRepository.findByTokenHashComUsuario(JwtService.digest("disputado"))).thenReturn(Optional.of(atual));
+        when(refreshTokenRepository.marcarComoUsado(eq(10L), any(Instant.class))).thenReturn(0);
+
+        assertThrows(RefreshTokenInvalidoException.class, () -> refreshTokenService.renovar("disputado"));
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    private RefreshToken tokenPersistido(String valor, Instant usadoEm, Instant expiraEm) {
+        return RefreshToken.builder()
+                .id(10L)
+                .usuario(usuario)
+                .tokenHash(JwtService.digest(valor))
+                .familia(UUID.randomUUID())
+                .usadoEm(usadoEm)
+                .expiraEm(expiraEm)
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.exception.BusinessException;
+import com.logap.teste.gerenciadorbackend.model.ItemPedido;
+import com.logap.teste.gerenciadorbackend.model.Pedido;
+import com.logap.teste.gerenciadorbackend.model.Produto;
+import com.logap.teste.gerenciadorbackend.model.ReservaEstoque;
+import com.logap.teste.gerenciadorbackend.model.enums.StatusPedido;
+import com.logap.teste.gerenciadorbackend.repository.ProdutoRepository;
+import com.logap.teste.gerenciadorbackend.repository.ReservaEstoqueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ReservaEstoqueServiceImplTest {
+
+    private ProdutoRepository produtoRepository;
+    private ReservaEstoqueRepository reservaEstoqueRepository;
+    private PlatformTransactionManager transactionManager;
+    private ReservaEstoqueServiceImpl reservaEstoqueService;
+
+    private Produto produto1;
+    private Produto produto2;
+    private Pedido pedido;
+
+    @BeforeEach
+    void setUp() {
+        produtoRepository = mock(ProdutoRepository.class);
+        reservaEstoqueRepository = mock(ReservaEstoqueRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        reservaEstoqueService = new ReservaEstoqueServiceImpl(
+                produtoRepository, reservaEstoqueRepository, transactionManager, 60000L);
+
+        produto1 = Produto.builder().id(10L).nome("Produto 1").preco(new BigDecimal("10.00")).build();
+        produto2 = Produto.builder().id(20L).nome("Produto 2").preco(new BigDecimal("5.00")).build();
+        pedido = Pedido.builder()
+                .id(1L)
+                .status(StatusPedido.EM_ANDAMENTO)
+                .itens(new ArrayList<>())
+                .build();
+        pedido.adicionarItem(ItemPedido.builder().produto(produto1).quantidade(2).build());
+        pedido.adicionarItem(ItemPedido.builder().produto(produto2).quantidade(3).build());
+    }
+
+    @Test
+    void deveReservarEstoqueERegistrarReservasComExpiracao() {
+        when(produtoRepository.reservarEstoque(pedido.getItens())).thenReturn(new int[]{1, 1});
+        Instant antes = Instant.now();
+
+        reservaEstoqueService.reservar(pedido);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ReservaEstoque>> captor = ArgumentCaptor.forClass(List.class);
+        verify(reservaEstoqueRepository).saveAll(captor.capture());
+        List<ReservaEstoque> reservas = captor.getValue();
+
+        assertEquals(2, reservas.size());
+        assertEquals(produto1, reservas.get(0).getProduto());
+        assertEquals(2, reservas.get(0).getQuantidade());
+        assertEquals(pedido, reservas.get(1).getPedido());
+        assertFalse(reservas.get(0).getExpiraEm().isBefore(antes.plusMillis(60000)));
+    }
+
+    @Test
+    void deveRecusarReservaQuandoEstoqueDisponivelNaoCobreItem() {
+        when(produtoRepository.reservarEstoque(pedido.getItens())).thenReturn(new int[]{1, 0});
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> reservaEstoqueService.reservar(pedido));
+
+        assertEquals("Estoque insuficiente para o produto: Produto 2", ex.getMessage());
+        verify(reservaEstoqueRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void deveConverterReservasEDecrementarItensSemReservaAoEfetivar() {
+        when(reservaEstoqueRepository.consumirReservas(pedido.getId(), pedido.getItens())).thenReturn(new int[]{1, 0});
+        when(produtoRepository.decrementarEstoque(List.of(pedido.getItens().get(1)))).thenReturn(new int[]{1});
+
+        reservaEstoqueService.efetivar(pedido);
+
+        verify(produtoRepository).converterReservas(List.of(pedido.getItens().get(0)));
+        verify(produtoRepository).decrementarEstoque(List.of(pedido.getItens().get(1)));
+    }
+
+    @Test
+    void deveRecusarEfetivacaoQuandoItemSemReservaNaoTemEstoque() {
+        when(reservaEstoqueRepository.consumirReservas(pedido.getId(), pedido.getItens())).thenReturn(new int[]{0, 0});
+        when(produtoRepository.decrementarEstoque(pedido.getItens())).thenReturn(new int[]{0, 1});
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> reservaEstoqueService.efetivar(pedido));
+
+        assertEquals("Estoque insuficiente para o produto: Produto 1", ex.getMessage());
+    }
+
+    @Test
+    void deveLiberarApenasReservasConsumidasAoCancelar() {
+        when(reservaEstoqueRepository.consumirReservas(pedido.getId(), pedido.getItens())).thenReturn(new int[]{0, 1});
+
+        reservaEstoqueService.liberar(pedido);
+
+        verify(produtoRepository).liberarReservas(List.of(pedido.getItens().get(1)));
+    }
+
+    @Test
+    void deveLiberarReservasExpiradasApenasQuandoRemovidasPorEstaExecucao() {
+        ReservaEstoque expirada1 = ReservaEstoque.builder().id(1L).produto(produto1).quantidade(2).build();
+        ReservaEstoque expirada2 = ReservaEstoque.builder().id(2L).produto(produto2).quantidade(3).build();
+        when(reservaEstoqueRepository.findExpiradas(any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(expirada1, expirada2));
+        when(reservaEstoqueRepository.removerPorId(1L)).thenReturn(1);
+        when(reservaEstoqueRepository.removerPorId(2L)).thenReturn(0);
+
+        int liberadas = reservaEstoqueService.liberarExpiradas();
+
+        assertEquals(1, liberadas);
+        verify(produtoRepository).liberarReserva(10L, 2);
+        verify(produtoRepository, times(1)).liberarReserva(anyLong(), anyInt());
+    }
+
+    @Test
+    void deveLiberarCadaReservaExpiradaEmTransacaoPropriaNaOrdemDosProdutos() {
+        ReservaEstoque doProduto2 = ReservaEstoque.builder().id(1L).produto(produto2).quantidade(3).build();
+        ReservaEstoque doProduto1 = ReservaEstoque.builder().id(2L).produto(produto1).quantidade(2).build();
+        when(reservaEstoqueRepository.findExpiradas(any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(doProduto2, doProduto1));
+        when(reservaEstoqueRepository.removerPorId(anyLong())).thenReturn(1);
+
+        assertEquals(2, reservaEstoqueService.liberarExpiradas());
+
+        InOrder ordem = inOrder(produtoRepository);
+        ordem.verify(produtoRepository).liberarReserva(10L, 2);
+        ordem.verify(produtoRepository).liberarReserva(20L, 3);
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+}
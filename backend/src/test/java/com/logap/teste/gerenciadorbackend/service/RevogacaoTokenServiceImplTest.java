@@ -0,0 +1,74 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.repository.RevogacaoTokenRepository;
+import com.logap.teste.gerenciadorbackend.repository.RevogacaoTokenRepository.Revogacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class RevogacaoTokenServiceImplTest {
+
+    private static final long EXPIRACAO = 3_600_000L;
+
+    private RevogacaoTokenRepository revogacaoTokenRepository;
+    private RevogacaoTokenServiceImpl revogacaoTokenService;
+
+    @BeforeEach
+    void setUp() {
+        revogacaoTokenRepository = mock(RevogacaoTokenRepository.class);
+        revogacaoTokenService = new RevogacaoTokenServiceImpl(revogacaoTokenRepository);
+        ReflectionTestUtils.setField(revogacaoTokenService, "jwtExpiration", EXPIRACAO);
+    }
+
+    @Test
+    void deveRevogarTokensDeVersaoAnteriorImediatamente() {
+        revogacaoTokenService.revogarTokensAnteriores(1L, 2);
+
+        verify(revogacaoTokenRepository).registrar(1L, 2);
+        assertTrue(revogacaoTokenService.isRevogado(1L, 1));
+        assertFalse(revogacaoTokenService.isRevogado(1L, 2));
+        assertFalse(revogacaoTokenService.isRevogado(2L, 0));
+    }
+
+    @Test
+    void deveRevogarTodosOsTokensDoUsuario() {
+        revogacaoTokenService.revogarTodosOsTokens(1L);
+
+        assertTrue(revogacaoTokenService.isRevogado(1L, 1_000));
+    }
+
+    @Test
+    void deveManterARevogacaoMaisRestritivaAoSincronizar() {
+        revogacaoTokenService.revogarTokensAnteriores(1L, 3);
+        when(revogacaoTokenRepository.buscarRevogadasApos(any(Instant.class))).thenReturn(Map.of(
+                1L, new Revogacao(2, Instant.now()),
+                2L, new Revogacao(5, Instant.now())));
+
+        revogacaoTokenService.sincronizar();
+
+        assertTrue(revogacaoTokenService.isRevogado(1L, 2));
+        assertTrue(revogacaoTokenService.isRevogado(2L, 4));
+        assertFalse(revogacaoTokenService.isRevogado(2L, 5));
+    }
+
+    @Test
+    void deveDescartarRevogacoesMaisAntigasQueAValidadeDoToken() {
+        when(revogacaoTokenRepository.buscarRevogadasApos(any(Instant.class))).thenReturn(Map.of());
+        revogacaoTokenService.revogarTokensAnteriores(1L, 2);
+        @SuppressWarnings("unchecked")
+        Map<Long, Revogacao> revogacoes = (Map<Long, Revogacao>) ReflectionTestUtils.getField(revogacaoTokenService, "revogacoesPorUsuario");
+        revogacoes.put(1L, new Revogacao(2, Instant.now().minusMillis(EXPIRACAO + 1_000)));
+
+        revogacaoTokenService.sincronizar();
+
+        assertFalse(revogacaoTokenService.isRevogado(1L, 1));
+        verify(revogacaoTokenRepository).removerAnterioresA(any(Instant.class));
+    }
+}
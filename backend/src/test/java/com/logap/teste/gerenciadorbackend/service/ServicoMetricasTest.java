@@ -0,0 +1,83 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.exception.BusinessException;
+import com.logap.teste.gerenciadorbackend.repository.BuscaProdutoRepository;
+import com.logap.teste.gerenciadorbackend.repository.ItemPedidoRepository;
+import com.logap.teste.gerenciadorbackend.repository.ProdutoRepository;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+// Garante que os @Timed dos serviços são aplicados pelo proxy, com as tags usadas nos SLOs
+@SpringJUnitConfig(ServicoMetricasTest.Config.class)
+class ServicoMetricasTest {
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    @Import(ProdutoServiceImpl.class)
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        TimedAspect timedAspect(MeterRegistry meterRegistry) {
+            return new TimedAspect(meterRegistry);
+        }
+    }
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private ProdutoRepository produtoRepository;
+
+    @MockitoBean
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @MockitoBean
+    private BuscaProdutoRepository buscaProdutoRepository;
+
+    @Test
+    void deveRegistrarTempoDaOperacaoComTagDoMetodo() {
+        when(produtoRepository.findAll(Pageable.unpaged())).thenReturn(Page.empty());
+
+        produtoService.listarProdutosPaginado(Pageable.unpaged());
+
+        Timer timer = meterRegistry.get("produtos.operacoes").tag("method", "listarProdutosPaginado").timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void deveRegistrarTempoDeFalhasComTagDaExcecao() {
+        when(produtoRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(BusinessException.class, () -> produtoService.deletarProduto(99L));
+
+        Timer timer = meterRegistry.get("produtos.operacoes")
+                .tag("method", "deletarProduto")
+                .tag("exception", "BusinessException")
+                .timer();
+        assertEquals(1, timer.count());
+    }
+}
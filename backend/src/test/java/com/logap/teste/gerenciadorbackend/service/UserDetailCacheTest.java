@@ -0,0 +1,123 @@
+package com.logap.teste.gerenciadorbackend.service;
+
+import com.logap.teste.gerenciadorbackend.configuration.CacheConfig;
+import com.logap.teste.gerenciadorbackend.event.UsuarioAlteradoEvent;
+import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
+import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig(UserDetailCacheTest.Config.class)
+@TestPropertySource(properties = {"cache.usuarios.maximum-size=100", "cache.usuarios.ttl=60s"})
+class UserDetailCacheTest {
+
+    // EnableTransactionManagement registra o tratamento de @TransactionalEventListener, como no Spring Boot
+    @Configuration
+    @EnableTransactionManagement
+    @Import({CacheConfig.class, UserDetailServiceImpl.class})
+    static class Config {
+        // Conversões do Spring Boot, como "60s" para Duration
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+    }
+
+    @Autowired
+    private UserDetailServiceImpl userDetailService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private UsuarioRepository usuarioRepository;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.CACHE_USUARIOS).clear();
+        when(usuarioRepository.findByEmail("vendedor@teste.com")).thenReturn(Optional.of(usuario(Perfil.VENDEDOR)));
+    }
+
+    @Test
+    void deveConsultarOBancoApenasUmaVezPorEmail() {
+        userDetailService.carregarParaAutenticacao("vendedor@teste.com");
+        userDetailService.carregarParaAutenticacao("vendedor@teste.com");
+
+        verify(usuarioRepository, times(1)).findByEmail("vendedor@teste.com");
+    }
+
+    @Test
+    void deveRecarregarOPerfilAposInvalidacao() {
+        userDetailService.carregarParaAutenticacao("vendedor@teste.com");
+        when(usuarioRepository.findByEmail("vendedor@teste.com")).thenReturn(Optional.of(usuario(Perfil.ADMINISTRADOR)));
+
+        eventPublisher.publishEvent(new UsuarioAlteradoEvent("vendedor@teste.com"));
+        UserDetails recarregado = userDetailService.carregarParaAutenticacao("vendedor@teste.com");
+
+        assertEquals("ROLE_ADMINISTRADOR", recarregado.getAuthorities().iterator().next().getAuthority());
+        verify(usuarioRepository, times(2)).findByEmail("vendedor@teste.com");
+    }
+
+    @Test
+    void deveInvalidarSomenteAposOCommitDaAlteracao() {
+        userDetailService.carregarParaAutenticacao("vendedor@teste.com");
+        when(usuarioRepository.findByEmail("vendedor@teste.com")).thenReturn(Optional.of(usuario(Perfil.ADMINISTRADOR)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            eventPublisher.publishEvent(new UsuarioAlteradoEvent("vendedor@teste.com"));
+            // Antes do commit o perfil antigo continua valendo e nenhuma leitura vai ao banco
+            assertEquals("ROLE_VENDEDOR", perfilEmCache());
+
+            // Mesma sequência do gerenciador de transações ao confirmar
+            List<TransactionSynchronization> sincronizacoes = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationUtils.invokeAfterCommit(sincronizacoes);
+            TransactionSynchronizationUtils.invokeAfterCompletion(sincronizacoes, TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        assertEquals("ROLE_ADMINISTRADOR", perfilEmCache());
+        verify(usuarioRepository, times(2)).findByEmail("vendedor@teste.com");
+    }
+
+    private String perfilEmCache() {
+        return userDetailService.carregarParaAutenticacao("vendedor@teste.com").getAuthorities().iterator().next().getAuthority();
+    }
+
+    private Usuario usuario(Perfil perfil) {
+        Usuario usuario = new Usuario();
+        usuario.setEmail("vendedor@teste.com");
+        usuario.setSenha("senha");
+        usuario.setPerfil(perfil);
+        return usuario;
+    }
+}
@@ -1,6 +1,7 @@
 package com.logap.teste.gerenciadorbackend.service;
 
 import com.logap.teste.gerenciadorbackend.model.Usuario;
+import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
 import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,9 +9,11 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class UserDetailServiceImplTest {
@@ -39,6 +42,36 @@ class UserDetailServiceImplTest {
         assertEquals("senha123", result.getPassword());
     }
 
+    @Test
+    void deveCarregarCopiaSemSenhaParaAutenticacao() {
+        Usuario usuario = new Usuario();
+        usuario.setEmail("teste@email.com");
+        usuario.setSenha("senha123");
+        usuario.setPerfil(Perfil.VENDEDOR);
+
+        when(usuarioRepository.findByEmail("teste@email.com")).thenReturn(Optional.of(usuario));
+
+        UserDetails result = userDetailService.carregarParaAutenticacao("teste@email.com");
+
+        assertNotSame(usuario, result);
+        assertEquals("teste@email.com", result.getUsername());
+        assertEquals("", result.getPassword());
+        assertEquals(Set.copyOf(usuario.getAuthorities()), Set.copyOf(result.getAuthorities()));
+    }
+
+    @Test
+    void deveRegravarHashDaSenhaEDevolverOMesmoUsuario() {
+        Usuario usuario = new Usuario();
+        usuario.setEmail("teste@email.com");
+        usuario.setSenha("$2a$10$hashAntigo");
+
+        UserDetails result = userDetailService.updatePassword(usuario, "{bcrypt}$2a$12$hashNovo");
+
+        verify(usuarioRepository).atualizarSenha("teste@email.com", "{bcrypt}$2a$12$hashNovo");
+        assertSame(usuario, result);
+        assertEquals("{bcrypt}$2a$12$hashNovo", result.getPassword());
+    }
+
     @Test
     void deveLancarExcecaoQuandoUsuarioNaoEncontrado() {
         when(usuarioRepository.findByEmail("naoexiste@email.com")).thenReturn(Optional.empty());
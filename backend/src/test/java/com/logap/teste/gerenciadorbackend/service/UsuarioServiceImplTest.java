@@ -3,6 +3,7 @@ package com.logap.teste.gerenciadorbackend.service;
 import com.logap.teste.gerenciadorbackend.dto.request.UsuarioCreateRequest;
 import com.logap.teste.gerenciadorbackend.dto.response.UsuarioResponse;
 import com.logap.teste.gerenciadorbackend.dto.request.UsuarioUpdateRequest;
+import com.logap.teste.gerenciadorbackend.event.UsuarioAlteradoEvent;
 import com.logap.teste.gerenciadorbackend.exception.BusinessException;
 import com.logap.teste.gerenciadorbackend.model.Usuario;
 import com.logap.teste.gerenciadorbackend.model.enums.Perfil;
@@ -11,6 +12,7 @@ import com.logap.teste.gerenciadorbackend.repository.UsuarioRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Instant;
@@ -27,13 +29,17 @@ class UsuarioServiceImplTest {
     private PasswordEncoder passwordEncoder;
     private UsuarioServiceImpl usuarioService;
     private PedidoRepository pedidoRepository;
+    private RevogacaoTokenService revogacaoTokenService;
+    private ApplicationEventPublisher eventPublisher;
 
     @BeforeEach
     void setUp() {
         usuarioRepository = mock(UsuarioRepository.class);
         passwordEncoder = mock(PasswordEncoder.class);
         pedidoRepository = mock(PedidoRepository.class);
-        usuarioService = new UsuarioServiceImpl(usuarioRepository, passwordEncoder, pedidoRepository);
+        revogacaoTokenService = mock(RevogacaoTokenService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        usuarioService = new UsuarioServiceImpl(usuarioRepository, passwordEncoder, pedidoRepository, revogacaoTokenService, eventPublisher);
     }
 
     @Test
@@ -135,7 +141,10 @@ class UsuarioServiceImplTest {
 
         assertNotNull(response);
         assertEquals(Perfil.ADMINISTRADOR, response.perfil());
+        assertEquals(1, usuario.getVersaoToken());
         verify(usuarioRepository).save(usuario);
+        verify(revogacaoTokenService).revogarTokensAnteriores(idUsuario, 1);
+        verify(eventPublisher).publishEvent(new UsuarioAlteradoEvent("fulano@email.com"));
     }
 
     @Test
@@ -190,6 +199,8 @@ class UsuarioServiceImplTest {
         usuarioService.deletarUsuario(idUsuario, adminEmail);
 
         verify(usuarioRepository).deleteById(idUsuario);
+        verify(revogacaoTokenService).revogarTodosOsTokens(idUsuario);
+        verify(eventPublisher).publishEvent(new UsuarioAlteradoEvent("usuario@email.com"));
     }
 
     @Test
@@ -0,0 +1,13 @@
+#!/bin/sh
+# Na primeira execução clona o principal com pg_basebackup (-R grava primary_conninfo e standby.signal);
+# depois sobe o Postgres em modo hot standby, recebendo o WAL por streaming replication.
+set -e
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  until pg_basebackup -h "$PRIMARIA_HOST" -U "$PRIMARIA_USER" -D "$PGDATA" -R -X stream; do
+    echo "Aguardando o Postgres principal..."
+    rm -rf "${PGDATA:?}"/*
+    sleep 2
+  done
+  chmod 0700 "$PGDATA"
+fi
+exec postgres
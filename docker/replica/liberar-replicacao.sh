@@ -0,0 +1,5 @@
+#!/bin/sh
+# Executado pelo Postgres principal na criação do volume: libera conexões de replicação para a réplica
+# de leitura. Em um volume já existente, acrescente a linha ao pg_hba.conf e rode SELECT pg_reload_conf().
+set -e
+echo "host replication ${POSTGRES_USER} all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -13,7 +13,7 @@ interface AuthContextType {
   isAuthenticated: boolean;
   isLoading: boolean;
   user: User | null;
-  login: (token: string) => void;
+  login: (token: string, refreshToken: string) => void;
   logout: () => void;
 }
 
@@ -35,6 +35,7 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
       } catch (error) {
         console.error("Token inválido ou expirado", error);
         localStorage.removeItem("authToken");
+        localStorage.removeItem("refreshToken");
       } finally {
         setIsLoading(false);
       }
@@ -45,8 +46,9 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
     }
   }, []);
 
-  const login = (token: string) => {
+  const login = (token: string, refreshToken: string) => {
     localStorage.setItem("authToken", token);
+    localStorage.setItem("refreshToken", refreshToken);
     const decodedUser: User = jwtDecode(token);
     setUser(decodedUser);
     api.defaults.headers.common["Authorization"] = `Bearer ${token}`;
@@ -55,6 +57,7 @@ export const AuthProvider = ({ children }: { children: ReactNode }) => {
 
   const logout = () => {
     localStorage.removeItem("authToken");
+    localStorage.removeItem("refreshToken");
     setUser(null);
     delete api.defaults.headers.common["Authorization"];
   };
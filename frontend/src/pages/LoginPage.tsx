@@ -15,6 +15,8 @@ import { Label } from "@/components/ui/label";
 
 interface LoginResponse {
   token: string;
+  refreshToken: string;
+  expiresIn: number;
 }
 
 const LoginPage = () => {
@@ -35,7 +37,7 @@ const LoginPage = () => {
         senha,
       });
       console.log('Login bem-sucedido:', response.data);
-      login(response.data.token);
+      login(response.data.token, response.data.refreshToken);
       setTimeout(() => {
         navigate('/dashboard');
       }
@@ -16,6 +16,7 @@ import {
   TableRow,
 } from "@/components/ui/table";
 import { Badge } from "@/components/ui/badge";
+import { Button } from "@/components/ui/button";
 import api from "@/services/api";
 import { useNavigate } from "react-router-dom";
 
@@ -37,6 +38,8 @@ type Pedido = {
 const MeusPedidosPage = () => {
   const [pedidos, setPedidos] = useState<Pedido[]>([]);
   const [isLoading, setIsLoading] = useState(true);
+  const [proximoCursor, setProximoCursor] = useState<string | null>(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const navigate = useNavigate();
 
   const formatadorMoeda = new Intl.NumberFormat("pt-BR", {
@@ -54,6 +57,7 @@ const MeusPedidosPage = () => {
       try {
         const response = await api.get("/pedidos");
         setPedidos(response.data);
+        setProximoCursor(response.headers["x-next-cursor"] ?? null);
       } catch (error) {
         console.error("Falha ao buscar seus pedidos", error);
         toast.error("Não foi possível carregar seus pedidos.");
@@ -63,6 +67,23 @@ const MeusPedidosPage = () => {
     };
     fetchPedidos();
   }, []);
+
+  const carregarMais = async () => {
+    if (!proximoCursor) return;
+    setIsLoadingMore(true);
+    try {
+      const response = await api.get("/pedidos", {
+        params: { cursor: proximoCursor },
+      });
+      setPedidos((atuais) => [...atuais, ...response.data]);
+      setProximoCursor(response.headers["x-next-cursor"] ?? null);
+    } catch (error) {
+      console.error("Falha ao buscar mais pedidos", error);
+      toast.error("Não foi possível carregar mais pedidos.");
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
   const getStatusVariant = (
     statusPedido: StatusPedido | undefined
   ): "default" | "secondary" | "destructive" | "outline" => {
@@ -102,7 +123,9 @@ const MeusPedidosPage = () => {
         <CardHeader>
           <CardTitle>Histórico de Compras</CardTitle>
           <CardDescription>
-            Um total de {pedidos.length} pedidos encontrados.
+            {proximoCursor
+              ? `Exibindo os ${pedidos.length} pedidos mais recentes.`
+              : `Um total de ${pedidos.length} pedidos encontrados.`}
           </CardDescription>
         </CardHeader>
         <CardContent>
@@ -144,6 +167,17 @@ const MeusPedidosPage = () => {
               )}
             </TableBody>
           </Table>
+          {proximoCursor && (
+            <div className="flex justify-center pt-4">
+              <Button
+                variant="outline"
+                onClick={carregarMais}
+                disabled={isLoadingMore}
+              >
+                {isLoadingMore ? "Carregando..." : "Carregar mais pedidos"}
+              </Button>
+            </div>
+          )}
         </CardContent>
       </Card>
     </div>
@@ -16,6 +16,7 @@ import {
   TableRow,
 } from "../components/ui/table";
 import { Badge } from "../components/ui/badge";
+import { Button } from "../components/ui/button";
 import api from "../services/api";
 import { useNavigate } from "react-router-dom";
 
@@ -38,6 +39,8 @@ type Pedido = {
 const PedidosPage = () => {
   const [pedidos, setPedidos] = useState<Pedido[]>([]);
   const [isLoading, setIsLoading] = useState(true);
+  const [proximoCursor, setProximoCursor] = useState<string | null>(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const navigate = useNavigate();
 
   const formatadorMoeda = new Intl.NumberFormat("pt-BR", {
@@ -54,6 +57,7 @@ const PedidosPage = () => {
     try {
       const response = await api.get("/pedidos");
       setPedidos(response.data);
+      setProximoCursor(response.headers["x-next-cursor"] ?? null);
     } catch (error) {
       console.error("Falha ao buscar pedidos", error);
       toast.error("Não foi possível carregar os pedidos.");
@@ -62,6 +66,23 @@ const PedidosPage = () => {
     }
   };
 
+  const carregarMais = async () => {
+    if (!proximoCursor) return;
+    setIsLoadingMore(true);
+    try {
+      const response = await api.get("/pedidos", {
+        params: { cursor: proximoCursor },
+      });
+      setPedidos((atuais) => [...atuais, ...response.data]);
+      setProximoCursor(response.headers["x-next-cursor"] ?? null);
+    } catch (error) {
+      console.error("Falha ao buscar mais pedidos", error);
+      toast.error("Não foi possível carregar mais pedidos.");
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   useEffect(() => {
     fetchPedidos();
   }, []);
@@ -108,7 +129,9 @@ const PedidosPage = () => {
         <CardHeader>
           <CardTitle>Histórico de Pedidos</CardTitle>
           <CardDescription>
-            Um total de {pedidos.length} pedidos encontrados.
+            {proximoCursor
+              ? `Exibindo os ${pedidos.length} pedidos mais recentes.`
+              : `Um total de ${pedidos.length} pedidos encontrados.`}
           </CardDescription>
         </CardHeader>
         <CardContent>
@@ -157,6 +180,17 @@ const PedidosPage = () => {
               )}
             </TableBody>
           </Table>
+          {proximoCursor && (
+            <div className="flex justify-center pt-4">
+              <Button
+                variant="outline"
+                onClick={carregarMais}
+                disabled={isLoadingMore}
+              >
+                {isLoadingMore ? "Carregando..." : "Carregar mais pedidos"}
+              </Button>
+            </div>
+          )}
         </CardContent>
       </Card>
     </div>
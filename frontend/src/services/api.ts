@@ -1,7 +1,80 @@
 import axios from 'axios';
+import { jwtDecode } from 'jwt-decode';
 
 const api = axios.create({
     baseURL: import.meta.env.VITE_API_BASE_URL,
 });
 
-export default api;
\ No newline at end of file
+interface RefreshResponse {
+    token: string;
+    refreshToken: string;
+}
+
+// O token de acesso é curto; ele é renovado com o refresh token pouco antes de expirar
+const MARGEM_RENOVACAO_MS = 30_000;
+let renovacaoEmAndamento: Promise<string | null> | null = null;
+
+const expiraEmBreve = (token: string) => {
+    try {
+        const { exp } = jwtDecode<{ exp?: number }>(token);
+        return !!exp && exp * 1000 - Date.now() < MARGEM_RENOVACAO_MS;
+    } catch {
+        return true;
+    }
+};
+
+const definirToken = (token: string) => {
+    api.defaults.headers.common['Authorization'] = `Bearer ${token}`;
+};
+
+const encerrarSessao = () => {
+    localStorage.removeItem('authToken');
+    localStorage.removeItem('refreshToken');
+    delete api.defaults.headers.common['Authorization'];
+    window.location.assign('/login');
+};
+
+const renovarToken = async (): Promise<string | null> => {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) {
+        return null;
+    }
+    try {
+        // Usa o axios puro para não passar por este mesmo interceptor
+        const { data } = await axios.post<RefreshResponse>(
+            `${import.meta.env.VITE_API_BASE_URL}/auth/refresh`,
+            { refreshToken },
+        );
+        localStorage.setItem('authToken', data.token);
+        localStorage.setItem('refreshToken', data.refreshToken);
+        definirToken(data.token);
+        return data.token;
+    } catch {
+        // Outra aba pode ter renovado a sessão com o mesmo refresh token
+        const tokenAtual = localStorage.getItem('authToken');
+        if (localStorage.getItem('refreshToken') !== refreshToken && tokenAtual && !expiraEmBreve(tokenAtual)) {
+            definirToken(tokenAtual);
+            return tokenAtual;
+        }
+        encerrarSessao();
+        return null;
+    }
+};
+
+api.interceptors.request.use(async (config) => {
+    const token = localStorage.getItem('authToken');
+    if (!token || config.url?.startsWith('/auth/') || !expiraEmBreve(token)) {
+        return config;
+    }
+    // Requisições simultâneas aguardam a mesma renovação
+    renovacaoEmAndamento ??= renovarToken().finally(() => {
+        renovacaoEmAndamento = null;
+    });
+    const novoToken = await renovacaoEmAndamento;
+    if (novoToken) {
+        config.headers.Authorization = `Bearer ${novoToken}`;
+    }
+    return config;
+});
+
+export default api;